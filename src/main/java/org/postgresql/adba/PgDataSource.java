@@ -12,8 +12,8 @@ import jdk.incubator.sql2.Session;
 import jdk.incubator.sql2.SessionProperty;
 import org.postgresql.adba.buffer.ByteBufferPool;
 import org.postgresql.adba.buffer.DefaultByteBufferPool;
-import org.postgresql.adba.execution.DefaultNioLoop;
 import org.postgresql.adba.execution.NioLoop;
+import org.postgresql.adba.execution.NioLoopGroup;
 import org.postgresql.adba.util.PropertyHolder;
 
 public class PgDataSource implements DataSource {
@@ -22,7 +22,7 @@ public class PgDataSource implements DataSource {
   private Queue<PgSession> connections = new ConcurrentLinkedQueue<>();
   private boolean closed;
   private PropertyHolder properties;
-  private DefaultNioLoop defaultLoop = null;
+  private NioLoopGroup defaultLoop = null;
 
   /**
    * Creates a datasource that represent a set of connections to a postgresql database.
@@ -36,8 +36,8 @@ public class PgDataSource implements DataSource {
     NioLoop loop = (NioLoop) this.properties.get(PgDataSourceProperty.NIO_LOOP);
     if (loop == null) {
       // Provide default loop
-      this.defaultLoop = new DefaultNioLoop();
-      new Thread(this.defaultLoop).start();
+      this.defaultLoop = new NioLoopGroup((int) this.properties.get(PgDataSourceProperty.NIO_LOOP_THREADS),
+          NioLoopGroup.Assignment.ROUND_ROBIN, (int) this.properties.get(PgDataSourceProperty.NIO_LOOP_SPIN_COUNT));
       loop = defaultLoop;
     }
     this.loop = loop;
@@ -46,7 +46,8 @@ public class PgDataSource implements DataSource {
     ByteBufferPool pool = (ByteBufferPool) this.properties.get(PgDataSourceProperty.BYTE_BUFFER_POOL);
     if (pool == null) {
       // Provide default pool
-      pool = new DefaultByteBufferPool();
+      pool = new DefaultByteBufferPool(DefaultByteBufferPool.DEFAULT_BUFFER_SIZE, DefaultByteBufferPool.DEFAULT_SIZE_CLASSES,
+          (long) this.properties.get(PgDataSourceProperty.BYTE_BUFFER_POOL_SOFT_LIMIT_BYTES));
     }
     this.bufferPool = pool;
   }
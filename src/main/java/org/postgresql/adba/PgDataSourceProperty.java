@@ -2,7 +2,9 @@ package org.postgresql.adba;
 
 import jdk.incubator.sql2.DataSourceProperty;
 import org.postgresql.adba.buffer.ByteBufferPool;
+import org.postgresql.adba.buffer.DefaultByteBufferPool;
 import org.postgresql.adba.execution.NioLoop;
+import org.postgresql.adba.execution.NioLoopGroup;
 
 public enum PgDataSourceProperty implements DataSourceProperty {
   /**
@@ -10,10 +12,27 @@ public enum PgDataSourceProperty implements DataSourceProperty {
    */
   NIO_LOOP(NioLoop.class, null, false),
 
+  /**
+   * Number of threads of the {@link NioLoopGroup} created when no {@link NioLoop} is specified.
+   */
+  NIO_LOOP_THREADS(Integer.class, 1, false),
+
+  /**
+   * Number of non-blocking select attempts the created {@link NioLoop} threads spin before blocking. Spinning lowers
+   * latency of short queries at the cost of CPU.
+   */
+  NIO_LOOP_SPIN_COUNT(Integer.class, 0, false),
+
   /**
    * Allows specifying the {@link ByteBufferPool}.
    */
-  BYTE_BUFFER_POOL(ByteBufferPool.class, null, false);
+  BYTE_BUFFER_POOL(ByteBufferPool.class, null, false),
+
+  /**
+   * Soft limit of bytes of direct memory allocated by the {@link DefaultByteBufferPool} created when no
+   * {@link ByteBufferPool} is specified. Buffers are still allocated beyond the limit, but are not pooled.
+   */
+  BYTE_BUFFER_POOL_SOFT_LIMIT_BYTES(Long.class, DefaultByteBufferPool.DEFAULT_SOFT_LIMIT_BYTES, false);
 
   private Class range;
   private Object defaultValue;
@@ -0,0 +1,65 @@
+package org.postgresql.adba;
+
+import jdk.incubator.sql2.Result;
+
+/**
+ * Postgres specific {@link Result.RowColumn} with accessors for the current column that decode primitive values
+ * straight from the row, without creating a boxed object per value.
+ *
+ * <p>The rows passed to the collectors of row operations may be cast to this interface. A <code>null</code> value is
+ * returned as zero (or <code>false</code>), so check {@link #isNull()} where null is meaningful.
+ */
+public interface PgRowColumn extends Result.RowColumn {
+
+  /**
+   * Indicates if the value of the current column is null.
+   *
+   * @return true if null
+   */
+  boolean isNull();
+
+  /**
+   * The value of the current column as an int.
+   *
+   * @return the value, or 0 if null
+   * @throws ArithmeticException if the value does not fit in an int
+   */
+  int getInt();
+
+  /**
+   * The value of the current column as a long.
+   *
+   * @return the value, or 0 if null
+   */
+  long getLong();
+
+  /**
+   * The value of the current column as a double.
+   *
+   * @return the value, or 0 if null
+   */
+  double getDouble();
+
+  /**
+   * The value of the current column as the unscaled value of a decimal with the scale, for example cents for a scale
+   * of 2. Numeric columns are decoded without creating a BigDecimal.
+   *
+   * @param scale the number of decimal places, not negative
+   * @return the value multiplied by 10 to the power of the scale, or 0 if null
+   * @throws ArithmeticException if the value has more decimal places than the scale or does not fit in a long
+   */
+  long getUnscaledLong(int scale);
+
+  /**
+   * The value of the current column as a boolean.
+   *
+   * @return the value, or false if null
+   */
+  boolean getBoolean();
+
+  @Override
+  PgRowColumn at(String id);
+
+  @Override
+  PgRowColumn at(int index);
+}
@@ -2,6 +2,7 @@ package org.postgresql.adba;
 
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -23,6 +24,8 @@ import jdk.incubator.sql2.TransactionCompletion;
 import org.postgresql.adba.buffer.ByteBufferPool;
 import org.postgresql.adba.buffer.PooledByteBuffer;
 import org.postgresql.adba.communication.NetworkConnection;
+import org.postgresql.adba.communication.network.CopyInRequest;
+import org.postgresql.adba.communication.network.CopyOutRequest;
 import org.postgresql.adba.communication.network.ImmediateComplete;
 import org.postgresql.adba.communication.network.ParseRequest;
 import org.postgresql.adba.communication.network.Portal;
@@ -31,7 +34,10 @@ import org.postgresql.adba.operations.PgCloseOperation;
 import org.postgresql.adba.operations.PgConnectOperation;
 import org.postgresql.adba.operations.PgOperationGroup;
 import org.postgresql.adba.operations.PgValidationOperation;
+import org.postgresql.adba.operations.helpers.BatchedInsert;
 import org.postgresql.adba.operations.helpers.PgTransaction;
+import org.postgresql.adba.submissions.CopyInSubmission;
+import org.postgresql.adba.submissions.CopyOutSubmission;
 import org.postgresql.adba.util.PropertyHolder;
 
 public class PgSession extends PgOperationGroup<Object, Object> implements Session {
@@ -327,6 +333,12 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
       case CATCH:
         protocol.sendNetworkRequest(new ImmediateComplete(submission));
         break;
+      case COPY_IN:
+        protocol.sendNetworkRequest(new CopyInRequest((CopyInSubmission<?>) submission));
+        break;
+      case COPY_OUT:
+        protocol.sendNetworkRequest(new CopyOutRequest((CopyOutSubmission<?>) submission));
+        break;
       case GROUP:
         if (lastSubmission != null) {
           ((CompletableFuture<?>) lastSubmission.getCompletionStage()).thenApply(a ->
@@ -335,12 +347,33 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
         break;
 
       default:
-        Portal portal = new Portal(submission);
-        protocol.sendNetworkRequest(new ParseRequest<>(portal));
+        protocol.sendNetworkRequest(new ParseRequest<>(createPortal(submission)));
     }
     lastSubmission = submission;
   }
 
+  /**
+   * Creates the {@link Portal} for the submission, rewriting a batched insert into a chain of multi-row inserts.
+   *
+   * @param submission submission to execute
+   * @return the (first) {@link Portal} to execute
+   */
+  private Portal createPortal(PgSubmission<?> submission) {
+    if ((submission.getCompletionType() == PgSubmission.Types.ARRAY_COUNT)
+        && (boolean) properties.get(PgSessionProperty.REWRITE_BATCHED_INSERTS)) {
+      List<BatchedInsert.Chunk> chunks = BatchedInsert.plan(submission.getSql(), submission.getHolder());
+      if (chunks != null) {
+        Portal portal = null;
+        for (int i = chunks.size() - 1; i >= 0; i--) {
+          BatchedInsert.Chunk chunk = chunks.get(i);
+          portal = new Portal(submission, chunk.getSql(), chunk.getHolder(), chunk.getRowsPerExecution(), portal);
+        }
+        return portal;
+      }
+    }
+    return new Portal(submission);
+  }
+
   public void unregister() {
     this.dataSource.unregisterConnection(this);
   }
@@ -31,14 +31,56 @@ public enum PgSessionProperty implements SessionProperty {
   SSL(Boolean.class, false, false),
 
   /**
-   * Sets SO_SNDBUF on the connection stream.
+   * Sets SO_SNDBUF on the connection stream. The default of -1 leaves the operating system default (and its auto
+   * tuning) in place.
    */
-  SEND_BUFFER_SIZE(Integer.class, 87380, false),
+  SEND_BUFFER_SIZE(Integer.class, -1, false),
 
   /**
-   * Sets SO_RCVBUF on the connection stream.
+   * Sets SO_RCVBUF on the connection stream. The default of -1 leaves the operating system default (and its auto
+   * tuning) in place.
    */
-  RECV_BUFFER_SIZE(Integer.class, 16384, false),
+  RECV_BUFFER_SIZE(Integer.class, -1, false),
+
+  /**
+   * Enable or disable TCP_NODELAY (disables Nagle's algorithm). The default is true, so that small requests are sent
+   * immediately.
+   */
+  TCP_NODELAY(Boolean.class, true, false),
+
+  /**
+   * Number of requests queued for writing at which the connection corks (TCP_NODELAY is temporarily disabled) so that
+   * the many small messages are coalesced into full packets. The connection uncorks once the queue is drained, which
+   * sends any remaining data immediately. Only applies when TCP_NODELAY is enabled. The value of 0 disables corking.
+   */
+  CORK_QUEUE_DEPTH(Integer.class, 16, false),
+
+  /**
+   * Maximum number of queued operations pipelined under a single Sync. Operations queued together have their
+   * Parse/Bind/Execute messages streamed back-to-back, with the Sync only sent once the queue is drained or this depth
+   * is reached. Note that the server runs the operations sharing a Sync within one implicit transaction (unless within
+   * an explicit transaction), so a failing operation rolls back and skips the others. Operations therefore complete
+   * once their Sync completes, with those before the failing operation failed as rolled back and those after it failed
+   * as not executed. The default of 1 sends a Sync after every operation.
+   */
+  PIPELINE_DEPTH(Integer.class, 1, false),
+
+  /**
+   * Maximum number of bytes the connection buffers for writing, both for a long running request (such as the many
+   * executions of an array row count operation) and for many queued requests. Once reached, the remaining messages
+   * are only generated after the buffered bytes are written to the network. This bounds the buffers each connection
+   * holds, as the buffer pool only has a soft limit.
+   */
+  MAXIMUM_IN_FLIGHT_BYTES(Integer.class, 256 * 1024, false),
+
+  /**
+   * Rewrites an array row count operation of a single row <code>INSERT ... VALUES (...)</code> into multi-row
+   * <code>VALUES (...),(...)</code> statements, so the server executes far fewer statements. As a multi-row statement
+   * only reports its total row count, each row is reported as 1 when all rows of the statement were inserted.
+   * Otherwise (e.g. with rules or triggers changing the count) the statement's count is reported against its first
+   * row and 0 against its remaining rows.
+   */
+  REWRITE_BATCHED_INSERTS(Boolean.class, false, false),
 
   /**
    * Set the amount of logging information printed to the DriverManager's current value for LogStream or LogWriter. It
@@ -21,6 +21,8 @@ public interface PgSubmission<T> extends Submission<T> {
     VOID,
     PROCESSOR,
     OUT_PARAMETER,
+    COPY_IN,
+    COPY_OUT,
     LOCAL,
     GROUP,
     CATCH;
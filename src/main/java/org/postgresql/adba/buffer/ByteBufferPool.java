@@ -14,4 +14,17 @@ public interface ByteBufferPool {
    */
   PooledByteBuffer getPooledByteBuffer();
 
-}
\ No newline at end of file
+  /**
+   * Obtains a {@link PooledByteBuffer} with at least the requested capacity.
+   * 
+   * <p>Pools not supporting differing sizes may ignore the requested capacity, so
+   * callers must always check the capacity of the returned buffer.
+   * 
+   * @param minimumCapacity Requested minimum capacity.
+   * @return {@link PooledByteBuffer}.
+   */
+  default PooledByteBuffer getPooledByteBuffer(int minimumCapacity) {
+    return getPooledByteBuffer();
+  }
+
+}
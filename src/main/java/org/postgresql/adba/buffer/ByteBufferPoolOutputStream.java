@@ -2,26 +2,37 @@ package org.postgresql.adba.buffer;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.postgresql.adba.communication.NetworkOutputStream;
 
 /**
  * {@link OutputStream} that writes to {@link PooledByteBuffer} instances from a
  * {@link ByteBufferPool}.
- * 
+ *
+ * <p>There must only be a single writer thread (the NIO thread). The writer
+ * keeps a cursor over the current {@link ByteBuffer} and takes no locks. Once a
+ * packet is complete, its filled {@link PooledByteBuffer} instances are handed
+ * off through a lock-free {@link Queue} for writing to the network.
+ *
  * @author Daniel Sagenschneider
  */
 public class ByteBufferPoolOutputStream extends NetworkOutputStream {
 
   /**
-   * Place holder bytes written for the packet length.
+   * Number of bytes for the packet length.
    */
-  private static final byte[] PACKET_LENGTH_PLACE_HOLDER = new byte[] { 0, 0, 0, 0 };
+  private static final int PACKET_LENGTH_SIZE = 4;
+
+  /**
+   * Number of bytes for the value length.
+   */
+  private static final int VALUE_LENGTH_SIZE = 4;
 
   /**
    * {@link ByteBufferPool}.
@@ -29,19 +40,31 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
   private final ByteBufferPool bufferPool;
 
   /**
-   * {@link Writer} to write text.
+   * {@link PooledByteBuffer} instances ready to be written to the network.
+   */
+  private final Queue<PooledByteBuffer> readyBuffers = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Filled {@link PooledByteBuffer} instances held until the open packet is
+   * complete (as packet length still to be written).
    */
-  private final Writer writer;
+  private final Deque<PooledByteBuffer> heldBuffers = new ArrayDeque<>();
 
   /**
-   * Written {@link PooledByteBuffer} instances.
+   * Current {@link PooledByteBuffer} being written.
    */
-  private final BufferList writtenByteBuffers = new BufferList();
+  private PooledByteBuffer current = null;
 
   /**
-   * Index of the {@link PooledByteBuffer} containing the packet length.
+   * {@link ByteBuffer} of the current {@link PooledByteBuffer}.
    */
-  private int packetStartBuffer = 0;
+  private ByteBuffer buffer = null;
+
+  /**
+   * {@link PooledByteBuffer} containing the packet length. <code>null</code> if
+   * no open packet.
+   */
+  private PooledByteBuffer packetStartBuffer = null;
 
   /**
    * Position within the {@link PooledByteBuffer} for the packet length.
@@ -49,96 +72,158 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
   private int packetStartPosition = 0;
 
   /**
-   * Size of the packet.
+   * Bytes of the open packet within filled {@link PooledByteBuffer} instances.
+   */
+  private int packetFilledBytes = 0;
+
+  /**
+   * {@link PooledByteBuffer} containing the value length. <code>null</code> if
+   * no open value.
    */
-  private int packetSize = 0;
+  private PooledByteBuffer valueStartBuffer = null;
+
+  /**
+   * Position within the {@link PooledByteBuffer} for the value length.
+   */
+  private int valueStartPosition = 0;
+
+  /**
+   * Bytes of the open value within filled {@link PooledByteBuffer} instances.
+   */
+  private int valueFilledBytes = 0;
+
+  /**
+   * Bytes within retired {@link PooledByteBuffer} instances.
+   */
+  private long retiredBytes = 0;
 
   private volatile boolean closed = false;
 
   /**
    * Instantiate.
-   * 
+   *
    * @param bufferPool {@link ByteBufferPool}.
    */
   public ByteBufferPoolOutputStream(ByteBufferPool bufferPool) {
     this.bufferPool = bufferPool;
-
-    // TODO possibly make charset configurable (if this is required)
-    this.writer = new OutputStreamWriter(this, StandardCharsets.UTF_8);
   }
 
   /**
-   * Obtains the list of written {@link PooledByteBuffer} instances.
-   * 
-   * @return List of written {@link PooledByteBuffer} instances.
+   * Obtains the next written {@link PooledByteBuffer}.
+   *
+   * @return Next written {@link PooledByteBuffer} or <code>null</code> if none.
    */
   public PooledByteBuffer getNextWrittenBuffer() {
-    synchronized (writtenByteBuffers) {
-      if (writtenByteBuffers.isEmpty()) {
-        return null;
-      }
+    PooledByteBuffer ready = this.readyBuffers.poll();
+    if ((ready == null) && this.isCurrentReady()) {
+      ready = this.current;
+      this.retiredBytes += this.buffer.position();
+      this.current = null;
+      this.buffer = null;
+    }
+    return ready;
+  }
 
-      PooledByteBuffer pbb = writtenByteBuffers.get(0);
-      writtenByteBuffers.remove(0);
-      return pbb;
+  /**
+   * Moves all written {@link PooledByteBuffer} instances to the {@link Collection}.
+   *
+   * <p>Buffers of an incomplete packet are retained until the packet is complete.
+   *
+   * @param target {@link Collection} to receive the written {@link PooledByteBuffer}
+   *               instances (in write order).
+   * @return Number of {@link PooledByteBuffer} instances moved.
+   */
+  public int drainWrittenBuffers(Collection<PooledByteBuffer> target) {
+    int count = 0;
+    PooledByteBuffer ready;
+    while ((ready = this.readyBuffers.poll()) != null) {
+      target.add(ready);
+      count++;
+    }
+    if (this.isCurrentReady()) {
+      target.add(this.current);
+      count++;
+      this.retiredBytes += this.buffer.position();
+      this.current = null;
+      this.buffer = null;
     }
+    return count;
+  }
+
+  @Override
+  public long getWrittenBytes() {
+    return this.retiredBytes + ((this.buffer == null) ? 0 : this.buffer.position());
   }
 
   public boolean hasMoreToWrite() {
-    return !writtenByteBuffers.isEmpty();
+    return !this.readyBuffers.isEmpty() || this.isCurrentReady();
   }
 
   /**
-   * Convenience method to add a {@link PooledByteBuffer}.
-   * 
-   * @return {@link PooledByteBuffer}.
+   * Indicates if the current {@link PooledByteBuffer} may be written.
+   *
+   * @return <code>true</code> if the current {@link PooledByteBuffer} has data
+   *         not within an open packet.
    */
-  private PooledByteBuffer addWriteBuffer() {
-    synchronized (writtenByteBuffers) {
-      PooledByteBuffer buffer = this.bufferPool.getPooledByteBuffer();
-      buffer.getByteBuffer().clear();
-      this.writtenByteBuffers.add(buffer);
-      return buffer;
-    }
+  private boolean isCurrentReady() {
+    return (this.packetStartBuffer == null) && (this.buffer != null) && (this.buffer.position() > 0);
   }
 
   /**
-   * Obtains the current {@link PooledByteBuffer} to write further data.
-   * 
-   * @return Current {@link PooledByteBuffer} to write further data.
+   * Moves to the next {@link PooledByteBuffer}, retiring the current filled
+   * {@link PooledByteBuffer}.
    */
-  private PooledByteBuffer getCurrentBuffer() {
-    synchronized (writtenByteBuffers) {
-
-      // Ensure have current pooled buffer
-      PooledByteBuffer buffer;
-      if (this.writtenByteBuffers.size() == 0) {
-        // First byte buffer
-        buffer = this.addWriteBuffer();
+  private void nextBuffer() {
+    if (this.current != null) {
+      this.retiredBytes += this.buffer.position();
+      if (this.packetStartBuffer == null) {
+        // No open packet, so may write
+        this.readyBuffers.add(this.current);
       } else {
-        // Obtain the last buffer
-        buffer = this.writtenByteBuffers.get(this.writtenByteBuffers.size() - 1);
-
-        // Ensure space in last buffer
-        if (!buffer.getByteBuffer().hasRemaining()) {
-          // No space, so add another buffer
-          buffer = this.addWriteBuffer();
+        // Hold until packet length written
+        this.packetFilledBytes += this.bytesSince(this.packetStartBuffer, this.packetStartPosition);
+        if (this.valueStartBuffer != null) {
+          this.valueFilledBytes += this.bytesSince(this.valueStartBuffer, this.valueStartPosition);
         }
+        this.heldBuffers.add(this.current);
       }
-
-      // Return the buffer
-      return buffer;
     }
+    this.current = this.bufferPool.getPooledByteBuffer();
+    this.buffer = this.current.getByteBuffer();
+    this.buffer.clear().order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Obtains the number of bytes within the current {@link PooledByteBuffer} since the start position.
+   *
+   * @param start    {@link PooledByteBuffer} containing the start position.
+   * @param position Start position.
+   * @return Number of bytes within the current {@link PooledByteBuffer}.
+   */
+  private int bytesSince(PooledByteBuffer start, int position) {
+    return (this.current == start) ? (this.buffer.position() - position) : this.buffer.position();
   }
 
   /**
    * Writes the {@link ByteBuffer}.
-   * 
+   *
    * @param byteBuffer {@link ByteBuffer}.
    */
+  @Override
   public void write(ByteBuffer byteBuffer) {
-    synchronized (writtenByteBuffers) {
-      this.getCurrentBuffer().getByteBuffer().put(byteBuffer);
+    while (byteBuffer.hasRemaining()) {
+      if ((this.buffer == null) || !this.buffer.hasRemaining()) {
+        this.nextBuffer();
+      }
+      int bytesToWrite = Math.min(this.buffer.remaining(), byteBuffer.remaining());
+      if (bytesToWrite == byteBuffer.remaining()) {
+        this.buffer.put(byteBuffer);
+      } else {
+        ByteBuffer part = byteBuffer.duplicate();
+        part.limit(part.position() + bytesToWrite);
+        this.buffer.put(part);
+        byteBuffer.position(byteBuffer.position() + bytesToWrite);
+      }
     }
   }
 
@@ -148,130 +233,166 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
 
   @Override
   public void initPacket() throws IOException {
-    synchronized (writtenByteBuffers) {
 
-      // Obtain the buffer to write packet length
-      PooledByteBuffer pooledBuffer = this.getCurrentBuffer();
-      ByteBuffer buffer = pooledBuffer.getByteBuffer();
+    // Keep the packet length within the one buffer (allows direct put)
+    if ((this.buffer == null) || (this.buffer.remaining() < PACKET_LENGTH_SIZE)) {
+      this.nextBuffer();
+    }
 
-      // Obtain the position of packet length
-      this.packetStartBuffer = this.writtenByteBuffers.size() - 1;
-      this.packetStartPosition = buffer.position();
-      this.packetSize = 0;
+    // Obtain the position of packet length
+    this.packetStartBuffer = this.current;
+    this.packetStartPosition = this.buffer.position();
+    this.packetFilledBytes = 0;
 
-      // Make space for place holder packet length bytes
-      this.write(PACKET_LENGTH_PLACE_HOLDER);
-    }
+    // Make space for place holder packet length bytes
+    this.buffer.position(this.packetStartPosition + PACKET_LENGTH_SIZE);
   }
 
   @Override
   public void write(int b) {
-    synchronized (writtenByteBuffers) {
-      this.getCurrentBuffer().getByteBuffer().put((byte) b);
-      this.packetSize++;
+    if ((this.buffer == null) || !this.buffer.hasRemaining()) {
+      this.nextBuffer();
     }
+    this.buffer.put((byte) b);
   }
 
   @Override
   public void write(byte[] bytes, int off, int len) {
-    synchronized (writtenByteBuffers) {
-
-      // Increasing packet size
-      this.packetSize += (len - off);
 
-      // Ensure have current pooled buffer
-      PooledByteBuffer buffer = this.getCurrentBuffer();
-
-      // Keep writing to buffers until complete
-      do {
-
-        // Determine bytes to write to buffer
-        int available = buffer.getByteBuffer().remaining();
-        int bytesToWrite = available < len ? available : len;
-
-        // Write the bytes to buffer
-        buffer.getByteBuffer().put(bytes, off, bytesToWrite);
-
-        // Determine number of bytes remaining
-        len -= bytesToWrite;
+    // Keep writing to buffers until complete
+    while (len > 0) {
+      if ((this.buffer == null) || !this.buffer.hasRemaining()) {
+        this.nextBuffer();
+      }
 
-        // Adjust for potential another write
-        if (len > 0) {
-          off += bytesToWrite;
-          buffer = this.addWriteBuffer();
-        }
+      // Write the bytes to buffer
+      int bytesToWrite = Math.min(this.buffer.remaining(), len);
+      this.buffer.put(bytes, off, bytesToWrite);
 
-      } while (len > 0);
+      // Adjust for potential another write
+      off += bytesToWrite;
+      len -= bytesToWrite;
     }
   }
 
   @Override
-  public void write(String text) throws IOException {
-    synchronized (writtenByteBuffers) {
-      this.writer.write(text);
-      this.writer.flush();
-      this.writeTerminator();
+  public void writeInt16(short value) throws IOException {
+    if ((this.buffer != null) && (this.buffer.remaining() >= 2)) {
+      this.buffer.putShort(value);
+    } else {
+      super.writeInt16(value);
     }
   }
 
   @Override
-  public void completePacket() {
-    synchronized (writtenByteBuffers) {
-      this.doCompletePacket(0, this.packetSize);
+  public void writeInt32(int value) throws IOException {
+    if ((this.buffer != null) && (this.buffer.remaining() >= 4)) {
+      this.buffer.putInt(value);
+    } else {
+      super.writeInt32(value);
     }
   }
 
   @Override
-  public void close() {
-    closed = true;
+  public void writeInt64(long value) throws IOException {
+    if ((this.buffer != null) && (this.buffer.remaining() >= 8)) {
+      this.buffer.putLong(value);
+    } else {
+      super.writeInt64(value);
+    }
   }
 
-  /**
-   * Recursively writes packet length to avoid object creation.
-   * 
-   * @param depth  Current depth.
-   * @param length Current length to write.
-   */
-  private void doCompletePacket(int depth, int length) {
-    synchronized (writtenByteBuffers) {
+  @Override
+  public void writeUtf8(CharSequence text) throws IOException {
+    int length = text.length();
+    int index = 0;
+    while (index < length) {
+      if ((this.buffer == null) || !this.buffer.hasRemaining()) {
+        this.nextBuffer();
+      }
 
-      // Drop out once written all bytes
-      if (depth >= 4) {
-        return;
+      // Fast path copying ASCII straight into the buffer
+      int end = Math.min(length, index + this.buffer.remaining());
+      while (index < end) {
+        char c = text.charAt(index);
+        if (c >= 0x80) {
+          break;
+        }
+        this.buffer.put((byte) c);
+        index++;
       }
 
-      // Obtain the byte length and remove for next length byte
-      byte byteLengthValue = (byte) (length & 0xFF);
-      length >>= 8;
+      // Multi-byte character
+      if (index < end) {
+        index = this.writeUtf8Character(text, index, length);
+      }
+    }
+  }
 
-      // Undertake recursion (so writes top bytes first)
-      this.doCompletePacket(depth + 1, length);
+  @Override
+  public void initValue() throws IOException {
+    if (this.packetStartBuffer == null) {
+      throw new IllegalStateException("Value must be within a packet");
+    }
+    if (this.valueStartBuffer != null) {
+      throw new IllegalStateException("Value already open");
+    }
 
-      // Write the byte
-      PooledByteBuffer pooledByteBuffer = this.writtenByteBuffers.get(this.packetStartBuffer);
-      if (this.packetStartPosition >= pooledByteBuffer.getByteBuffer().capacity()) {
-        // Writing past buffer end, so start with next buffer
-        this.packetStartBuffer++;
-        this.packetStartPosition = 0;
-        pooledByteBuffer = this.writtenByteBuffers.get(this.packetStartBuffer);
-      }
-      pooledByteBuffer.getByteBuffer().put(this.packetStartPosition++, byteLengthValue);
+    // Keep the value length within the one buffer (allows direct put)
+    if ((this.buffer == null) || (this.buffer.remaining() < VALUE_LENGTH_SIZE)) {
+      this.nextBuffer();
     }
+
+    // Obtain the position of value length
+    this.valueStartBuffer = this.current;
+    this.valueStartPosition = this.buffer.position();
+    this.valueFilledBytes = 0;
+
+    // Make space for place holder value length bytes
+    this.buffer.position(this.valueStartPosition + VALUE_LENGTH_SIZE);
   }
 
-  public boolean isClosed() {
-    return closed;
+  @Override
+  public void completeValue() {
+    if (this.valueStartBuffer == null) {
+      throw new IllegalStateException("No value to complete");
+    }
+
+    // Write the value length (excluding the length itself)
+    int valueSize = this.valueFilledBytes + this.bytesSince(this.valueStartBuffer, this.valueStartPosition)
+        - VALUE_LENGTH_SIZE;
+    this.valueStartBuffer.getByteBuffer().putInt(this.valueStartPosition, valueSize);
+    this.valueStartBuffer = null;
   }
 
-  /**
-   * {@link PooledByteBuffer} {@link List}.
-   */
-  private static class BufferList extends ArrayList<PooledByteBuffer> {
+  @Override
+  public void completePacket() {
+    if (this.packetStartBuffer == null) {
+      throw new IllegalStateException("No packet to complete");
+    }
 
-    @Override
-    public void removeRange(int fromIndex, int toIndex) {
-      super.removeRange(fromIndex, toIndex);
+    // Write the packet length
+    if (this.valueStartBuffer != null) {
+      throw new IllegalStateException("Value not complete");
+    }
+    int packetSize = this.packetFilledBytes + this.bytesSince(this.packetStartBuffer, this.packetStartPosition);
+    this.packetStartBuffer.getByteBuffer().putInt(this.packetStartPosition, packetSize);
+    this.packetStartBuffer = null;
+
+    // Hand off the filled buffers of the packet
+    PooledByteBuffer held;
+    while ((held = this.heldBuffers.poll()) != null) {
+      this.readyBuffers.add(held);
     }
   }
 
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
 }
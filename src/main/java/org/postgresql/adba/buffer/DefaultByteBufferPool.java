@@ -3,30 +3,253 @@ package org.postgresql.adba.buffer;
 import java.nio.ByteBuffer;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Default {@link ByteBufferPool}.
+ *
+ * <p>Buffers are pooled by size class, with each size class doubling the size of
+ * the previous. The total direct memory allocated has a soft limit. Once the
+ * limit is reached, idle buffers of other size classes are freed to make room.
+ * Obtaining never waits, as the NIO thread obtaining the buffer is also the
+ * thread releasing them, so failing to free room the buffer is allocated beyond
+ * the limit (see {@link #getExhaustedCount()}). Memory is instead bounded by
+ * each connection limiting the bytes it buffers for writing (see
+ * <code>PgSessionProperty.MAXIMUM_IN_FLIGHT_BYTES</code>). While beyond the
+ * limit, released buffers are dropped rather than pooled or cached, so that a
+ * burst does not permanently hold direct memory. Released buffers beyond the
+ * retained limit are also dropped.
+ *
+ * <p>Each thread has a small cache (magazine) of buffers per size class in front
+ * of the shared pools. Obtaining and releasing on the same thread (the NIO
+ * thread) then takes no shared state. Magazines are refilled from, and overflow
+ * half their buffers to, the shared pools.
  * 
  * @author Daniel Sagenschneider
  */
 public class DefaultByteBufferPool implements ByteBufferPool {
 
   /**
-   * Pool of {@link PooledByteBuffer} instances.
+   * Default size of the smallest size class.
    */
-  private final Queue<PooledByteBuffer> pool = new ConcurrentLinkedQueue<>();
+  public static final int DEFAULT_BUFFER_SIZE = 8192; // largest 2 based size fitting jumbo ethernet packet
 
   /**
-   * Size of buffers.
+   * Default number of size classes.
+   */
+  public static final int DEFAULT_SIZE_CLASSES = 6;
+
+  /**
+   * Default soft limit of bytes allocated.
+   */
+  public static final long DEFAULT_SOFT_LIMIT_BYTES = 64L * 1024 * 1024;
+
+  /**
+   * Default bytes cached per size class for each thread.
+   */
+  public static final int DEFAULT_MAGAZINE_BYTES = 64 * 1024;
+
+  /**
+   * Size of buffers for the smallest size class.
    */
   private final int bufferSize;
 
   /**
-   * Instantiate.
+   * Pools of {@link PooledByteBuffer} instances indexed by size class.
+   */
+  private final Queue<PooledByteBufferImpl>[] pools;
+
+  /**
+   * Soft limit of bytes allocated (outstanding and pooled).
+   */
+  private final long softLimitBytes;
+
+  /**
+   * Maximum bytes retained within the pools.
+   */
+  private final long maximumRetainedBytes;
+
+  /**
+   * Bytes cached per size class for each thread. <code>0</code> to not cache.
+   */
+  private final int magazineBytes;
+
+  /**
+   * {@link Magazine} per size class for each thread.
+   */
+  private final ThreadLocal<Magazine[]> magazines = ThreadLocal.withInitial(this::createMagazines);
+
+  /**
+   * Bytes allocated (outstanding and pooled).
+   */
+  private final AtomicLong allocatedBytes = new AtomicLong(0);
+
+  /**
+   * Bytes retained within the shared pools.
+   */
+  private final AtomicLong pooledBytes = new AtomicLong(0);
+
+  /**
+   * Number of {@link PooledByteBuffer} instances in use.
+   */
+  private final LongAdder outstandingBuffers = new LongAdder();
+
+  /**
+   * Number of {@link PooledByteBuffer} instances within the shared pools.
+   */
+  private final AtomicInteger pooledBuffers = new AtomicInteger(0);
+
+  /**
+   * Number of {@link PooledByteBuffer} instances within the {@link Magazine} instances.
+   */
+  private final LongAdder cachedBuffers = new LongAdder();
+
+  /**
+   * Bytes within the {@link Magazine} instances.
+   */
+  private final LongAdder cachedBytes = new LongAdder();
+
+  /**
+   * Number of allocations of a {@link ByteBuffer}.
+   */
+  private final LongAdder allocations = new LongAdder();
+
+  /**
+   * Number of times the pool was exhausted.
+   */
+  private final LongAdder exhaustions = new LongAdder();
+
+  /**
+   * Instantiate with defaults.
    */
   public DefaultByteBufferPool() {
-    // TODO consider specifying buffer size from properties
-    this.bufferSize = 8192; // largest 2 based size fitting jumbo ethernet packet
+    this(DEFAULT_BUFFER_SIZE, DEFAULT_SIZE_CLASSES, DEFAULT_SOFT_LIMIT_BYTES);
+  }
+
+  /**
+   * Instantiate, retaining up to half the soft limit.
+   * 
+   * @param bufferSize     Size of buffers for the smallest size class.
+   * @param sizeClasses    Number of size classes.
+   * @param softLimitBytes Soft limit of bytes allocated.
+   */
+  public DefaultByteBufferPool(int bufferSize, int sizeClasses, long softLimitBytes) {
+    this(bufferSize, sizeClasses, softLimitBytes, softLimitBytes / 2);
+  }
+
+  /**
+   * Instantiate.
+   * 
+   * @param bufferSize           Size of buffers for the smallest size class.
+   * @param sizeClasses          Number of size classes.
+   * @param softLimitBytes       Soft limit of bytes allocated.
+   * @param maximumRetainedBytes Maximum bytes retained within the pools.
+   */
+  public DefaultByteBufferPool(int bufferSize, int sizeClasses, long softLimitBytes, long maximumRetainedBytes) {
+    this(bufferSize, sizeClasses, softLimitBytes, maximumRetainedBytes, DEFAULT_MAGAZINE_BYTES);
+  }
+
+  /**
+   * Instantiate.
+   * 
+   * @param bufferSize           Size of buffers for the smallest size class.
+   * @param sizeClasses          Number of size classes.
+   * @param softLimitBytes       Soft limit of bytes allocated.
+   * @param maximumRetainedBytes Maximum bytes retained within the shared pools.
+   * @param magazineBytes        Bytes cached per size class for each thread.
+   *                             <code>0</code> to not cache.
+   * @throws IllegalArgumentException If invalid configuration.
+   */
+  @SuppressWarnings("unchecked")
+  public DefaultByteBufferPool(int bufferSize, int sizeClasses, long softLimitBytes, long maximumRetainedBytes,
+      int magazineBytes) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive, but was " + bufferSize);
+    }
+    if ((sizeClasses < 1) || (((long) bufferSize << (sizeClasses - 1)) > Integer.MAX_VALUE)) {
+      throw new IllegalArgumentException("Invalid number of size classes " + sizeClasses);
+    }
+    if (softLimitBytes < ((long) bufferSize << (sizeClasses - 1))) {
+      throw new IllegalArgumentException("Soft limit bytes " + softLimitBytes + " can not hold largest buffer");
+    }
+    this.bufferSize = bufferSize;
+    this.softLimitBytes = softLimitBytes;
+    this.maximumRetainedBytes = maximumRetainedBytes;
+    this.magazineBytes = magazineBytes;
+    this.pools = (Queue<PooledByteBufferImpl>[]) new Queue<?>[sizeClasses];
+    for (int i = 0; i < sizeClasses; i++) {
+      this.pools[i] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  /**
+   * Obtains the bytes allocated (both outstanding and pooled).
+   * 
+   * @return Bytes allocated.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  /**
+   * Obtains the bytes retained within the pool.
+   * 
+   * @return Bytes retained within the pool.
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get() + cachedBytes.sum();
+  }
+
+  /**
+   * Obtains the number of {@link PooledByteBuffer} instances in use.
+   * 
+   * @return Number of {@link PooledByteBuffer} instances in use.
+   */
+  public int getOutstandingBuffers() {
+    return outstandingBuffers.intValue();
+  }
+
+  /**
+   * Obtains the number of {@link PooledByteBuffer} instances within the pool.
+   * 
+   * @return Number of {@link PooledByteBuffer} instances within the pool.
+   */
+  public int getPooledBuffers() {
+    return pooledBuffers.get() + cachedBuffers.intValue();
+  }
+
+  /**
+   * Obtains the number of {@link ByteBuffer} allocations.
+   * 
+   * @return Number of {@link ByteBuffer} allocations.
+   */
+  public long getAllocationCount() {
+    return allocations.sum();
+  }
+
+  /**
+   * Obtains the number of times a {@link PooledByteBuffer} was allocated beyond the soft limit.
+   * 
+   * @return Number of times exhausted.
+   */
+  public long getExhaustedCount() {
+    return exhaustions.sum();
+  }
+
+  /**
+   * Obtains the size class for the requested capacity.
+   * 
+   * @param minimumCapacity Requested minimum capacity.
+   * @return Size class (capped to largest size class).
+   */
+  private int sizeClass(int minimumCapacity) {
+    int sizeClass = 0;
+    while ((sizeClass < (pools.length - 1)) && ((bufferSize << sizeClass) < minimumCapacity)) {
+      sizeClass++;
+    }
+    return sizeClass;
   }
 
   /*
@@ -35,21 +258,132 @@ public class DefaultByteBufferPool implements ByteBufferPool {
 
   @Override
   public PooledByteBuffer getPooledByteBuffer() {
+    return obtainPooledByteBuffer(0);
+  }
+
+  @Override
+  public PooledByteBuffer getPooledByteBuffer(int minimumCapacity) {
+    return obtainPooledByteBuffer(sizeClass(minimumCapacity));
+  }
+
+  /**
+   * Obtains the {@link PooledByteBuffer} for the size class.
+   * 
+   * @param sizeClass Size class.
+   * @return {@link PooledByteBuffer}.
+   */
+  private PooledByteBuffer obtainPooledByteBuffer(int sizeClass) {
+    PooledByteBuffer buffer = tryObtainPooledByteBuffer(sizeClass);
+    if (buffer != null) {
+      return buffer;
+    }
+
+    // Soft limit allocated, so allocate beyond (as waiting would block the releasing thread)
+    int size = bufferSize << sizeClass;
+    exhaustions.increment();
+    allocatedBytes.addAndGet(size);
+    allocations.increment();
+    outstandingBuffers.increment();
+    return new PooledByteBufferImpl(sizeClass, size);
+  }
+
+  /**
+   * Attempts to obtain the {@link PooledByteBuffer} for the size class without
+   * waiting.
+   * 
+   * @param sizeClass Size class.
+   * @return {@link PooledByteBuffer} or <code>null</code> if soft limit of
+   *         bytes allocated.
+   */
+  private PooledByteBuffer tryObtainPooledByteBuffer(int sizeClass) {
+
+    // Obtain from thread's magazine (refilling from shared pool)
+    if (magazineBytes > 0) {
+      Magazine magazine = magazines.get()[sizeClass];
+      if (magazine.count == 0) {
+        magazine.refill();
+      }
+      if (magazine.count > 0) {
+        PooledByteBufferImpl buffer = magazine.pop();
+        outstandingBuffers.increment();
+        return buffer;
+      }
+    }
 
     // Obtain the next pooled buffer
-    PooledByteBuffer buffer = pool.poll();
+    PooledByteBufferImpl buffer = pools[sizeClass].poll();
     if (buffer != null) {
+      pooledBuffers.decrementAndGet();
+      pooledBytes.addAndGet(-buffer.size);
+      outstandingBuffers.increment();
       return buffer;
     }
 
-    // No pooled, so create buffer
-    // TODO consider blocking thread if too many active buffers to keep memory down
-    return new PooledByteBufferImpl();
+    // No pooled, so create buffer (freeing idle buffers of other sizes if required)
+    int size = bufferSize << sizeClass;
+    if (!reserve(size) && !(freeIdle(size) && reserve(size))) {
+      return null;
+    }
+    allocations.increment();
+    outstandingBuffers.increment();
+    return new PooledByteBufferImpl(sizeClass, size);
+  }
+
+  /**
+   * Reserves the bytes for allocation.
+   * 
+   * @param size Number of bytes.
+   * @return <code>true</code> if reserved within the soft limit.
+   */
+  private boolean reserve(int size) {
+    for (;;) {
+      long allocated = allocatedBytes.get();
+      if ((allocated + size) > softLimitBytes) {
+        return false;
+      }
+      if (allocatedBytes.compareAndSet(allocated, allocated + size)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Frees idle pooled buffers (largest first) to make room for allocation.
+   * 
+   * @param size Number of bytes required.
+   * @return <code>true</code> if freed the required bytes.
+   */
+  private boolean freeIdle(int size) {
+
+    // Make this thread's cached buffers available for freeing
+    flushMagazines();
+
+    long freed = 0;
+    for (int i = pools.length - 1; (i >= 0) && (freed < size); i--) {
+      PooledByteBufferImpl idle;
+      while ((freed < size) && ((idle = pools[i].poll()) != null)) {
+        pooledBuffers.decrementAndGet();
+        pooledBytes.addAndGet(-idle.size);
+        allocatedBytes.addAndGet(-idle.size);
+        freed += idle.size;
+      }
+    }
+    return freed >= size;
   }
 
   private class PooledByteBufferImpl implements PooledByteBuffer {
 
-    private final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+    private final int sizeClass;
+
+    private final int size;
+
+    private final ByteBuffer buffer;
+
+    private PooledByteBufferImpl(int sizeClass, int size) {
+      this.sizeClass = sizeClass;
+      this.size = size;
+      this.buffer = ByteBuffer.allocateDirect(size);
+    }
 
     /*
      * =============== PooledByteBuffer ====================
@@ -62,8 +396,130 @@ public class DefaultByteBufferPool implements ByteBufferPool {
 
     @Override
     public void release() {
-      pool.add(this);
+      outstandingBuffers.decrement();
+
+      // Cache with thread (unless allocated beyond soft limit)
+      if (magazineBytes > 0) {
+        if (allocatedBytes.get() <= softLimitBytes) {
+          Magazine magazine = magazines.get()[sizeClass];
+          if (magazine.count == magazine.buffers.length) {
+            magazine.flush(Math.max(1, magazine.buffers.length / 2));
+          }
+          magazine.push(this);
+          return;
+        }
+
+        // Beyond soft limit, so drop the thread's cached buffers (each thread drops its own on release)
+        flushMagazines();
+      }
+
+      // Return to shared pool
+      releaseToPool(this);
+    }
+  }
+
+  /**
+   * Releases the {@link PooledByteBufferImpl} to the shared pool.
+   * 
+   * @param buffer {@link PooledByteBufferImpl}.
+   */
+  private void releaseToPool(PooledByteBufferImpl buffer) {
+
+    // Retain only up to maximum (otherwise drop to free memory)
+    if (((pooledBytes.get() + buffer.size) > maximumRetainedBytes) || (allocatedBytes.get() > softLimitBytes)) {
+      allocatedBytes.addAndGet(-buffer.size);
+    } else {
+      pooledBytes.addAndGet(buffer.size);
+      pooledBuffers.incrementAndGet();
+      pools[buffer.sizeClass].add(buffer);
+    }
+  }
+
+  /**
+   * Flushes all the {@link PooledByteBufferImpl} instances cached by this thread to the shared pool.
+   */
+  private void flushMagazines() {
+    if (magazineBytes > 0) {
+      for (Magazine magazine : magazines.get()) {
+        magazine.flush(magazine.count);
+      }
+    }
+  }
+
+  /**
+   * Creates the {@link Magazine} instances for a thread.
+   * 
+   * @return {@link Magazine} per size class.
+   */
+  private Magazine[] createMagazines() {
+    Magazine[] threadMagazines = new Magazine[pools.length];
+    for (int i = 0; i < threadMagazines.length; i++) {
+      threadMagazines[i] = new Magazine(i, Math.max(1, magazineBytes / (bufferSize << i)));
+    }
+    return threadMagazines;
+  }
+
+  /**
+   * Thread confined cache of {@link PooledByteBufferImpl} instances for a size class.
+   */
+  private class Magazine {
+
+    private final int sizeClass;
+
+    private final PooledByteBufferImpl[] buffers;
+
+    private int count = 0;
+
+    private Magazine(int sizeClass, int capacity) {
+      this.sizeClass = sizeClass;
+      this.buffers = new PooledByteBufferImpl[capacity];
+    }
+
+    private void push(PooledByteBufferImpl buffer) {
+      buffers[count++] = buffer;
+      cachedBuffers.increment();
+      cachedBytes.add(buffer.size);
+    }
+
+    private PooledByteBufferImpl pop() {
+      PooledByteBufferImpl buffer = buffers[--count];
+      buffers[count] = null;
+      cachedBuffers.decrement();
+      cachedBytes.add(-buffer.size);
+      return buffer;
+    }
+
+    /**
+     * Refills half the {@link Magazine} from the shared pool.
+     */
+    private void refill() {
+      int target = Math.max(1, buffers.length / 2);
+      PooledByteBufferImpl buffer;
+      while ((count < target) && ((buffer = pools[sizeClass].poll()) != null)) {
+        pooledBuffers.decrementAndGet();
+        pooledBytes.addAndGet(-buffer.size);
+        push(buffer);
+      }
+    }
+
+    /**
+     * Flushes the oldest {@link PooledByteBufferImpl} instances to the shared pool.
+     * 
+     * @param flushCount Number of {@link PooledByteBufferImpl} instances to flush.
+     */
+    private void flush(int flushCount) {
+      for (int i = 0; i < flushCount; i++) {
+        PooledByteBufferImpl buffer = buffers[i];
+        cachedBuffers.decrement();
+        cachedBytes.add(-buffer.size);
+        releaseToPool(buffer);
+      }
+      System.arraycopy(buffers, flushCount, buffers, 0, count - flushCount);
+      for (int i = count - flushCount; i < count; i++) {
+        buffers[i] = null;
+      }
+      count -= flushCount;
     }
   }
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package org.postgresql.adba.communication;
 
+import java.nio.ByteBuffer;
+
 public class BeFrame {
   public enum BackendTag {
     AUTHENTICATION('R'),
@@ -28,6 +30,14 @@ public class BeFrame {
     ROW_DESCRIPTION('T'),
     TLS_HANDSHAKE('/');
 
+    private static final BackendTag[] BY_BYTE = new BackendTag[128];
+
+    static {
+      for (BackendTag bt : values()) {
+        BY_BYTE[bt.tag] = bt;
+      }
+    }
+
     private char tag;
 
     BackendTag(char tag) {
@@ -40,29 +50,69 @@ public class BeFrame {
      * @return the corresponding BackendTag
      */
     public static BackendTag lookup(byte input) {
-      for (BackendTag bt : values()) {
-        if (input == bt.tag) {
-          return bt;
-        }
+      BackendTag bt = (input >= 0) ? BY_BYTE[input] : null;
+      if (bt == null) {
+        throw new IllegalArgumentException("There is no backend server tag that matches byte " + input);
       }
-      throw new IllegalArgumentException("There is no backend server tag that matches byte " + input);
+      return bt;
     }
   }
 
   private BackendTag tag;
+  private ByteBuffer payloadBuffer;
   private byte[] payload;
 
+  /**
+   * Instantiate with payload copied from the read buffer.
+   *
+   * @param tag tag byte of the frame
+   * @param payload payload
+   */
   public BeFrame(byte tag, byte[] payload) {
     this.tag = BackendTag.lookup(tag);
+    this.payloadBuffer = ByteBuffer.wrap(payload);
     this.payload = payload;
   }
 
+  /**
+   * Instantiate with payload being a view over the read buffer.
+   *
+   * @param tag tag byte of the frame
+   * @param payloadBuffer payload, only valid until the read buffer is next written to
+   */
+  public BeFrame(byte tag, ByteBuffer payloadBuffer) {
+    this.tag = BackendTag.lookup(tag);
+    this.payloadBuffer = payloadBuffer;
+  }
+
   public BackendTag getTag() {
     return tag;
   }
 
-  // TODO make this InputStream from PooledByteBuffer instances (avoids unnecessary copies)
+  /**
+   * Obtains the payload as a view over the read buffer. This avoids copying the payload, however it is only valid
+   * while handling the frame.
+   *
+   * @return payload, positioned at the start of the payload
+   */
+  public ByteBuffer getPayloadBuffer() {
+    return payloadBuffer;
+  }
+
+  public int getPayloadLength() {
+    return payloadBuffer.limit();
+  }
+
+  /**
+   * Obtains a copy of the payload that may be retained after handling the frame.
+   *
+   * @return the payload bytes
+   */
   public byte[] getPayload() {
+    if (payload == null) {
+      payload = new byte[payloadBuffer.limit()];
+      payloadBuffer.duplicate().position(0).get(payload);
+    }
     return payload;
   }
 }
@@ -1,32 +1,46 @@
 package org.postgresql.adba.communication;
 
 import java.nio.ByteBuffer;
-import org.postgresql.adba.util.BinaryHelper;
 
 /**
  * Reads bytes from the stream from the server and produces packages on a stack.
+ *
+ * <p>Frames fully contained in the read buffer are returned as a slice over the read buffer (no copy). Only frames
+ * spanning multiple reads are assembled into their own array. As a slice, the payload of the returned
+ * {@link BeFrame} is only valid until the read buffer is next written to.
+ *
+ * <p>The slice avoids copying the control messages. A DataRow is still copied once into its own array (see
+ * {@link BeFrame#getPayload()}), as rows may be retained by the collector or published to another thread, so outlive
+ * the read buffer. A frame assembled from multiple reads is not copied again.
  */
 public class BeFrameParser {
-  private enum States {
-    NEVER_USED, BETWEEN, READ_TAG, READ_LEN1, READ_LEN2, READ_LEN3, READ_LEN4
-  }
 
-  private States state = States.NEVER_USED;
+  /**
+   * Size of the frame header (tag and length).
+   */
+  private static final int HEADER_LENGTH = 5;
+
+  private boolean isNeverUsed = true;
+
+  /**
+   * Header bytes of a frame spanning reads.
+   */
+  private final byte[] header = new byte[HEADER_LENGTH];
+
+  /**
+   * Number of header bytes of a frame spanning reads.
+   */
+  private int headerRead = 0;
+
+  /**
+   * Payload of a frame spanning reads. <code>null</code> if not assembling a payload.
+   */
+  private byte[] payload = null;
 
-  private byte tag;
-  private byte len1;
-  private byte len2;
-  private byte len3;
-  private byte len4;
-  private int payloadLength;
   private int payloadRead;
 
-  // TODO wrap ByteBuffer instances in InputStream for the payload (save copy to
-  // unnecessary array)
-  private byte[] payload;
-  
   private int consumedBytes = 0;
-  
+
   public int getConsumedBytes() {
     return this.consumedBytes;
   }
@@ -42,63 +56,98 @@ public class BeFrameParser {
    */
   public BeFrame parseBeFrame(ByteBuffer readBuffer, int position, int bytesRead) {
     this.consumedBytes = 0;
-    for (int i = position; i < bytesRead; i++) {
-      this.consumedBytes++;
-      switch (state) {
-        case NEVER_USED:
-          if (readBuffer.get(i) == 'S' || readBuffer.get(i) == 'N') {
-            state = States.BETWEEN;
-            return new BeFrame((byte)'/', new byte[] {readBuffer.get(i)});
-          }
-          tag = readBuffer.get(i);
-          state = States.READ_TAG;
-          break;
-        case BETWEEN:
-          tag = readBuffer.get(i);
-          state = States.READ_TAG;
-          break;
-        case READ_TAG:
-          len1 = readBuffer.get(i);
-          state = States.READ_LEN1;
-          break;
-        case READ_LEN1:
-          len2 = readBuffer.get(i);
-          state = States.READ_LEN2;
-          break;
-        case READ_LEN2:
-          len3 = readBuffer.get(i);
-          state = States.READ_LEN3;
-          break;
-        case READ_LEN3:
-          len4 = readBuffer.get(i);
-
-          payloadLength = BinaryHelper.readInt(len1, len2, len3, len4);
-          payload = new byte[payloadLength - 4];
-          payloadRead = 0;
-          if (payloadLength - 4 == 0) { // no payload sent, so we short cut this here
-            state = States.BETWEEN;
-            return new BeFrame(tag, payload);
-          } else {
-            state = States.READ_LEN4;
-          }
-          break;
-        case READ_LEN4:
-          payload[payloadRead] = readBuffer.get(i);
-          payloadRead++;
-          if (payloadRead == payloadLength - 4) {
-            state = States.BETWEEN;
-
-            // Have data to process
-            return new BeFrame(tag, payload);
-          }
-          break;
-        default:
-          throw new IllegalStateException("not all BeFrameParser.States implemented in switch");
+    if (position >= bytesRead) {
+      return null;
+    }
+
+    // Handle SSL response
+    if (isNeverUsed) {
+      isNeverUsed = false;
+      byte first = readBuffer.get(position);
+      if (first == 'S' || first == 'N') {
+        this.consumedBytes = 1;
+        return new BeFrame((byte) '/', new byte[] {first});
+      }
+    }
+
+    // Continue frame spanning reads
+    if (headerRead > 0 || payload != null) {
+      return continueSpanningFrame(readBuffer, position, bytesRead);
+    }
+
+    // Determine if entire frame is available
+    int available = bytesRead - position;
+    if (available >= HEADER_LENGTH) {
+      byte tag = readBuffer.get(position);
+      int payloadLength = readBuffer.getInt(position + 1) - 4;
+      int frameLength = HEADER_LENGTH + payloadLength;
+      if (available >= frameLength) {
+        this.consumedBytes = frameLength;
+        return new BeFrame(tag, slice(readBuffer, position + HEADER_LENGTH, payloadLength));
       }
     }
 
-    // As here, buffer underflow
-    return null;
+    // Frame spans reads
+    return continueSpanningFrame(readBuffer, position, bytesRead);
+  }
+
+  /**
+   * Copies the frame spanning reads.
+   *
+   * @param readBuffer the buffer that contains the packets
+   * @param position position to start to read at
+   * @param bytesRead number of bytes that's available for reading
+   * @return a BeFrame if the frame is complete, otherwise <code>null</code>
+   */
+  private BeFrame continueSpanningFrame(ByteBuffer readBuffer, int position, int bytesRead) {
+    int index = position;
+
+    // Complete the header
+    while (headerRead < HEADER_LENGTH && index < bytesRead) {
+      header[headerRead++] = readBuffer.get(index++);
+    }
+    if (headerRead < HEADER_LENGTH) {
+      this.consumedBytes = index - position;
+      return null;
+    }
+    if (payload == null) {
+      int payloadLength = ((header[1] & 0xff) << 24) | ((header[2] & 0xff) << 16) | ((header[3] & 0xff) << 8)
+          | (header[4] & 0xff);
+      payload = new byte[payloadLength - 4];
+      payloadRead = 0;
+    }
+
+    // Copy the available payload
+    int copyLength = Math.min(payload.length - payloadRead, bytesRead - index);
+    ByteBuffer source = readBuffer.duplicate();
+    source.limit(index + copyLength).position(index);
+    source.get(payload, payloadRead, copyLength);
+    payloadRead += copyLength;
+    index += copyLength;
+    this.consumedBytes = index - position;
+    if (payloadRead < payload.length) {
+      return null;
+    }
+
+    // Frame complete
+    BeFrame frame = new BeFrame(header[0], payload);
+    headerRead = 0;
+    payload = null;
+    return frame;
+  }
+
+  /**
+   * Creates a slice of the read buffer.
+   *
+   * @param readBuffer the buffer that contains the packets
+   * @param start start of the slice
+   * @param length length of the slice
+   * @return slice of the read buffer
+   */
+  private static ByteBuffer slice(ByteBuffer readBuffer, int start, int length) {
+    ByteBuffer view = readBuffer.duplicate();
+    view.limit(start + length).position(start);
+    return view.slice();
   }
 
 }
@@ -2,6 +2,9 @@ package org.postgresql.adba.communication;
 
 public enum FrontendTag {
   BIND('B'),
+  COPY_DATA('d'),
+  COPY_DONE('c'),
+  COPY_FAIL('f'),
   DESCRIBE('D'),
   EXECUTE('E'),
   PARSE('P'),
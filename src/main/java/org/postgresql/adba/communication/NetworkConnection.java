@@ -1,6 +1,9 @@
 package org.postgresql.adba.communication;
 
 import static java.net.StandardSocketOptions.SO_KEEPALIVE;
+import static java.net.StandardSocketOptions.SO_RCVBUF;
+import static java.net.StandardSocketOptions.SO_SNDBUF;
+import static java.net.StandardSocketOptions.TCP_NODELAY;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -9,7 +12,13 @@ import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.net.ssl.SSLContext;
@@ -20,8 +29,13 @@ import org.postgresql.adba.buffer.ByteBufferPool;
 import org.postgresql.adba.buffer.ByteBufferPoolOutputStream;
 import org.postgresql.adba.buffer.PooledByteBuffer;
 import org.postgresql.adba.communication.BeFrame.BackendTag;
+import jdk.incubator.sql2.SqlException;
+import org.postgresql.adba.communication.network.AbstractPortalResponse;
 import org.postgresql.adba.communication.network.CloseResponse;
-import org.postgresql.adba.communication.network.ExecuteResponse;
+import org.postgresql.adba.communication.network.ParseRequest;
+import org.postgresql.adba.communication.network.Portal;
+import org.postgresql.adba.communication.network.ReadyForQueryResponse;
+import org.postgresql.adba.communication.network.SyncRequest;
 import org.postgresql.adba.communication.packets.ErrorPacket;
 import org.postgresql.adba.execution.NioLoop;
 import org.postgresql.adba.execution.NioService;
@@ -34,12 +48,24 @@ import org.postgresql.adba.util.tlschannel.TlsChannel;
 
 public class NetworkConnection implements NioService, NetworkConnectContext, NetworkWriteContext, NetworkReadContext {
 
+  /**
+   * Minimum size of the read buffer.
+   */
+  private static final int MINIMUM_READ_SIZE = 8192;
+
+  /**
+   * Maximum size of the read buffer.
+   */
+  private static final int MAXIMUM_READ_SIZE = 256 * 1024;
+
   private final PropertyHolder properties;
 
   private final PgSession connection;
 
   private final NioLoop loop;
 
+  private final ByteBufferPool bufferPool;
+
   private final ByteBufferPoolOutputStream outputStream;
 
   private final Queue<NetworkRequest> priorityRequestQueue = new LinkedList<>();
@@ -50,6 +76,8 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
 
   private final BeFrameParser parser = new BeFrameParser();
 
+  private final ReadBufferSizer readBufferSizer = new ReadBufferSizer(MINIMUM_READ_SIZE, MAXIMUM_READ_SIZE);
+
   private final PreparedStatementCache preparedStatementCache = new PreparedStatementCache();
 
   private NetworkConnect connect = null;
@@ -60,6 +88,74 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
 
   private NioServiceContext context = null;
 
+  /**
+   * Indicates if TCP_NODELAY is enabled.
+   */
+  private boolean isTcpNoDelay = false;
+
+  /**
+   * Depth of the request queue at which to cork the connection. <code>0</code> to never cork.
+   */
+  private int corkQueueDepth = 0;
+
+  /**
+   * Indicates if the connection is corked (TCP_NODELAY temporarily disabled).
+   */
+  private boolean isCorked = false;
+
+  /**
+   * Maximum number of operations pipelined under a single Sync.
+   */
+  private int pipelineDepth = 1;
+
+  /**
+   * Number of operations pipelined since the last Sync.
+   */
+  private int pipelinedCount = 0;
+
+  /**
+   * {@link SyncRequest} deferred until the end of the pipeline. <code>null</code> if no deferred Sync.
+   */
+  private SyncRequest deferredSync = null;
+
+  /**
+   * Completions of {@link Portal} instances deferred until the ReadyForQuery of their Sync.
+   */
+  private final List<DeferredCompletion> syncCompletions = new ArrayList<>();
+
+  /**
+   * {@link ErrorPacket} of the failure before the Sync. <code>null</code> if no failure.
+   */
+  private ErrorPacket syncError = null;
+
+  /**
+   * {@link Portal} of the operation failing before the Sync. <code>null</code> if the failure is not of an operation.
+   */
+  private Portal syncFailedPortal = null;
+
+  /**
+   * {@link Portal} of the last operation failed by an error before its Sync was written (the Sync is pending behind a
+   * suspended {@link NetworkRequest} chain, or deferred). As the server discards the messages until the Sync, the
+   * suspended chain is aborted to write only the Sync. <code>null</code> if no failure awaiting its Sync to be written.
+   */
+  private Portal unsyncedFailure = null;
+
+  /**
+   * Maximum number of bytes buffered by a flush before it is suspended.
+   */
+  private int maximumInFlightBytes = Integer.MAX_VALUE;
+
+  /**
+   * Indicates if the last flush stopped at the maximum in flight bytes, so no further requests are flushed until the
+   * buffered bytes are written.
+   */
+  private boolean isInFlightLimited = false;
+
+  /**
+   * {@link NetworkRequest} suspended until the buffered bytes are written. <code>null</code> if not suspended.
+   */
+  private NetworkRequest suspendedRequest = null;
+
   /**
    * Possible blocking {@link NetworkResponse}.
    */
@@ -88,6 +184,7 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     this.properties = properties;
     this.connection = connection;
     this.loop = loop;
+    this.bufferPool = bufferPool;
     outputStream = new ByteBufferPoolOutputStream(bufferPool);
   }
 
@@ -113,9 +210,9 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
       // Register the connection
       socketChannel = SocketChannel.open();
       socketChannel.configureBlocking(false);
-      if ((boolean) properties.get(PgSessionProperty.TCP_KEEP_ALIVE)) {
-        socketChannel.setOption(SO_KEEPALIVE, true);
-      }
+      configureSocket();
+      pipelineDepth = Math.max(1, (int) properties.get(PgSessionProperty.PIPELINE_DEPTH));
+      maximumInFlightBytes = (int) properties.get(PgSessionProperty.MAXIMUM_IN_FLIGHT_BYTES);
       loop.registerNioService(socketChannel, (context) -> {
         this.context = context;
         return this;
@@ -129,6 +226,28 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     }
   }
 
+  /**
+   * Configures the {@link SocketChannel} from the properties.
+   * 
+   * @throws IOException If fails to configure the {@link SocketChannel}.
+   */
+  private void configureSocket() throws IOException {
+    if ((boolean) properties.get(PgSessionProperty.TCP_KEEP_ALIVE)) {
+      socketChannel.setOption(SO_KEEPALIVE, true);
+    }
+    isTcpNoDelay = (boolean) properties.get(PgSessionProperty.TCP_NODELAY);
+    socketChannel.setOption(TCP_NODELAY, isTcpNoDelay);
+    int sendBufferSize = (int) properties.get(PgSessionProperty.SEND_BUFFER_SIZE);
+    if (sendBufferSize > 0) {
+      socketChannel.setOption(SO_SNDBUF, sendBufferSize);
+    }
+    int receiveBufferSize = (int) properties.get(PgSessionProperty.RECV_BUFFER_SIZE);
+    if (receiveBufferSize > 0) {
+      socketChannel.setOption(SO_RCVBUF, receiveBufferSize);
+    }
+    corkQueueDepth = isTcpNoDelay ? (int) properties.get(PgSessionProperty.CORK_QUEUE_DEPTH) : 0;
+  }
+
   /**
    * Sends the {@link NetworkRequest}.
    * 
@@ -189,18 +308,41 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
    * instances.
    * 
    * @param requests {@link Queue} of {@link NetworkRequest} instances.
-   * @return <code>true</code> if to block.
+   * @return <code>true</code> if to block (or suspended).
    * @throws Exception If fails to flush {@link NetworkRequest} instances.
    */
   private boolean flushRequests(Queue<NetworkRequest> requests) throws Exception {
 
-    // Flush out the request
-    NetworkRequest request;
-    while ((request = requests.poll()) != null) {
+    // Bound the bytes buffered by this flush
+    long inFlightLimit = outputStream.getWrittenBytes() + maximumInFlightBytes;
+    isInFlightLimited = false;
+
+    // Write only the Sync after an error before the Sync (as the server discards the messages until the Sync)
+    if (unsyncedFailure != null) {
+      abortToSync();
+    }
+
+    // Flush out the request (continuing any suspended request first)
+    NetworkRequest request = suspendedRequest;
+    suspendedRequest = null;
+    if (request == null) {
+      request = pollRequest(requests);
+    }
+    while (request != null) {
 
       // Flush the request
       NetworkRequest nextRequest;
       do {
+
+        // Determine if pipeline the following operation before the Sync
+        if (request instanceof SyncRequest) {
+          if (isDeferSync(requests)) {
+            deferredSync = (SyncRequest) request;
+            break;
+          }
+          pipelinedCount = 0;
+        }
+
         nextRequest = request.write(this);
 
         // Determine if requires response
@@ -215,19 +357,197 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
           return true; // can not send further requests
         }
 
+        // Suspend until buffered bytes written (or awaiting data)
+        if ((nextRequest != null) && (!nextRequest.isReady() || (outputStream.getWrittenBytes() >= inFlightLimit))) {
+          suspendedRequest = nextRequest;
+          return true;
+        }
+
         // Loop until all next requests flushed
         request = nextRequest;
       } while (request != null);
+
+      // Next request (unless to stop until the buffered bytes are written)
+      if (outputStream.getWrittenBytes() >= inFlightLimit) {
+        isInFlightLimited = true;
+        break;
+      }
+      request = pollRequest(requests);
+    }
+
+    // As here, flushed with no blocking (so end of pipeline)
+    writeDeferredSync();
+    return isInFlightLimited;
+  }
+
+  /**
+   * Polls the next {@link NetworkRequest}, writing the deferred {@link SyncRequest} if the request can not join the
+   * pipeline.
+   *
+   * @param requests {@link Queue} of {@link NetworkRequest} instances.
+   * @return Next {@link NetworkRequest}. <code>null</code> if no further {@link NetworkRequest}.
+   * @throws Exception If fails to write the deferred {@link SyncRequest}.
+   */
+  private NetworkRequest pollRequest(Queue<NetworkRequest> requests) throws Exception {
+    NetworkRequest request = requests.poll();
+    if ((request != null) && !(request instanceof ParseRequest)) {
+      writeDeferredSync();
+    }
+    return request;
+  }
+
+  /**
+   * Determines if to defer the {@link SyncRequest}, so that the next queued operation is pipelined before it.
+   *
+   * @param requests {@link Queue} of {@link NetworkRequest} instances.
+   * @return <code>true</code> to defer the {@link SyncRequest}.
+   */
+  private boolean isDeferSync(Queue<NetworkRequest> requests) {
+    if ((pipelinedCount + 1 >= pipelineDepth) || !(requests.peek() instanceof ParseRequest)) {
+      return false;
+    }
+    pipelinedCount++;
+    return true;
+  }
+
+  /**
+   * Writes the deferred {@link SyncRequest} (if any).
+   *
+   * @throws Exception If fails to write the {@link SyncRequest}.
+   */
+  private void writeDeferredSync() throws Exception {
+    if (deferredSync == null) {
+      return;
+    }
+    SyncRequest sync = deferredSync;
+    deferredSync = null;
+    pipelinedCount = 0;
+    sync.write(this);
+    awaitingResponses.add(sync.getRequiredResponse());
+  }
+
+  /**
+   * Aborts the suspended {@link NetworkRequest} chain after an error, writing only the pending or deferred Sync. The
+   * server discards the remaining messages of the chain, so they are not written and no responses are awaited for
+   * them. Should the chain be of an operation pipelined after the failed operation, it is failed as not executed.
+   *
+   * @throws Exception If fails to write the {@link SyncRequest}.
+   */
+  private void abortToSync() throws Exception {
+    Portal failed = unsyncedFailure;
+    unsyncedFailure = null;
+    Portal portal = (suspendedRequest != null) ? suspendedRequest.getPortal() : null;
+    if (portal != null) {
+      suspendedRequest = null;
+      if (!portal.isSameSubmission(failed)) {
+        portal.handleException(new SqlException("Not executed, as earlier pipelined operation failed: "
+            + syncError.getMessage(), syncError, null, 0, null, 0));
+      }
+      if (deferredSync == null) {
+        deferredSync = new SyncRequest(portal);
+      }
+    }
+    writeDeferredSync();
+  }
+
+  /**
+   * Skips the {@link NetworkResponse} instances the server will not send, as it discards messages after an error
+   * until the Sync. Operations pipelined after the failed {@link Portal} are failed as not executed.
+   *
+   * <p>Should no ReadyForQuery be awaited, the Sync is not yet written. It is either pending at the end of the
+   * suspended {@link NetworkRequest} chain, or deferred for further pipelined operations. The next flush then writes
+   * only the Sync (see {@link #abortToSync()}), so that the server's ReadyForQuery is matched to its Sync.
+   *
+   * @param failed      {@link Portal} of the failed operation.
+   * @param errorPacket {@link ErrorPacket}.
+   * @return <code>true</code> if the Sync is still to be written.
+   */
+  private boolean skipToSync(Portal failed, ErrorPacket errorPacket) {
+    Portal skipped = failed;
+    NetworkResponse response;
+    while (((response = awaitingResponses.peek()) != null) && !(response instanceof ReadyForQueryResponse)) {
+      awaitingResponses.poll();
+      if (response instanceof AbstractPortalResponse) {
+        AbstractPortalResponse portalResponse = (AbstractPortalResponse) response;
+        portalResponse.handleSkipped();
+        Portal portal = portalResponse.getPortal();
+        if (!portal.isSameSubmission(skipped)) {
+          skipped = portal;
+          portal.handleException(new SqlException("Not executed, as earlier pipelined operation failed: "
+              + errorPacket.getMessage(), errorPacket, null, 0, null, 0));
+        }
+      }
     }
 
-    // As here, all flushed with no blocking
+    // Sync pending or deferred
+    if (response == null) {
+      unsyncedFailure = skipped;
+      return true;
+    }
     return false;
   }
 
   /**
-   * Possible previous incomplete {@link PooledByteBuffer} not completely written.
+   * Completes the {@link Portal} instances deferred until the Sync. Should an operation have failed outside an
+   * explicit transaction, the server rolled back the implicit transaction of the Sync, so the operations that
+   * completed before the failure are instead failed. Should the failure have been before the Sync was written (pending
+   * or deferred), the ReadyForQuery is of the Sync written once the suspended chain is aborted (see
+   * {@link #abortToSync()}), so the completions are still those of the failing Sync.
+   *
+   * @param transactionStatus Transaction status of the ReadyForQuery.
    */
-  private PooledByteBuffer incompleteWriteBuffer = null;
+  private void completeSync(byte transactionStatus) {
+    ErrorPacket error = syncError;
+    Portal failed = syncFailedPortal;
+    syncError = null;
+    syncFailedPortal = null;
+    if (syncCompletions.isEmpty()) {
+      return;
+    }
+    DeferredCompletion[] completions = syncCompletions.toArray(new DeferredCompletion[syncCompletions.size()]);
+    syncCompletions.clear();
+
+    // Idle after a failure, so the implicit transaction was rolled back
+    boolean isRolledBack = (error != null) && (transactionStatus == 'I');
+    Portal previous = failed;
+    for (DeferredCompletion deferred : completions) {
+      if ((failed != null) && deferred.portal.isSameSubmission(failed)) {
+        continue; // already failed
+      }
+      if (!isRolledBack) {
+        deferred.completion.run();
+      } else if ((previous == null) || !deferred.portal.isSameSubmission(previous)) {
+        previous = deferred.portal;
+        deferred.portal.handleException(new SqlException("Rolled back, as later pipelined operation failed: "
+            + error.getMessage(), error, null, 0, null, 0));
+      }
+    }
+  }
+
+  /**
+   * Completion of a {@link Portal} deferred until the Sync.
+   */
+  private static class DeferredCompletion {
+
+    private final Portal portal;
+
+    private final Runnable completion;
+
+    private DeferredCompletion(Portal portal, Runnable completion) {
+      this.portal = portal;
+      this.completion = completion;
+    }
+  }
+
+  /**
+   * {@link PooledByteBuffer} instances flushed but not yet completely written to the network.
+   */
+  private final Deque<PooledByteBuffer> pendingWriteBuffers = new ArrayDeque<>();
+
+  /**
+   * Re-usable array for gathering writes of the pending {@link PooledByteBuffer} instances.
+   */
+  private ByteBuffer[] gatheringWriteBuffers = new ByteBuffer[16];
 
   /**
    * Handles writing the {@link NetworkRequest} instances.
@@ -237,8 +557,15 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
    */
   private void handleWrite(Queue<NetworkRequest> requests) throws Exception {
 
-    // Only flush further requests if no blocking response
-    if (blockingResponse == null) {
+    // Cork to coalesce many queued requests into full packets
+    if (corkQueueDepth > 0 && !isCorked && hasDepth(requests, corkQueueDepth)) {
+      socketChannel.setOption(TCP_NODELAY, false);
+      isCorked = true;
+    }
+
+    // Only flush further requests if no blocking response (and once suspended or limited, the bytes are written)
+    if ((blockingResponse == null) && ((suspendedRequest == null) ? (!isInFlightLimited || pendingWriteBuffers.isEmpty())
+        : (pendingWriteBuffers.isEmpty() && suspendedRequest.isReady()))) {
 
       // Flush out the requests (doing priority queue first)
       if (!flushRequests(priorityRequestQueue)) {
@@ -246,72 +573,131 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
       }
     }
 
-    // Write the previous incomplete write buffer
-    if (incompleteWriteBuffer != null) {
+    // Include newly written buffers (flipped ready for writing)
+    int drained = outputStream.drainWrittenBuffers(pendingWriteBuffers);
+    if (drained > 0) {
+      Iterator<PooledByteBuffer> iterator = pendingWriteBuffers.descendingIterator();
+      for (int i = 0; i < drained; i++) {
+        iterator.next().getByteBuffer().flip();
+      }
+    }
+    if (pendingWriteBuffers.isEmpty()) {
+      checkIfCloseAndPerformClose();
+      if (isAwaitingData()) {
+        awaitData();
+      } else if (requests.isEmpty() && (suspendedRequest == null)) {
+        uncork();
+        context.setInterestedOps(SelectionKey.OP_READ);
+      }
+      return;
+    }
+
+    // Gather all pending buffers into the one write
+    int count = pendingWriteBuffers.size();
+    if (gatheringWriteBuffers.length < count) {
+      gatheringWriteBuffers = new ByteBuffer[Math.max(count, gatheringWriteBuffers.length << 1)];
+    }
+    int index = 0;
+    for (PooledByteBuffer pooledBuffer : pendingWriteBuffers) {
+      gatheringWriteBuffers[index++] = pooledBuffer.getByteBuffer();
+    }
+
+    // Write the buffers
+    try {
       if (tlsChannel == null) {
-        socketChannel.write(incompleteWriteBuffer.getByteBuffer());
+        socketChannel.write(gatheringWriteBuffers, 0, count);
       } else {
         try {
-          tlsChannel.write(incompleteWriteBuffer.getByteBuffer());
+          tlsChannel.write(gatheringWriteBuffers, 0, count);
         } catch (NeedsReadException e) {
           context.setInterestedOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
         } catch (NeedsWriteException e) {
           isWriteRequired = true;
         }
       }
-      if (incompleteWriteBuffer.getByteBuffer().hasRemaining()) {
-        // Further writes required
-        context.setInterestedOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
-        return;
-      }
-      incompleteWriteBuffer.release();
-      incompleteWriteBuffer = null;
-    }
-
-    // Write data to network
-    PooledByteBuffer pooledBuffer = outputStream.getNextWrittenBuffer();
-    if (pooledBuffer == null) {
-      checkIfCloseAndPerformClose();
-      if (requests.size() == 0) {
-        context.setInterestedOps(SelectionKey.OP_READ);
-      }
-      return;
+    } finally {
+      Arrays.fill(gatheringWriteBuffers, 0, count, null);
     }
-    ByteBuffer byteBuffer = pooledBuffer.getByteBuffer();
 
-    // Write the buffer
-    byteBuffer.flip();
-    if (tlsChannel == null) {
-      socketChannel.write(byteBuffer);
-    } else {
-      try {
-        tlsChannel.write(byteBuffer);
-      } catch (NeedsReadException e) {
-        context.setInterestedOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
-      } catch (NeedsWriteException e) {
-        isWriteRequired = true;
-      }
+    // Release the completely written buffers
+    PooledByteBuffer writtenBuffer;
+    while (((writtenBuffer = pendingWriteBuffers.peek()) != null) && !writtenBuffer.getByteBuffer().hasRemaining()) {
+      pendingWriteBuffers.poll().release();
     }
-    if (byteBuffer.hasRemaining()) {
-      // Socket buffer full (clear written buffers)
-      incompleteWriteBuffer = pooledBuffer;
+    if (!pendingWriteBuffers.isEmpty()) {
+      // Socket buffer full (continue on next write)
       context.setInterestedOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
       return;
     }
 
-    // Buffer written so release
-    pooledBuffer.release();
-
     // As here all data written
-    if (outputStream.hasMoreToWrite() || requests.size() != 0) {
+    if (isAwaitingData()) {
+      awaitData();
+    } else if (outputStream.hasMoreToWrite() || !requests.isEmpty() || (suspendedRequest != null)) {
       context.setInterestedOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
     } else if (outputStream.isClosed()) {
       checkIfCloseAndPerformClose();
     } else {
+      uncork();
       context.setInterestedOps(SelectionKey.OP_READ);
     }
   }
 
+  /**
+   * Determines if the suspended {@link NetworkRequest} is awaiting data.
+   * 
+   * @return <code>true</code> if awaiting data.
+   */
+  private boolean isAwaitingData() {
+    return (blockingResponse == null) && (suspendedRequest != null) && !suspendedRequest.isReady();
+  }
+
+  /**
+   * Stops writing until the suspended {@link NetworkRequest} is notified of data.
+   * 
+   * @throws IOException If fails to change interest.
+   */
+  private void awaitData() throws IOException {
+    uncork();
+    context.setInterestedOps(SelectionKey.OP_READ);
+
+    // Data may have arrived before no longer interested in writing
+    if (suspendedRequest.isReady()) {
+      context.setInterestedOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+  }
+
+  /**
+   * Determines if the {@link Queue} has at least the depth (without counting the
+   * entire {@link Queue}).
+   * 
+   * @param requests {@link Queue} of {@link NetworkRequest} instances.
+   * @param depth    Depth.
+   * @return <code>true</code> if at least the depth.
+   */
+  private static boolean hasDepth(Queue<NetworkRequest> requests, int depth) {
+    Iterator<NetworkRequest> iterator = requests.iterator();
+    for (int i = 0; i < depth; i++) {
+      if (!iterator.hasNext()) {
+        return false;
+      }
+      iterator.next();
+    }
+    return true;
+  }
+
+  /**
+   * Uncorks the connection, so that any remaining data is sent immediately.
+   * 
+   * @throws IOException If fails to uncork.
+   */
+  private void uncork() throws IOException {
+    if (isCorked && socketChannel.isOpen()) {
+      socketChannel.setOption(TCP_NODELAY, true);
+      isCorked = false;
+    }
+  }
+
   private void checkIfCloseAndPerformClose() throws IOException {
     if (outputStream.isClosed() && awaitingResponses.size() == 1) {
       if (tlsChannel != null) {
@@ -338,6 +724,11 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
    */
   private boolean isWriteRequired = false;
 
+  /**
+   * Indicates if reading from the network is paused.
+   */
+  private volatile boolean isReadPaused = false;
+
   /**
    * Immediate {@link NetworkResponse}.
    */
@@ -361,8 +752,11 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
 
   @Override
   public void handleRead() throws IOException {
-    // TODO use pooled byte buffers
-    ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+
+    // Only hold the read buffer for the read (keeps idle connections cheap)
+    PooledByteBuffer pooledReadBuffer = bufferPool.getPooledByteBuffer(readBufferSizer.getReadSize());
+    ByteBuffer readBuffer = pooledReadBuffer.getByteBuffer();
+    readBuffer.clear();
 
     // Reset for reads
     int bytesRead = -1;
@@ -370,10 +764,11 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     try {
 
       // Consume data on the socket
-      while (tlsChannel == null ? (bytesRead = socketChannel.read(readBuffer)) > 0
-          : (bytesRead = tlsChannel.read(readBuffer)) > 0) {
+      while (!isReadPaused && (tlsChannel == null ? (bytesRead = socketChannel.read(readBuffer)) > 0
+          : (bytesRead = tlsChannel.read(readBuffer)) > 0)) {
 
         // Setup for consuming parts
+        readBufferSizer.recordRead(bytesRead, readBuffer.capacity());
         readBuffer.flip();
         int position = 0;
 
@@ -381,6 +776,7 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
         BeFrame frame;
         while ((frame = parser.parseBeFrame(readBuffer, position, bytesRead)) != null) {
           position += parser.getConsumedBytes();
+          readBufferSizer.recordFrame(frame.getPayloadLength() + 5);
 
           // Obtain the awaiting response
           NetworkResponse awaitingResponse = getAwaitingResponse();
@@ -394,17 +790,20 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
           // Handle frame
           if (frame.getTag() == BackendTag.ERROR_RESPONSE) { // Handle error
             ErrorPacket errorPacket = new ErrorPacket(frame.getPayload());
+            syncError = errorPacket;
             immediateResponse = awaitingResponse.handleException(errorPacket);
-            boolean haveConsumedExecuteResponse = false;
-            while (awaitingResponses.peek() != null && !haveConsumedExecuteResponse) {
-              if (awaitingResponses.peek() instanceof ExecuteResponse) {
-                haveConsumedExecuteResponse = true;
+            if (awaitingResponse instanceof AbstractPortalResponse) {
+              syncFailedPortal = ((AbstractPortalResponse) awaitingResponse).getPortal();
+              if (skipToSync(syncFailedPortal, errorPacket)) {
+                isWriteRequired = true; // write the Sync
               }
-              awaitingResponses.poll().handleException(errorPacket);
             }
           } else { // Provide frame to awaiting response
             beFrame = frame;
             immediateResponse = awaitingResponse.read(this);
+            if (frame.getTag() == BackendTag.READY_FOR_QUERY) {
+              completeSync(frame.getPayloadBuffer().get(0));
+            }
           }
 
           // Remove if blocking writing
@@ -418,6 +817,15 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
 
         // Clear buffer for re-use
         readBuffer.clear();
+
+        // Swap to larger buffer if read size has grown (obtain before release, so a failure leaves one owner)
+        if (readBufferSizer.getReadSize() > readBuffer.capacity()) {
+          PooledByteBuffer largerReadBuffer = bufferPool.getPooledByteBuffer(readBufferSizer.getReadSize());
+          pooledReadBuffer.release();
+          pooledReadBuffer = largerReadBuffer;
+          readBuffer = pooledReadBuffer.getByteBuffer();
+          readBuffer.clear();
+        }
       }
     } catch (NeedsReadException e) {
       context.setInterestedOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
@@ -427,11 +835,12 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
       e.printStackTrace();
       throw e;
     } finally {
+      pooledReadBuffer.release();
       if (isWriteRequired) {
         context.writeRequired();
       }
     }
-    if (tlsChannel == null && bytesRead < 0) {
+    if ((tlsChannel == null) && (bytesRead < 0) && !isReadPaused) {
       throw new ClosedChannelException();
     }
 
@@ -506,6 +915,19 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     return beFrame;
   }
 
+  @Override
+  public void completeAtSync(Portal portal, Runnable completion) {
+    syncCompletions.add(new DeferredCompletion(portal, completion));
+  }
+
+  @Override
+  public void completeDeferred() {
+    for (DeferredCompletion deferred : syncCompletions) {
+      deferred.completion.run();
+    }
+    syncCompletions.clear();
+  }
+
   @Override
   public void write(NetworkRequest request) {
     priorityRequestQueue.add(request);
@@ -517,6 +939,18 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     isWriteRequired = true;
   }
 
+  @Override
+  public void pauseRead() {
+    isReadPaused = true;
+    context.pauseRead();
+  }
+
+  @Override
+  public void resumeRead() {
+    isReadPaused = false;
+    context.resumeRead();
+  }
+
   /*
    * ============ NetworkRequestWriteContext ==========================
    */
@@ -531,6 +965,11 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     return preparedStatementCache;
   }
 
+  @Override
+  public Runnable getWriteNotifier() {
+    return () -> context.writeRequired();
+  }
+
   @Override
   public void setProperty(PgSessionDbProperty property, Object value) {
     properties.sessionDbProperty(property, value);
@@ -2,6 +2,7 @@ package org.postgresql.adba.communication;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 /**
  * {@link OutputStream} to the {@link NetworkConnection}.
@@ -22,8 +23,42 @@ public abstract class NetworkOutputStream extends OutputStream {
    * 
    * @param text Text.
    * @throws IOException If fails to write the text.
+   * @see #writeCString(CharSequence)
    */
-  public abstract void write(String text) throws IOException;
+  public void write(String text) throws IOException {
+    this.writeCString(text);
+  }
+
+  /**
+   * Writes the text as a null terminated UTF-8 string.
+   * 
+   * @param text Text.
+   * @throws IOException If fails to write the text.
+   */
+  public void writeCString(CharSequence text) throws IOException {
+    this.writeUtf8(text);
+    this.writeTerminator();
+  }
+
+  /**
+   * Writes the remaining bytes of the {@link ByteBuffer}, moving its position to its limit.
+   * 
+   * @param byteBuffer {@link ByteBuffer}.
+   * @throws IOException If fails to write the bytes.
+   */
+  public void write(ByteBuffer byteBuffer) throws IOException {
+    if (byteBuffer.hasArray()) {
+      this.write(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+      byteBuffer.position(byteBuffer.limit());
+    } else {
+      byte[] chunk = new byte[Math.min(byteBuffer.remaining(), 8192)];
+      while (byteBuffer.hasRemaining()) {
+        int length = Math.min(chunk.length, byteBuffer.remaining());
+        byteBuffer.get(chunk, 0, length);
+        this.write(chunk, 0, length);
+      }
+    }
+  }
 
   /**
    * Writes the terminator.
@@ -34,6 +69,106 @@ public abstract class NetworkOutputStream extends OutputStream {
     this.write(0);
   }
 
+  /**
+   * Writes an int16 in network byte order.
+   * 
+   * @param value Value.
+   * @throws IOException If fails to write the value.
+   */
+  public void writeInt16(short value) throws IOException {
+    this.write(value >>> 8);
+    this.write(value);
+  }
+
+  /**
+   * Writes an int32 in network byte order.
+   * 
+   * @param value Value.
+   * @throws IOException If fails to write the value.
+   */
+  public void writeInt32(int value) throws IOException {
+    this.write(value >>> 24);
+    this.write(value >>> 16);
+    this.write(value >>> 8);
+    this.write(value);
+  }
+
+  /**
+   * Writes an int64 in network byte order.
+   * 
+   * @param value Value.
+   * @throws IOException If fails to write the value.
+   */
+  public void writeInt64(long value) throws IOException {
+    this.writeInt32((int) (value >>> 32));
+    this.writeInt32((int) value);
+  }
+
+  /**
+   * Writes the characters as UTF-8 (without terminator).
+   * 
+   * <p>Unpaired surrogates are written as <code>?</code> (as per {@link String#getBytes(java.nio.charset.Charset)}).
+   * 
+   * @param text Text.
+   * @throws IOException If fails to write the text.
+   */
+  public void writeUtf8(CharSequence text) throws IOException {
+    int length = text.length();
+    int index = 0;
+    while (index < length) {
+      index = this.writeUtf8Character(text, index, length);
+    }
+  }
+
+  /**
+   * Writes the character at the index as UTF-8.
+   * 
+   * @param text   Text.
+   * @param index  Index of the character.
+   * @param length Length of the text.
+   * @return Index of the next character (surrogate pairs consume two characters).
+   * @throws IOException If fails to write the character.
+   */
+  protected int writeUtf8Character(CharSequence text, int index, int length) throws IOException {
+    char c = text.charAt(index);
+    if (c < 0x80) {
+      this.write(c);
+    } else if (c < 0x800) {
+      this.write(0xC0 | (c >> 6));
+      this.write(0x80 | (c & 0x3F));
+    } else if (Character.isHighSurrogate(c) && (index + 1 < length) && Character.isLowSurrogate(text.charAt(index + 1))) {
+      int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+      this.write(0xF0 | (codePoint >> 18));
+      this.write(0x80 | ((codePoint >> 12) & 0x3F));
+      this.write(0x80 | ((codePoint >> 6) & 0x3F));
+      this.write(0x80 | (codePoint & 0x3F));
+      return index + 2;
+    } else if (Character.isSurrogate(c)) {
+      this.write('?');
+    } else {
+      this.write(0xE0 | (c >> 12));
+      this.write(0x80 | ((c >> 6) & 0x3F));
+      this.write(0x80 | (c & 0x3F));
+    }
+    return index + 1;
+  }
+
+  /**
+   * Initialises a length prefixed value within the packet.
+   * 
+   * <p>Space is reserved for the int32 length, which is written on {@link #completeValue()}.
+   * 
+   * @throws IOException If fails to initialise the value.
+   */
+  public abstract void initValue() throws IOException;
+
+  /**
+   * Completes the value by writing its length.
+   * 
+   * @throws IOException If fails to complete the value.
+   */
+  public abstract void completeValue() throws IOException;
+
   /**
    * Completes the packet.
    * 
@@ -41,4 +176,11 @@ public abstract class NetworkOutputStream extends OutputStream {
    */
   public abstract void completePacket() throws IOException;
 
+  /**
+   * Obtains the total number of bytes written to this stream.
+   * 
+   * @return Total number of bytes written.
+   */
+  public abstract long getWrittenBytes();
+
 }
\ No newline at end of file
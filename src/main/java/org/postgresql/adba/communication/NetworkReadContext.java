@@ -1,6 +1,7 @@
 package org.postgresql.adba.communication;
 
 import org.postgresql.adba.PgSessionDbProperty;
+import org.postgresql.adba.communication.network.Portal;
 
 /**
  * Context for writing to the network.
@@ -31,6 +32,22 @@ public interface NetworkReadContext extends NetworkContext {
    */
   void setProperty(PgSessionDbProperty property, Object value);
 
+  /**
+   * Defers the completion of the {@link Portal} until the ReadyForQuery of its Sync. Should a later operation under
+   * the same Sync fail outside an explicit transaction, the server rolls back the implicit transaction, so the
+   * {@link Portal} is instead failed.
+   *
+   * @param portal     {@link Portal}.
+   * @param completion Completes the {@link Portal}.
+   */
+  void completeAtSync(Portal portal, Runnable completion);
+
+  /**
+   * Completes the {@link Portal} instances deferred until the Sync, as a transaction command (rather than the Sync)
+   * now decides their outcome.
+   */
+  void completeDeferred();
+
   /**
    * Triggers for a {@link NetworkRequest} to be undertaken.
    * 
@@ -43,4 +60,15 @@ public interface NetworkReadContext extends NetworkContext {
    */
   void writeRequired();
 
+  /**
+   * Pauses reading from the network, so the server is held back by TCP flow
+   * control. Frames already read continue to be handled.
+   */
+  void pauseRead();
+
+  /**
+   * Resumes reading from the network. May be invoked from any thread.
+   */
+  void resumeRead();
+
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package org.postgresql.adba.communication;
 
+import org.postgresql.adba.communication.network.Portal;
+
 /**
  * Action over the network to the PostgreSql database.
  * 
@@ -28,6 +30,18 @@ public interface NetworkRequest {
     return false;
   }
 
+  /**
+   * Indicates if the {@link NetworkRequest} is ready to be written. A
+   * {@link NetworkRequest} awaiting data (such as streaming COPY data) is
+   * suspended until ready, and triggers the write once ready via
+   * {@link NetworkWriteContext#getWriteNotifier()}.
+   * 
+   * @return <code>true</code> if ready to be written.
+   */
+  default boolean isReady() {
+    return true;
+  }
+
   /**
    * Obtains the {@link NetworkResponse} for a required response.
    * 
@@ -38,4 +52,14 @@ public interface NetworkRequest {
     return null;
   }
 
+  /**
+   * Obtains the {@link Portal} of the extended query messages (Parse through to
+   * Sync) this {@link NetworkRequest} writes.
+   * 
+   * @return {@link Portal}. <code>null</code> if not part of an extended query.
+   */
+  default Portal getPortal() {
+    return null;
+  }
+
 }
\ No newline at end of file
@@ -21,4 +21,13 @@ public interface NetworkWriteContext extends NetworkContext {
    */
   PreparedStatementCache getPreparedStatementCache();
 
+  /**
+   * Obtains the {@link Runnable} to trigger a write. May be run from any
+   * thread, such as once data becomes available for a {@link NetworkRequest}
+   * that is not {@link NetworkRequest#isReady()}.
+   * 
+   * @return {@link Runnable} to trigger a write.
+   */
+  Runnable getWriteNotifier();
+
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package org.postgresql.adba.communication;
+
+/**
+ * Determines the size of the read buffer from the reads and {@link BeFrame} sizes recently seen on the connection.
+ *
+ * <p>The size grows quickly (doubling) when a read fills the buffer or a frame is larger than the buffer, and
+ * shrinks slowly (halving) only after a window of reads that all fit comfortably within half the buffer.
+ */
+class ReadBufferSizer {
+
+  /**
+   * Number of reads within the shrink window.
+   */
+  static final int SHRINK_WINDOW = 16;
+
+  /**
+   * Minimum read size.
+   */
+  private final int minimumSize;
+
+  /**
+   * Maximum read size.
+   */
+  private final int maximumSize;
+
+  /**
+   * Current read size.
+   */
+  private int readSize;
+
+  /**
+   * Largest read or {@link BeFrame} within the current shrink window.
+   */
+  private int largestInWindow = 0;
+
+  /**
+   * Number of reads within the current shrink window.
+   */
+  private int readsInWindow = 0;
+
+  /**
+   * Instantiate.
+   *
+   * @param minimumSize Minimum read size.
+   * @param maximumSize Maximum read size.
+   */
+  ReadBufferSizer(int minimumSize, int maximumSize) {
+    this.minimumSize = minimumSize;
+    this.maximumSize = maximumSize;
+    this.readSize = minimumSize;
+  }
+
+  /**
+   * Obtains the size for the next read.
+   *
+   * @return Size for the next read.
+   */
+  int getReadSize() {
+    return readSize;
+  }
+
+  /**
+   * Records the size of a parsed {@link BeFrame} (including its header).
+   *
+   * @param frameSize Size of the {@link BeFrame}.
+   */
+  void recordFrame(int frameSize) {
+    largestInWindow = Math.max(largestInWindow, frameSize);
+    while (readSize < frameSize && readSize < maximumSize) {
+      readSize = Math.min(readSize << 1, maximumSize);
+      resetWindow();
+    }
+  }
+
+  /**
+   * Records a read.
+   *
+   * @param bytesRead Number of bytes read.
+   * @param capacity  Capacity available to the read.
+   */
+  void recordRead(int bytesRead, int capacity) {
+
+    // Filled buffer, so likely more data waiting
+    if (bytesRead >= capacity) {
+      if (readSize < maximumSize) {
+        readSize = Math.min(readSize << 1, maximumSize);
+      }
+      resetWindow();
+      return;
+    }
+
+    // Determine if consistently under using the buffer
+    largestInWindow = Math.max(largestInWindow, bytesRead);
+    readsInWindow++;
+    if (readsInWindow >= SHRINK_WINDOW) {
+      if (largestInWindow <= (readSize >> 1) && readSize > minimumSize) {
+        readSize = Math.max(readSize >> 1, minimumSize);
+      }
+      resetWindow();
+    }
+  }
+
+  /**
+   * Starts a new shrink window.
+   */
+  private void resetWindow() {
+    largestInWindow = 0;
+    readsInWindow = 0;
+  }
+
+}
@@ -23,9 +23,25 @@ public abstract class AbstractPortalResponse implements NetworkResponse {
     this.portal = portal;
   }
 
+  /**
+   * Obtains the {@link Portal}.
+   *
+   * @return {@link Portal}.
+   */
+  public Portal getPortal() {
+    return portal;
+  }
+
+  /**
+   * Notifies that the server skipped the message awaiting this response, due to an earlier error before the Sync.
+   */
+  public void handleSkipped() {
+    // Nothing by default
+  }
+
   @Override
   public NetworkResponse handleException(Throwable ex) {
     portal.handleException(ex);
-    return new ReadyForQueryResponse();
+    return null; // ready for query handled by the Sync
   }
 }
\ No newline at end of file
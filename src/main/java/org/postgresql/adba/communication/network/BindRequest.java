@@ -7,7 +7,6 @@ import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 import org.postgresql.adba.operations.helpers.QueryParameter;
-import org.postgresql.adba.util.BinaryHelper;
 
 /**
  * Bind {@link NetworkRequest}.
@@ -36,25 +35,24 @@ public class BindRequest<T> implements NetworkRequest {
     NetworkOutputStream wire = context.getOutputStream();
     wire.write(FrontendTag.BIND.getByte());
     wire.initPacket();
-    wire.write(portal.getPortalName());
-    wire.write(portal.getQuery().getQueryName());
-    wire.write(BinaryHelper.writeShort(holder.size()));
+    wire.writeCString(portal.getPortalName());
+    wire.writeCString(portal.getQuery().getQueryName());
+    wire.writeInt16(holder.size());
     for (QueryParameter qp : holder.parameters()) {
-      wire.write(BinaryHelper.writeShort(qp.getParameterFormatCode()));
+      wire.writeInt16(qp.getParameterFormatCode());
     }
-    wire.write(BinaryHelper.writeShort(holder.size()));
-    int paramIndex = 0;
+    wire.writeInt16(holder.size());
+    int repetition = portal.getRepetition();
     for (QueryParameter qp : holder.parameters()) {
-      byte[] paramData = qp.getParameter(paramIndex++);
-      if (paramData.length == 0) { // handling the null special case
-        wire.write(BinaryHelper.writeInt(-1));
-      } else {
-        wire.write(BinaryHelper.writeInt(paramData.length));
-        wire.write(paramData);
-      }
+      qp.writeParameter(repetition, wire);
     }
-    wire.writeTerminator();
-    wire.writeTerminator();
+    Query query = portal.getQuery();
+    short[] resultFormatCodes = query.getResultFormatCodes();
+    wire.writeInt16((short) resultFormatCodes.length);
+    for (short resultFormatCode : resultFormatCodes) {
+      wire.writeInt16(resultFormatCode);
+    }
+    portal.setResultPlan(query.getResultPlan());
     wire.completePacket();
 
     // Next step to execute
@@ -66,4 +64,9 @@ public class BindRequest<T> implements NetworkRequest {
     return new BindResponse(portal);
   }
 
+  @Override
+  public Portal getPortal() {
+    return portal;
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package org.postgresql.adba.communication.network;
+
+import org.postgresql.adba.communication.FrontendTag;
+import org.postgresql.adba.communication.NetworkOutputStream;
+import org.postgresql.adba.communication.NetworkRequest;
+import org.postgresql.adba.communication.NetworkWriteContext;
+import org.postgresql.adba.operations.helpers.CopyInSource;
+
+/**
+ * Streams the CopyData messages of a <code>COPY ... FROM STDIN</code>, ending with CopyDone (or CopyFail should the
+ * {@link CopyInSource} fail).
+ *
+ * <p>Each write sends one CopyData message and continues with itself, so the connection suspends the stream once the
+ * bytes in flight are at their limit or the {@link CopyInSource} has no data ready. As the continuation holds the
+ * connection, no other request is interleaved with the data.
+ */
+public class CopyDataRequest implements NetworkRequest {
+
+  private final CopyInSource source;
+
+  private Runnable writeNotifier = null;
+
+  private volatile boolean isAborted = false;
+
+  public CopyDataRequest(CopyInSource source) {
+    this.source = source;
+  }
+
+  /**
+   * Aborts sending further data, as the server has failed the COPY.
+   */
+  void abort() {
+    isAborted = true;
+    if (writeNotifier != null) {
+      writeNotifier.run(); // resume to stop the source
+    }
+  }
+
+  /*
+   * ================== NetworkRequest ========================
+   */
+
+  @Override
+  public NetworkRequest write(NetworkWriteContext context) throws Exception {
+
+    // Start the source on first write (as server now ready for data)
+    if (writeNotifier == null) {
+      writeNotifier = context.getWriteNotifier();
+      source.start(writeNotifier);
+    }
+
+    // Server ignores any further data once failed
+    if (isAborted) {
+      source.cancel();
+      return null;
+    }
+
+    // Send the next data
+    NetworkOutputStream wire = context.getOutputStream();
+    if (source.hasData()) {
+      wire.write(FrontendTag.COPY_DATA.getByte());
+      wire.initPacket();
+      source.writeData(wire);
+      wire.completePacket();
+      return this;
+    }
+
+    // Await further data
+    if (!source.isComplete()) {
+      return this;
+    }
+
+    // Complete the copy
+    Throwable failure = source.getFailure();
+    if (failure == null) {
+      wire.write(FrontendTag.COPY_DONE.getByte());
+      wire.initPacket();
+      wire.completePacket();
+    } else {
+      wire.write(FrontendTag.COPY_FAIL.getByte());
+      wire.initPacket();
+      wire.writeCString(String.valueOf(failure.getMessage()));
+      wire.completePacket();
+    }
+    return null;
+  }
+
+  @Override
+  public boolean isReady() {
+    return isAborted || source.hasData() || source.isComplete();
+  }
+
+}
@@ -0,0 +1,48 @@
+package org.postgresql.adba.communication.network;
+
+import org.postgresql.adba.communication.FrontendTag;
+import org.postgresql.adba.communication.NetworkOutputStream;
+import org.postgresql.adba.communication.NetworkRequest;
+import org.postgresql.adba.communication.NetworkResponse;
+import org.postgresql.adba.communication.NetworkWriteContext;
+import org.postgresql.adba.submissions.CopyInSubmission;
+
+/**
+ * <code>COPY ... FROM STDIN</code> {@link NetworkRequest}.
+ *
+ * <p>Sent as a simple query, so the server ignores the data messages following an error (rather than discarding
+ * messages until a Sync). Further requests are blocked until the server is ready for the data.
+ */
+public class CopyInRequest implements NetworkRequest {
+
+  private final CopyInSubmission<?> submission;
+
+  public CopyInRequest(CopyInSubmission<?> submission) {
+    this.submission = submission;
+  }
+
+  /*
+   * ================== NetworkRequest ========================
+   */
+
+  @Override
+  public NetworkRequest write(NetworkWriteContext context) throws Exception {
+    NetworkOutputStream wire = context.getOutputStream();
+    wire.write(FrontendTag.QUERY.getByte());
+    wire.initPacket();
+    wire.writeCString(submission.getSql());
+    wire.completePacket();
+    return null;
+  }
+
+  @Override
+  public boolean isBlocking() {
+    return true;
+  }
+
+  @Override
+  public NetworkResponse getRequiredResponse() {
+    return new CopyInResponse(submission);
+  }
+
+}
@@ -0,0 +1,76 @@
+package org.postgresql.adba.communication.network;
+
+import java.io.IOException;
+import org.postgresql.adba.communication.BeFrame;
+import org.postgresql.adba.communication.NetworkReadContext;
+import org.postgresql.adba.communication.NetworkResponse;
+import org.postgresql.adba.communication.packets.CommandComplete;
+import org.postgresql.adba.submissions.CopyInSubmission;
+
+/**
+ * <code>COPY ... FROM STDIN</code> {@link NetworkResponse}.
+ *
+ * <p>Starts streaming the data once the server is ready for it, and completes with the number of rows copied.
+ */
+public class CopyInResponse implements NetworkResponse {
+
+  private final CopyInSubmission<?> submission;
+
+  private CopyDataRequest dataRequest = null;
+
+  private boolean isFailed = false;
+
+  public CopyInResponse(CopyInSubmission<?> submission) {
+    this.submission = submission;
+  }
+
+  @Override
+  public NetworkResponse read(NetworkReadContext context) throws IOException {
+    BeFrame frame = context.getBeFrame();
+    switch (frame.getTag()) {
+
+      case COPY_IN_RESPONSE:
+        dataRequest = new CopyDataRequest(submission.getSource());
+        context.write(dataRequest);
+        return this;
+
+      case COMMAND_COMPLETE:
+        if (!isFailed) {
+          CommandComplete complete = new CommandComplete(frame.getPayload());
+          submission.finish((long) complete.getNumberOfRowsAffected());
+        }
+        return this;
+
+      case READY_FOR_QUERY:
+        return null; // Nothing further
+
+      default:
+        // Not a COPY FROM STDIN, so fail and consume until ready for query
+        if (!isFailed) {
+          fail(new IllegalStateException("Invalid tag '" + frame.getTag() + "' for " + getClass().getSimpleName()
+              + " (SQL must be COPY ... FROM STDIN)"));
+        }
+        return this;
+    }
+  }
+
+  @Override
+  public NetworkResponse handleException(Throwable ex) {
+    fail(ex);
+    return this; // ready for query follows error
+  }
+
+  /**
+   * Fails the COPY.
+   *
+   * @param ex Cause of the failure.
+   */
+  private void fail(Throwable ex) {
+    isFailed = true;
+    if (dataRequest != null) {
+      dataRequest.abort();
+    }
+    Portal.doHandleException(submission, ex);
+  }
+
+}
@@ -0,0 +1,42 @@
+package org.postgresql.adba.communication.network;
+
+import org.postgresql.adba.communication.FrontendTag;
+import org.postgresql.adba.communication.NetworkOutputStream;
+import org.postgresql.adba.communication.NetworkRequest;
+import org.postgresql.adba.communication.NetworkResponse;
+import org.postgresql.adba.communication.NetworkWriteContext;
+import org.postgresql.adba.submissions.CopyOutSubmission;
+
+/**
+ * <code>COPY ... TO STDOUT</code> {@link NetworkRequest}.
+ *
+ * <p>Sent as a simple query, as the copy has no parameters.
+ */
+public class CopyOutRequest implements NetworkRequest {
+
+  private final CopyOutSubmission<?> submission;
+
+  public CopyOutRequest(CopyOutSubmission<?> submission) {
+    this.submission = submission;
+  }
+
+  /*
+   * ================== NetworkRequest ========================
+   */
+
+  @Override
+  public NetworkRequest write(NetworkWriteContext context) throws Exception {
+    NetworkOutputStream wire = context.getOutputStream();
+    wire.write(FrontendTag.QUERY.getByte());
+    wire.initPacket();
+    wire.writeCString(submission.getSql());
+    wire.completePacket();
+    return null;
+  }
+
+  @Override
+  public NetworkResponse getRequiredResponse() {
+    return new CopyOutResponse(submission);
+  }
+
+}
@@ -0,0 +1,97 @@
+package org.postgresql.adba.communication.network;
+
+import java.io.IOException;
+import org.postgresql.adba.communication.BeFrame;
+import org.postgresql.adba.communication.NetworkReadContext;
+import org.postgresql.adba.communication.NetworkResponse;
+import org.postgresql.adba.communication.packets.CommandComplete;
+import org.postgresql.adba.operations.helpers.CopyOutSink;
+import org.postgresql.adba.submissions.CopyOutSubmission;
+
+/**
+ * <code>COPY ... TO STDOUT</code> {@link NetworkResponse}.
+ *
+ * <p>Passes the content of each CopyData message straight from the read buffer to the {@link CopyOutSink} (without
+ * creating rows), and completes with the number of rows copied.
+ */
+public class CopyOutResponse implements NetworkResponse {
+
+  private final CopyOutSubmission<?> submission;
+
+  private final CopyOutSink sink;
+
+  private boolean isFailed = false;
+
+  /**
+   * Instantiate.
+   *
+   * @param submission {@link CopyOutSubmission}.
+   */
+  public CopyOutResponse(CopyOutSubmission<?> submission) {
+    this.submission = submission;
+    this.sink = submission.getSink();
+  }
+
+  @Override
+  public NetworkResponse read(NetworkReadContext context) throws IOException {
+    BeFrame frame = context.getBeFrame();
+    switch (frame.getTag()) {
+
+      case COPY_OUT_RESPONSE:
+        sink.start(context);
+        return this;
+
+      case COPY_DATA:
+        if (!isFailed) {
+          try {
+            sink.data(frame.getPayloadBuffer());
+          } catch (IOException | RuntimeException ex) {
+            fail(ex); // server still sends remaining data, so discard it
+          }
+        }
+        return this;
+
+      case COPY_DONE:
+        return this;
+
+      case COMMAND_COMPLETE:
+        if (!isFailed) {
+          CommandComplete complete = new CommandComplete(frame.getPayload());
+          sink.complete();
+          submission.finish((long) complete.getNumberOfRowsAffected());
+        }
+        return this;
+
+      case READY_FOR_QUERY:
+        return null; // Nothing further
+
+      default:
+        // Not a COPY TO STDOUT, so fail and consume until ready for query
+        if (!isFailed) {
+          fail(new IllegalStateException("Invalid tag '" + frame.getTag() + "' for " + getClass().getSimpleName()
+              + " (SQL must be COPY ... TO STDOUT)"));
+        }
+        return this;
+    }
+  }
+
+  @Override
+  public NetworkResponse handleException(Throwable ex) {
+    if (!isFailed) {
+      fail(ex);
+    }
+    return this; // ready for query follows error
+  }
+
+  /**
+   * Fails the COPY.
+   *
+   * @param ex Cause of the failure.
+   */
+  private void fail(Throwable ex) {
+    isFailed = true;
+    sink.fail(ex);
+    Portal.doHandleException(submission, ex);
+  }
+
+}
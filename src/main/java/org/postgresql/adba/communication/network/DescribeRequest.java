@@ -36,7 +36,7 @@ public class DescribeRequest<T> implements NetworkRequest {
     wire.write(FrontendTag.DESCRIBE.getByte());
     wire.initPacket();
     wire.write('S');
-    wire.write(portal.getQuery().getQueryName());
+    wire.writeCString(portal.getQuery().getQueryName());
     wire.completePacket();
 
     // Next step to bind
@@ -48,4 +48,9 @@ public class DescribeRequest<T> implements NetworkRequest {
     return new DescribeResponse(portal);
   }
 
+  @Override
+  public Portal getPortal() {
+    return portal;
+  }
+
 }
\ No newline at end of file
@@ -5,7 +5,6 @@ import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.NetworkRequest;
 import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
-import org.postgresql.adba.util.BinaryHelper;
 
 /**
  * Execute {@link NetworkRequest}.
@@ -31,11 +30,17 @@ public class ExecuteRequest<T> implements NetworkRequest {
     NetworkOutputStream wire = context.getOutputStream();
     wire.write(FrontendTag.EXECUTE.getByte());
     wire.initPacket();
-    wire.write(portal.getPortalName());
-    wire.write(BinaryHelper.writeInt(0)); // number of rows to return, 0 == all
+    wire.writeCString(portal.getPortalName());
+    wire.writeInt32(0); // number of rows to return, 0 == all
     wire.completePacket();
 
-    // TODO Auto-generated method stub
+    // Pipeline further executions before the one Sync
+    if (portal.nextRepetition()) {
+      return new BindRequest<>(portal);
+    }
+    if (portal.getNextPortal() != null) {
+      return new ParseRequest<>(portal.getNextPortal());
+    }
     return new SyncRequest(portal);
   }
 
@@ -44,4 +49,9 @@ public class ExecuteRequest<T> implements NetworkRequest {
     return new ExecuteResponse(portal);
   }
 
+  @Override
+  public Portal getPortal() {
+    return portal;
+  }
+
 }
\ No newline at end of file
@@ -26,19 +26,17 @@ public class ExecuteResponse extends AbstractPortalResponse {
 
       case DATA_ROW:
         if (!portal.getQuery().isCanceled()) {
-          DataRow dataRow = new DataRow(frame.getPayload(), portal.getQuery().getRowDescription().getDescriptions(),
-              portal.nextRowNumber(), portal.getQuery());
+          // Copies the payload, as the row may outlive the read buffer
+          DataRow dataRow = new DataRow(frame.getPayload(), portal.getDecodePlan(), portal.nextRowNumber(),
+              portal.getQuery());
           portal.addDataRow(dataRow);
         }
         return this;
 
       case COMMAND_COMPLETE:
         CommandComplete complete = new CommandComplete(frame.getPayload());
-        portal.commandComplete(complete, context.getSocketChannel());
-        return this;
-
-      case READY_FOR_QUERY:
-        return null;
+        portal.commandComplete(complete, context);
+        return null; // ready for query handled by the Sync
 
       default:
         throw new IllegalStateException("Invalid tag '" + frame.getTag() + "' for " + getClass().getSimpleName());
@@ -14,7 +14,6 @@ import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
 import org.postgresql.adba.communication.packets.AuthenticationRequest;
 import org.postgresql.adba.submissions.ConnectSubmission;
-import org.postgresql.adba.util.BinaryHelper;
 import org.postgresql.adba.util.PropertyHolder;
 
 /**
@@ -71,15 +70,15 @@ public class NetworkConnectRequest implements NetworkConnect, NetworkRequest, Ne
     // As now connected, send start up
     NetworkOutputStream wire = context.getOutputStream();
     wire.initPacket();
-    wire.write(BinaryHelper.writeInt(3 * 65536));
-    wire.write("user");
-    wire.write(((String) properties.get(AdbaSessionProperty.USER)));
-    wire.write("database");
-    wire.write(((String) properties.get(PgSessionProperty.DATABASE)));
-    wire.write("application_name");
-    wire.write((String) properties.get(PgSessionProperty.APPLICATION_NAME));
-    wire.write("client_encoding");
-    wire.write("UTF8");
+    wire.writeInt32(3 * 65536);
+    wire.writeCString("user");
+    wire.writeCString(((String) properties.get(AdbaSessionProperty.USER)));
+    wire.writeCString("database");
+    wire.writeCString(((String) properties.get(PgSessionProperty.DATABASE)));
+    wire.writeCString("application_name");
+    wire.writeCString((String) properties.get(PgSessionProperty.APPLICATION_NAME));
+    wire.writeCString("client_encoding");
+    wire.writeCString("UTF8");
     wire.writeTerminator();
     wire.completePacket();
 
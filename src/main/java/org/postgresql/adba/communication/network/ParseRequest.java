@@ -8,7 +8,6 @@ import org.postgresql.adba.communication.NetworkWriteContext;
 import org.postgresql.adba.communication.PreparedStatementCache;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 import org.postgresql.adba.operations.helpers.QueryParameter;
-import org.postgresql.adba.util.BinaryHelper;
 
 /**
  * Row operation {@link NetworkRequest}.
@@ -57,11 +56,11 @@ public class ParseRequest<T> implements NetworkRequest {
       NetworkOutputStream wire = context.getOutputStream();
       wire.write(FrontendTag.PARSE.getByte());
       wire.initPacket();
-      wire.write(query.getQueryName());
-      wire.write(sql);
-      wire.write(BinaryHelper.writeShort(holder.size()));
+      wire.writeCString(query.getQueryName());
+      wire.writeCString(sql);
+      wire.writeInt16(holder.size());
       for (QueryParameter qp : holder.parameters()) {
-        wire.write(BinaryHelper.writeInt(qp.getOid()));
+        wire.writeInt32(qp.getOid());
       }
       wire.completePacket();
     }
@@ -85,4 +84,9 @@ public class ParseRequest<T> implements NetworkRequest {
     return null;
   }
 
+  @Override
+  public Portal getPortal() {
+    return portal;
+  }
+
 }
\ No newline at end of file
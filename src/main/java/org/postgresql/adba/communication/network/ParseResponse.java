@@ -31,4 +31,15 @@ public class ParseResponse extends AbstractPortalResponse {
     }
   }
 
+  @Override
+  public void handleSkipped() {
+    portal.getQuery().clearWaitingParse();
+  }
+
+  @Override
+  public NetworkResponse handleException(Throwable ex) {
+    portal.getQuery().clearWaitingParse();
+    return super.handleException(ex);
+  }
+
 }
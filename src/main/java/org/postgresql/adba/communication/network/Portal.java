@@ -1,7 +1,5 @@
 package org.postgresql.adba.communication.network;
 
-import static org.postgresql.adba.PgSubmission.Types.ARRAY_COUNT;
-
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -9,12 +7,13 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import jdk.incubator.sql2.SqlException;
 import org.postgresql.adba.PgSubmission;
+import org.postgresql.adba.communication.NetworkReadContext;
 import org.postgresql.adba.communication.packets.CommandComplete;
 import org.postgresql.adba.communication.packets.DataRow;
+import org.postgresql.adba.communication.packets.DecodePlan;
 import org.postgresql.adba.communication.packets.ErrorPacket;
 import org.postgresql.adba.communication.packets.parts.ErrorResponseField;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
-import org.postgresql.adba.submissions.ArrayCountSubmission;
 import org.postgresql.adba.util.PgCount;
 
 /**
@@ -61,23 +60,71 @@ public class Portal {
 
   private final PgSubmission<?> submission;
 
+  /**
+   * SQL executed instead of the submission's SQL. May be <code>null</code>.
+   */
+  private final String sql;
+
+  /**
+   * {@link ParameterHolder} bound instead of the submission's parameters. May be <code>null</code>.
+   */
+  private final ParameterHolder holder;
+
+  /**
+   * Number of the submission's rows inserted by each execution.
+   */
+  private final int rowsPerExecution;
+
+  /**
+   * {@link Portal} executed next under the same Sync. May be <code>null</code>.
+   */
+  private final Portal nextPortal;
+
   private String name;
 
   private long nextRowNumber = 0;
 
+  /**
+   * Index of the execution (query repetition) being bound.
+   */
+  private int repetition = 0;
+
   /**
    * Thread safe as only accessed via network thread.
    */
   private Query query = null;
 
+  /**
+   * {@link DecodePlan} of the result columns in the formats requested by the Bind. <code>null</code> if all text.
+   */
+  private DecodePlan resultPlan = null;
+
   /**
    * Instantiate.
    * 
    * @param submission {@link PgSubmission}.
    */
   public Portal(PgSubmission<?> submission) {
+    this(submission, null, null, 1, null);
+  }
+
+  /**
+   * Instantiate for a part of the submission, such as a rewritten batched insert.
+   *
+   * @param submission       {@link PgSubmission}.
+   * @param sql              SQL to execute instead of the submission's SQL.
+   * @param holder           {@link ParameterHolder} to bind instead of the submission's parameters.
+   * @param rowsPerExecution Number of the submission's rows inserted by each execution.
+   * @param nextPortal       {@link Portal} executed next under the same Sync. May be <code>null</code>.
+   */
+  public Portal(PgSubmission<?> submission, String sql, ParameterHolder holder, int rowsPerExecution,
+      Portal nextPortal) {
     name = "p" + nameIndex.incrementAndGet();
     this.submission = submission;
+    this.sql = sql;
+    this.holder = holder;
+    this.rowsPerExecution = rowsPerExecution;
+    this.nextPortal = nextPortal;
   }
 
   /**
@@ -86,7 +133,7 @@ public class Portal {
    * @return SQL.
    */
   public String getSql() {
-    return submission.getSql();
+    return (sql != null) ? sql : submission.getSql();
   }
 
   /**
@@ -95,7 +142,17 @@ public class Portal {
    * @return {@link ParameterHolder}.
    */
   public ParameterHolder getParameterHolder() {
-    return submission.getHolder();
+    return (holder != null) ? holder : submission.getHolder();
+  }
+
+  /**
+   * Determines if the {@link Portal} executes for the same submission.
+   *
+   * @param portal {@link Portal}.
+   * @return <code>true</code> if executes for the same submission.
+   */
+  public boolean isSameSubmission(Portal portal) {
+    return submission == portal.submission;
   }
 
   /**
@@ -134,6 +191,24 @@ public class Portal {
     this.query = query;
   }
 
+  /**
+   * Specifies the {@link DecodePlan} of the result columns in the formats requested by the Bind.
+   *
+   * @param resultPlan {@link DecodePlan}. <code>null</code> if all text.
+   */
+  void setResultPlan(DecodePlan resultPlan) {
+    this.resultPlan = resultPlan;
+  }
+
+  /**
+   * Obtains the {@link DecodePlan} to decode the result columns.
+   *
+   * @return {@link DecodePlan}.
+   */
+  DecodePlan getDecodePlan() {
+    return (resultPlan != null) ? resultPlan : query.getTextPlan();
+  }
+
   /**
    * Obtains the next row number.
    * 
@@ -153,12 +228,30 @@ public class Portal {
   }
 
   /**
-   * Flags the command is complete.
+   * Flags the command is complete. The submission is completed once the Sync is complete, as a later failure under the
+   * same Sync rolls back the command. A transaction command is completed immediately, along with the commands before
+   * it, as it decides their outcome.
+   * 
+   * @param complete Command is complete.
+   * @param context  {@link NetworkReadContext}.
+   */
+  void commandComplete(CommandComplete complete, NetworkReadContext context) {
+    SocketChannel socketChannel = context.getSocketChannel();
+    if (submission.getCompletionType() == PgSubmission.Types.TRANSACTION) {
+      context.completeDeferred();
+      finish(complete, socketChannel);
+    } else {
+      context.completeAtSync(this, () -> finish(complete, socketChannel));
+    }
+  }
+
+  /**
+   * Finishes the submission for the completed command.
    * 
    * @param complete      Command is complete.
    * @param socketChannel {@link SocketChannel}.
    */
-  void commandComplete(CommandComplete complete, SocketChannel socketChannel) {
+  private void finish(CommandComplete complete, SocketChannel socketChannel) {
     try {
       switch (submission.getCompletionType()) {
         case COUNT:
@@ -174,7 +267,7 @@ public class Portal {
           submission.finish(complete.getType());
           break;
         case ARRAY_COUNT:
-          submission.finish(complete.getNumberOfRowsAffected());
+          finishRows(complete.getNumberOfRowsAffected());
           break;
         case VOID:
           ((CompletableFuture) submission.getCompletionStage()).complete(null);
@@ -194,18 +287,58 @@ public class Portal {
     }
   }
 
+  /**
+   * Finishes the rows of the execution. A multi-row execution reports 1 for each row when all rows are affected,
+   * otherwise its count against its first row and 0 against its remaining rows.
+   *
+   * @param rowsAffected Number of rows affected by the execution.
+   */
+  private void finishRows(int rowsAffected) {
+    if ((rowsPerExecution == 1) || (rowsAffected == rowsPerExecution)) {
+      int rowCount = (rowsPerExecution == 1) ? rowsAffected : 1;
+      for (int i = 0; i < rowsPerExecution; i++) {
+        submission.finish(rowCount);
+      }
+    } else {
+      submission.finish(rowsAffected);
+      for (int i = 1; i < rowsPerExecution; i++) {
+        submission.finish(0);
+      }
+    }
+  }
+
+  /**
+   * Obtains the {@link Portal} executed next under the same Sync.
+   *
+   * @return Next {@link Portal}. May be <code>null</code>.
+   */
+  Portal getNextPortal() {
+    return nextPortal;
+  }
+
+  /**
+   * Obtains the index of the execution (query repetition) to bind.
+   *
+   * @return Index of the execution.
+   */
+  int getRepetition() {
+    return repetition;
+  }
+
   /**
    * Some submission types needs multiple rounds of queries before the operation is finished. This function
-   * returns true if more is needed.
+   * moves to the next execution, returning true if another is needed.
    *
-   * @return true if another query should be sent to the database
+   * @return true if another execution should be sent to the database
    * @throws ExecutionException if the bound variables are a future that fails
    * @throws InterruptedException if the bound variables are a future that fails
    */
-  public boolean hasMoreToExecute() throws ExecutionException, InterruptedException {
-    if (submission.getCompletionType() == ARRAY_COUNT) {
-      return ((ArrayCountSubmission)submission).hasMoreToExecute();
+  boolean nextRepetition() throws ExecutionException, InterruptedException {
+    int repetitions = (holder != null) ? holder.numberOfQueryRepetitions() : submission.numberOfQueryRepetitions();
+    if (repetition + 1 >= repetitions) {
+      return false;
     }
-    return false;
+    repetition++;
+    return true;
   }
 }
\ No newline at end of file
@@ -2,7 +2,10 @@ package org.postgresql.adba.communication.network;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.postgresql.adba.communication.packets.DecodePlan;
 import org.postgresql.adba.communication.packets.RowDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+import org.postgresql.adba.communication.packets.parts.FormatCodeTypes;
 
 /**
  * Query.
@@ -16,6 +19,11 @@ public class Query {
    */
   private static AtomicInteger nameIndex = new AtomicInteger(0);
 
+  /**
+   * No result format codes, so all columns are text.
+   */
+  private static final short[] NO_FORMAT_CODES = new short[0];
+
   /**
    * Name for the {@link Query}.
    */
@@ -36,6 +44,20 @@ public class Query {
    */
   private RowDescription rowDescription = null;
 
+  /**
+   * Result format codes for the Bind, determined from the {@link RowDescription}.
+   */
+  private short[] resultFormatCodes = null;
+
+  /**
+   * {@link DecodePlan} for the result columns in the formats of the result format codes.
+   */
+  private DecodePlan resultPlan = null;
+
+  /**
+   * {@link DecodePlan} for the result columns all in the text format.
+   */
+  private DecodePlan textPlan = null;
 
   private boolean canceled;
 
@@ -87,6 +109,13 @@ public class Query {
     isAwaitingParse = true;
   }
 
+  /**
+   * Clears waiting on parse, as the parse failed or was skipped (so must be sent again).
+   */
+  void clearWaitingParse() {
+    isAwaitingParse = false;
+  }
+
   /**
    * Obtains the {@link RowDescription}.
    * 
@@ -102,9 +131,85 @@ public class Query {
    * @param rowDescription {@link RowDescription}.
    */
   void setRowDescription(RowDescription rowDescription) {
+    if ((this.rowDescription == null) || !this.rowDescription.hasSameColumnTypes(rowDescription)) {
+      resultFormatCodes = null; // determine formats and plans for the changed columns
+      resultPlan = null;
+      textPlan = null;
+    }
     this.rowDescription = rowDescription;
   }
 
+  /**
+   * Obtains the result format codes for the Bind.
+   * 
+   * <p>Binary is requested for the columns that can be decoded from binary, and text for the rest. Until the
+   * {@link RowDescription} is known, no codes are provided so all columns are text.
+   * 
+   * @return Result format codes.
+   */
+  short[] getResultFormatCodes() {
+    if (resultFormatCodes == null) {
+      if (rowDescription == null) {
+        return NO_FORMAT_CODES; // not yet described
+      }
+      determineResultFormats();
+    }
+    return resultFormatCodes;
+  }
+
+  /**
+   * Obtains the {@link DecodePlan} for the result columns in the formats of the {@link #getResultFormatCodes()}.
+   * 
+   * @return {@link DecodePlan}. <code>null</code> if all text.
+   */
+  DecodePlan getResultPlan() {
+    return resultPlan;
+  }
+
+  /**
+   * Obtains the {@link DecodePlan} for the result columns all in the text format.
+   * 
+   * @return {@link DecodePlan}.
+   */
+  DecodePlan getTextPlan() {
+    if (textPlan == null) {
+      textPlan = new DecodePlan(rowDescription.getDescriptions(), rowDescription.getColumnIndex());
+    }
+    return textPlan;
+  }
+
+  /**
+   * Determines the result formats from the {@link RowDescription}.
+   */
+  private void determineResultFormats() {
+    ColumnDescription[] descriptions = rowDescription.getDescriptions();
+    ColumnDescription[] formatted = new ColumnDescription[descriptions.length];
+    short[] codes = new short[descriptions.length];
+    int binaryCount = 0;
+    for (int i = 0; i < descriptions.length; i++) {
+      FormatCodeTypes format = descriptions[i].getColumnType().isBinaryDecodable() ? FormatCodeTypes.BINARY
+          : FormatCodeTypes.TEXT;
+      if (format == FormatCodeTypes.BINARY) {
+        binaryCount++;
+      }
+      codes[i] = format.getCode();
+      formatted[i] = descriptions[i].withFormatCode(format);
+    }
+
+    if (binaryCount == 0) {
+      // All text (the default)
+      resultFormatCodes = NO_FORMAT_CODES;
+      resultPlan = null;
+    } else if (binaryCount == descriptions.length) {
+      // A single code applies to all columns
+      resultFormatCodes = new short[] {FormatCodeTypes.BINARY.getCode()};
+      resultPlan = new DecodePlan(formatted, rowDescription.getColumnIndex());
+    } else {
+      resultFormatCodes = codes;
+      resultPlan = new DecodePlan(formatted, rowDescription.getColumnIndex());
+    }
+  }
+
   public void cancel() {
     canceled = true;
   }
@@ -15,7 +15,8 @@ public class ReadyForQueryResponse implements NetworkResponse {
 
   @Override
   public NetworkResponse handleException(Throwable ex) {
-    throw new IllegalStateException("Ready For Query should not fail", ex);
+    // Failure on Sync (e.g. deferred constraint on implicit commit), so still await ready for query
+    return this;
   }
 
   @Override
@@ -13,7 +13,6 @@ import org.postgresql.adba.communication.NetworkWriteContext;
 import org.postgresql.adba.communication.packets.AuthenticationRequest;
 import org.postgresql.adba.communication.packets.AuthenticationRequest.ScramMechanism;
 import org.postgresql.adba.submissions.ConnectSubmission;
-import org.postgresql.adba.util.BinaryHelper;
 
 public class SaslPasswordRequest implements NetworkRequest {
   private final AuthenticationRequest authentication;
@@ -50,8 +49,8 @@ public class SaslPasswordRequest implements NetworkRequest {
     NetworkOutputStream wire = context.getOutputStream();
     wire.write(FrontendTag.PASSWORD_MESSAGE.getByte());
     wire.initPacket();
-    wire.write(scramClient.getScramMechanism().getName());
-    wire.write(BinaryHelper.writeInt(firstMessage.length));
+    wire.writeCString(scramClient.getScramMechanism().getName());
+    wire.writeInt32(firstMessage.length);
     wire.write(firstMessage);
     wire.completePacket();
 
@@ -3,6 +3,7 @@ package org.postgresql.adba.communication.network;
 import org.postgresql.adba.communication.FrontendTag;
 import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.NetworkRequest;
+import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
 
 /**
@@ -29,12 +30,18 @@ public class SyncRequest implements NetworkRequest {
     wire.initPacket();
     wire.completePacket();
 
-    if (portal.hasMoreToExecute()) {
-      return new BindRequest<>(portal);
-    }
-
     // Nothing further
     return null;
   }
 
+  @Override
+  public NetworkResponse getRequiredResponse() {
+    return new ReadyForQueryResponse();
+  }
+
+  @Override
+  public Portal getPortal() {
+    return portal;
+  }
+
 }
\ No newline at end of file
@@ -12,7 +12,6 @@ import org.postgresql.adba.communication.NetworkRequest;
 import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
 import org.postgresql.adba.submissions.ConnectSubmission;
-import org.postgresql.adba.util.BinaryHelper;
 import org.postgresql.adba.util.PropertyHolder;
 
 public class TlsConnectRequest implements NetworkConnect, NetworkRequest, NetworkResponse {
@@ -59,7 +58,7 @@ public class TlsConnectRequest implements NetworkConnect, NetworkRequest, Networ
   public NetworkRequest write(NetworkWriteContext context) throws IOException {
     NetworkOutputStream wire = context.getOutputStream();
     wire.initPacket();
-    wire.write(BinaryHelper.writeInt(80877103)); // fake version string to indicate that we want to start tls
+    wire.writeInt32(80877103); // fake version string to indicate that we want to start tls
     wire.writeTerminator();
     wire.completePacket();
 
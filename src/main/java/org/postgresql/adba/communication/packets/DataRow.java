@@ -2,18 +2,24 @@ package org.postgresql.adba.communication.packets;
 
 import jdk.incubator.sql2.Result;
 import jdk.incubator.sql2.SqlType;
-import org.postgresql.adba.communication.TableCell;
+import org.postgresql.adba.PgRowColumn;
 import org.postgresql.adba.communication.network.Query;
-import org.postgresql.adba.communication.packets.parts.ColumnDescription;
 import org.postgresql.adba.util.BinaryHelper;
 
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
+/**
+ * Row of a result, decoding its column values on access.
+ *
+ * <p>The row holds its own copy of the DataRow payload, rather than a view over the read buffer, as rows may be
+ * retained by the collector or published to another thread, so outlive the read buffer.
+ */
+public class DataRow implements PgRowColumn, Result.OutColumn {
+  private final byte[] bytes;
+  private final DecodePlan plan;
 
-public class DataRow implements Result.RowColumn, Result.OutColumn {
-  private Map<String, Integer> columnNames;
-  private Map<Integer, TableCell> columns;
+  /**
+   * Start of each column value within the bytes followed by its length (-1 for null).
+   */
+  private final int[] cells;
   private long rowNumber;
   private int currentPos = 1;
   private Query query;
@@ -21,28 +27,27 @@ public class DataRow implements Result.RowColumn, Result.OutColumn {
   /**
    * parses the bytes that describe one data row in a result set.
    * @param bytes bytes to parse
-   * @param description the descriptions of the columns
+   * @param plan the plan to decode the columns, shared by all rows of the result
    * @param rowNumber current row number in the result set
    * @param query the query object, needed to be able to cancel a query
    */
-  public DataRow(byte[] bytes, ColumnDescription[] description, long rowNumber, Query query) {
+  public DataRow(byte[] bytes, DecodePlan plan, long rowNumber, Query query) {
+    this.bytes = bytes;
+    this.plan = plan;
     this.rowNumber = rowNumber;
     this.query = query;
 
     short numOfColumns = BinaryHelper.readShort(bytes[0], bytes[1]);
     int pos = 2;
-    int columnPos = 1;
-    columns = new HashMap<>(numOfColumns);
-    columnNames = new HashMap<>(numOfColumns);
+    cells = new int[numOfColumns * 2];
     for (int i = 0; i < numOfColumns; i++) {
       int length = BinaryHelper.readInt(bytes[pos], bytes[pos + 1], bytes[pos + 2], bytes[pos + 3]);
       pos += 4;
-      columnNames.put(description[i].getName().toLowerCase(), columnPos);
-      columns.put(columnPos, new TableCell(bytes, pos, pos + length, description[i]));
+      cells[i * 2] = pos;
+      cells[i * 2 + 1] = length;
       if (length >= 0) {
         pos += length;
       }
-      columnPos++;
     }
   }
 
@@ -58,31 +63,61 @@ public class DataRow implements Result.RowColumn, Result.OutColumn {
 
   @Override
   public <T> T get(Class<T> type) {
-    TableCell tc = columns.get(currentPos);
-
-    if (tc == null) {
-      throw new IllegalArgumentException("no column with position " + currentPos);
-    }
+    int cell = (currentPos - 1) * 2;
+    int start = cells[cell];
+    int length = cells[cell + 1];
 
-    if (tc.getStart() > tc.getStop()) { // handle the null special case
+    if (length < 0) { // handle the null special case
       return null;
     }
 
-    switch (tc.getColumnDescription().getFormatCode()) {
-      case TEXT:
-        String data = new String(BinaryHelper.subBytes(tc.getBytes(), tc.getStart(), tc.getStop()), StandardCharsets.UTF_8);
-        return (T)tc.getColumnDescription().getColumnType().getTextParser().apply(data, type);
-      case BINARY:
-        return (T)tc.getColumnDescription().getColumnType().getBinaryParser().apply(tc.getBytes(), tc.getStart(),
-            tc.getStop(), type);
-      default:
-        throw new IllegalStateException("unimplemented switch case");
+    return (T)plan.decode(currentPos - 1, bytes, start, length, type);
+  }
+
+  @Override
+  public boolean isNull() {
+    return cells[(currentPos - 1) * 2 + 1] < 0;
+  }
+
+  @Override
+  public int getInt() {
+    return Math.toIntExact(getLong());
+  }
+
+  @Override
+  public long getLong() {
+    int cell = (currentPos - 1) * 2;
+    int length = cells[cell + 1];
+    return (length < 0) ? 0 : plan.decodeLong(currentPos - 1, bytes, cells[cell], length);
+  }
+
+  @Override
+  public double getDouble() {
+    int cell = (currentPos - 1) * 2;
+    int length = cells[cell + 1];
+    return (length < 0) ? 0 : plan.decodeDouble(currentPos - 1, bytes, cells[cell], length);
+  }
+
+  @Override
+  public long getUnscaledLong(int scale) {
+    if (scale < 0) {
+      throw new IllegalArgumentException("scale must not be negative, but was " + scale);
     }
+    int cell = (currentPos - 1) * 2;
+    int length = cells[cell + 1];
+    return (length < 0) ? 0 : plan.decodeUnscaled(currentPos - 1, bytes, cells[cell], length, scale);
+  }
+
+  @Override
+  public boolean getBoolean() {
+    int cell = (currentPos - 1) * 2;
+    int length = cells[cell + 1];
+    return (length >= 0) && plan.decodeBoolean(currentPos - 1, bytes, cells[cell], length);
   }
 
   @Override
   public String identifier() {
-    return columns.get(currentPos).getColumnDescription().getName();
+    return plan.getName(currentPos - 1);
   }
 
   @Override
@@ -97,36 +132,27 @@ public class DataRow implements Result.RowColumn, Result.OutColumn {
 
   @Override
   public SqlType sqlType() {
-    if (!columns.containsKey(currentPos)) {
-      throw new IllegalArgumentException("no column with id " + currentPos);
-    }
-
-    return columns.get(currentPos).getColumnDescription().getColumnType().sqlType();
+    return plan.getSqlType(currentPos - 1);
   }
 
   @Override
   public <T> Class<T> javaType() {
-    if (!columns.containsKey(currentPos)) {
-      throw new IllegalArgumentException("no column with id " + currentPos);
-    }
-
-    return columns.get(currentPos).getColumnDescription().getColumnType().javaType();
+    return plan.getJavaType(currentPos - 1);
   }
 
   @Override
   public long length() {
-    TableCell tc = columns.get(currentPos);
-    return tc.getStop() - tc.getStart();
+    return cells[(currentPos - 1) * 2 + 1];
   }
 
   @Override
   public int numberOfValuesRemaining() {
-    return columns.size() - currentPos;
+    return cells.length / 2 - currentPos;
   }
 
   @Override
-  public Column at(String id) {
-    Integer newPos = columnNames.get(id.toLowerCase());
+  public DataRow at(String id) {
+    Integer newPos = plan.position(id.toLowerCase());
 
     if (newPos == null) {
       throw new IllegalArgumentException("no column with id " + id);
@@ -137,8 +163,8 @@ public class DataRow implements Result.RowColumn, Result.OutColumn {
   }
 
   @Override
-  public Column at(int index) {
-    if (!columns.containsKey(index)) {
+  public DataRow at(int index) {
+    if ((index < 1) || (index > cells.length / 2)) {
       throw new IllegalArgumentException("no column with index " + index);
     }
 
@@ -154,19 +180,10 @@ public class DataRow implements Result.RowColumn, Result.OutColumn {
 
   @Override
   public Column clone() {
-    DataRow row;
-
     try {
-      row = (DataRow) super.clone();
+      return (DataRow) super.clone(); // cells are not modified, so may be shared
     } catch (CloneNotSupportedException e) {
       throw new Error();
     }
-
-    row.columnNames = new HashMap<>(columnNames);
-    row.columns = new HashMap<>(columns);
-    row.rowNumber = rowNumber;
-    row.currentPos = currentPos;
-
-    return row;
   }
 }
@@ -0,0 +1,237 @@
+package org.postgresql.adba.communication.packets;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.BiFunction;
+import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnTypes;
+import org.postgresql.adba.communication.packets.parts.FormatCodeTypes;
+import org.postgresql.adba.communication.packets.parsers.BinaryParser;
+import org.postgresql.adba.communication.packets.parsers.TextParser;
+import org.postgresql.adba.util.BinaryHelper;
+import org.postgresql.adba.util.QuadFunction;
+
+/**
+ * Plan to decode the columns of the rows of a result.
+ *
+ * <p>Built once per {@link RowDescription} (and the formats bound for it), so the codec, name and types of each
+ * column are resolved up front rather than for every value of every row.
+ */
+public class DecodePlan {
+  private final ColumnDecoder[] columns;
+  private final Map<String, Integer> columnIndex;
+
+  /**
+   * Builds the plan for the columns.
+   *
+   * @param descriptions the descriptions of the columns, in the formats they are received
+   * @param columnIndex the position of each column by lower case name
+   */
+  public DecodePlan(ColumnDescription[] descriptions, Map<String, Integer> columnIndex) {
+    this.columns = new ColumnDecoder[descriptions.length];
+    for (int i = 0; i < descriptions.length; i++) {
+      this.columns[i] = new ColumnDecoder(descriptions[i]);
+    }
+    this.columnIndex = columnIndex;
+  }
+
+  /**
+   * The number of columns.
+   *
+   * @return the number of columns
+   */
+  public int size() {
+    return columns.length;
+  }
+
+  /**
+   * The position of the column.
+   *
+   * @param lowerCaseName the lower case name of the column
+   * @return the position (starting at 1), or null if no column by the name
+   */
+  public Integer position(String lowerCaseName) {
+    return columnIndex.get(lowerCaseName);
+  }
+
+  /**
+   * Decodes the value of the column.
+   *
+   * @param column index of the column (starting at 0)
+   * @param bytes the payload of the row
+   * @param start start of the value within the payload
+   * @param length length of the value
+   * @param type the class that the user wanted
+   * @return the value
+   */
+  public Object decode(int column, byte[] bytes, int start, int length, Class<?> type) {
+    return columns[column].decode(bytes, start, length, type);
+  }
+
+  /**
+   * Decodes the value of the column as a long, without boxing for the integer types.
+   *
+   * @param column index of the column (starting at 0)
+   * @param bytes the payload of the row
+   * @param start start of the value within the payload
+   * @param length length of the value
+   * @return the value
+   */
+  public long decodeLong(int column, byte[] bytes, int start, int length) {
+    return columns[column].decodeLong(bytes, start, length);
+  }
+
+  /**
+   * Decodes the value of the column as a double, without boxing for the numeric types.
+   *
+   * @param column index of the column (starting at 0)
+   * @param bytes the payload of the row
+   * @param start start of the value within the payload
+   * @param length length of the value
+   * @return the value
+   */
+  public double decodeDouble(int column, byte[] bytes, int start, int length) {
+    return columns[column].decodeDouble(bytes, start, length);
+  }
+
+  /**
+   * Decodes the value of the column as a boolean, without boxing for bool.
+   *
+   * @param column index of the column (starting at 0)
+   * @param bytes the payload of the row
+   * @param start start of the value within the payload
+   * @param length length of the value
+   * @return the value
+   */
+  public boolean decodeBoolean(int column, byte[] bytes, int start, int length) {
+    return columns[column].decodeBoolean(bytes, start, length);
+  }
+
+  /**
+   * Decodes the value of the column as the unscaled long of a decimal with the scale, without creating a BigDecimal
+   * for the numeric and integer types.
+   *
+   * @param column index of the column (starting at 0)
+   * @param bytes the payload of the row
+   * @param start start of the value within the payload
+   * @param length length of the value
+   * @param scale the number of decimal places
+   * @return the value multiplied by 10 to the power of the scale
+   */
+  public long decodeUnscaled(int column, byte[] bytes, int start, int length, int scale) {
+    return columns[column].decodeUnscaled(bytes, start, length, scale);
+  }
+
+  public String getName(int column) {
+    return columns[column].name;
+  }
+
+  public SqlType getSqlType(int column) {
+    return columns[column].sqlType;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> Class<T> getJavaType(int column) {
+    return (Class<T>) columns[column].javaType;
+  }
+
+  public FormatCodeTypes getFormatCode(int column) {
+    return columns[column].formatCode;
+  }
+
+  /**
+   * Resolved decoding of a column.
+   */
+  private static final class ColumnDecoder {
+    private final String name;
+    private final ColumnTypes columnType;
+    private final boolean isBinary;
+    private final SqlType sqlType;
+    private final Class<?> javaType;
+    private final FormatCodeTypes formatCode;
+    private final BiFunction<String, Class<?>, Object> textParser;
+    private final QuadFunction<byte[], Integer, Integer, Class<?>, Object> textBytesParser;
+    private final QuadFunction<byte[], Integer, Integer, Class<?>, Object> binaryParser;
+
+    private ColumnDecoder(ColumnDescription description) {
+      ColumnTypes columnType = description.getColumnType();
+      this.name = description.getName();
+      this.columnType = columnType;
+      this.isBinary = description.getFormatCode() == FormatCodeTypes.BINARY;
+      this.sqlType = columnType.sqlType();
+      this.javaType = columnType.javaType();
+      this.formatCode = description.getFormatCode();
+      this.textParser = (formatCode == FormatCodeTypes.TEXT) ? columnType.getTextParser() : null;
+      this.textBytesParser = (formatCode == FormatCodeTypes.TEXT) ? columnType.getTextBytesParser() : null;
+      this.binaryParser = (formatCode == FormatCodeTypes.BINARY) ? columnType.getBinaryParser() : null;
+    }
+
+    private Object decode(byte[] bytes, int start, int length, Class<?> type) {
+      if (binaryParser != null) {
+        return binaryParser.apply(bytes, start, start + length, type);
+      }
+      if (textBytesParser != null) {
+        return textBytesParser.apply(bytes, start, start + length, type);
+      }
+      return textParser.apply(new String(bytes, start, length, StandardCharsets.UTF_8), type);
+    }
+
+    private long decodeLong(byte[] bytes, int start, int length) {
+      switch (columnType) {
+        case INT2:
+          return isBinary ? BinaryHelper.readShort(bytes[start], bytes[start + 1])
+              : TextParser.parseLong(bytes, start, start + length);
+        case INT4:
+          return isBinary ? BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2], bytes[start + 3])
+              : TextParser.parseLong(bytes, start, start + length);
+        case INT8:
+          return isBinary ? BinaryHelper.readLong(bytes, start) : TextParser.parseLong(bytes, start, start + length);
+        default:
+          return ((Number) decode(bytes, start, length, Long.class)).longValue();
+      }
+    }
+
+    private double decodeDouble(byte[] bytes, int start, int length) {
+      switch (columnType) {
+        case INT2:
+        case INT4:
+        case INT8:
+          return decodeLong(bytes, start, length);
+        case FLOAT4:
+          return isBinary ? Float.intBitsToFloat(BinaryHelper.readInt(bytes[start], bytes[start + 1],
+              bytes[start + 2], bytes[start + 3])) : TextParser.parseFloat(bytes, start, start + length);
+        case FLOAT8:
+          return isBinary ? Double.longBitsToDouble(BinaryHelper.readLong(bytes, start))
+              : TextParser.parseDouble(bytes, start, start + length);
+        default:
+          break;
+      }
+      return ((Number) decode(bytes, start, length, Double.class)).doubleValue();
+    }
+
+    private long decodeUnscaled(byte[] bytes, int start, int length, int scale) {
+      switch (columnType) {
+        case NUMERIC:
+          return isBinary ? BinaryParser.numericUnscaled(bytes, start, scale)
+              : TextParser.parseUnscaled(bytes, start, start + length, scale);
+        case INT2:
+        case INT4:
+        case INT8:
+          return Math.multiplyExact(decodeLong(bytes, start, length), BinaryHelper.powerOfTen(scale));
+        default:
+          Object value = decode(bytes, start, length, BigDecimal.class);
+          BigDecimal decimal = (value instanceof BigDecimal) ? (BigDecimal) value : new BigDecimal(value.toString());
+          return decimal.setScale(scale).unscaledValue().longValueExact();
+      }
+    }
+
+    private boolean decodeBoolean(byte[] bytes, int start, int length) {
+      if (columnType == ColumnTypes.BOOL) {
+        return isBinary ? (bytes[start] != 0) : (bytes[start] == 't');
+      }
+      return (Boolean) decode(bytes, start, length, Boolean.class);
+    }
+  }
+}
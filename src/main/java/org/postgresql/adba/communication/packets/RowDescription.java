@@ -4,9 +4,13 @@ import org.postgresql.adba.communication.packets.parts.ColumnDescription;
 import org.postgresql.adba.util.BinaryHelper;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 public class RowDescription {
   private ColumnDescription[] descriptions;
+  private Map<String, Integer> columnIndex;
 
   /**
    * parses a sequence of bytes in to a RowDescription object.
@@ -42,4 +46,38 @@ public class RowDescription {
   public ColumnDescription[] getDescriptions() {
     return descriptions;
   }
+
+  /**
+   * The position (starting at 1) of each column by its lower case name, shared by the rows of the result.
+   *
+   * @return the column positions by name
+   */
+  public Map<String, Integer> getColumnIndex() {
+    if (columnIndex == null) {
+      Map<String, Integer> index = new HashMap<>(descriptions.length * 2);
+      for (int i = 0; i < descriptions.length; i++) {
+        index.put(descriptions[i].getName().toLowerCase(), i + 1);
+      }
+      columnIndex = Collections.unmodifiableMap(index);
+    }
+    return columnIndex;
+  }
+
+  /**
+   * Indicates if the columns are of the same types as another description of the statement.
+   *
+   * @param other the other description
+   * @return true if the same number of columns with the same types
+   */
+  public boolean hasSameColumnTypes(RowDescription other) {
+    if (other.descriptions.length != descriptions.length) {
+      return false;
+    }
+    for (int i = 0; i < descriptions.length; i++) {
+      if (other.descriptions[i].getColumnType() != descriptions[i].getColumnType()) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
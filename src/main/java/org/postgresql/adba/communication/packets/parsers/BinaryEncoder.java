@@ -0,0 +1,283 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import org.postgresql.adba.communication.NetworkOutputStream;
+import org.postgresql.adba.communication.packets.parts.ParameterEncoder;
+
+/**
+ * {@link ParameterEncoder} implementations writing the common parameter types straight into the
+ * {@link NetworkOutputStream}, without the intermediate byte arrays of {@link BinaryGenerator}.
+ *
+ * <p>Each encoder writes the same bytes as its {@link BinaryGenerator} counterpart.
+ */
+public class BinaryEncoder {
+
+  private static final byte[] INFINITY = {'i', 'n', 'f', 'i', 'n', 'i', 't', 'y'};
+  private static final byte[] NEGATIVE_INFINITY = {'-', 'i', 'n', 'f', 'i', 'n', 'i', 't', 'y'};
+
+  /**
+   * Scratch array for each thread to format date/time values into.
+   */
+  private static final ThreadLocal<byte[]> DATE_TIME_SCRATCH =
+      ThreadLocal.withInitial(() -> new byte[IsoDateTime.MAX_LENGTH]);
+
+  /**
+   * writes a Number as a short parameter.
+   *
+   * @param input the Number to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeSmallInt(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    wire.writeInt32(2);
+    wire.writeInt16(((Number) input).shortValue());
+  }
+
+  /**
+   * writes a Number as an int parameter.
+   *
+   * @param input the Number to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeInt(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    wire.writeInt32(4);
+    wire.writeInt32(((Number) input).intValue());
+  }
+
+  /**
+   * writes a Number as a long parameter.
+   *
+   * @param input the Number to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeBigInt(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    wire.writeInt32(8);
+    wire.writeInt64(((Number) input).longValue());
+  }
+
+  /**
+   * writes a Float parameter.
+   *
+   * @param input the Float to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeFloat(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    if (input instanceof Float) {
+      wire.writeInt32(4);
+      wire.writeInt32(Float.floatToIntBits((Float) input));
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a float to server");
+  }
+
+  /**
+   * writes a Double parameter.
+   *
+   * @param input the Double to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeDouble(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    if (input instanceof Double) {
+      wire.writeInt32(8);
+      wire.writeInt64(Double.doubleToLongBits((Double) input));
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a double to server");
+  }
+
+  /**
+   * writes a Boolean parameter.
+   *
+   * @param input the Boolean to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeBoolean(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    if (input instanceof Boolean) {
+      wire.writeInt32(1);
+      wire.write((Boolean) input ? 1 : 0);
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a boolean to server");
+  }
+
+  /**
+   * writes a Number as a binary numeric parameter.
+   *
+   * @param input the Number to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeNumeric(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    if (input instanceof Number) {
+      short[] words = BinaryGenerator.toNumericWords((Number) input);
+      wire.writeInt32(words.length * 2);
+      for (short word : words) {
+        wire.writeInt16(word);
+      }
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a BigDecimal to server");
+  }
+
+  /**
+   * writes a String parameter as UTF-8, with the length written once the text is encoded.
+   *
+   * @param input the String to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeString(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    wire.initValue();
+    wire.writeUtf8((String) input);
+    wire.completeValue();
+  }
+
+  /**
+   * writes a LocalDate parameter in the text format.
+   *
+   * @param input the LocalDate to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeLocalDate(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    if (input instanceof LocalDate) {
+      LocalDate x = (LocalDate) input;
+      if (x == LocalDate.MAX) {
+        writeBytes(INFINITY, wire);
+        return;
+      } else if (x == LocalDate.MIN) {
+        writeBytes(NEGATIVE_INFINITY, wire);
+        return;
+      }
+
+      writeDateTime(x, null, wire);
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalDate to server");
+  }
+
+  /**
+   * writes a LocalTime parameter in the text format.
+   *
+   * @param input the LocalTime to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeLocalTime(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    if (input instanceof LocalTime) {
+      writeDateTime(null, (LocalTime) input, wire);
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalTime to server");
+  }
+
+  /**
+   * writes a LocalDateTime parameter in the text format.
+   *
+   * @param input the LocalDateTime to write
+   * @param wire  the stream to write to
+   * @throws IOException if fails to write
+   */
+  public static void encodeLocalDateTime(Object input, NetworkOutputStream wire) throws IOException {
+    if (input == null) {
+      wire.writeInt32(-1);
+      return;
+    }
+
+    if (input instanceof LocalDateTime) {
+      LocalDateTime x = (LocalDateTime) input;
+      if (x == LocalDateTime.MAX) {
+        writeBytes(INFINITY, wire);
+        return;
+      } else if (x == LocalDateTime.MIN) {
+        writeBytes(NEGATIVE_INFINITY, wire);
+        return;
+      }
+
+      writeDateTime(x.toLocalDate(), x.toLocalTime(), wire);
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName()
+        + " can't be converted to byte[] to send as a LocalDateTime to server");
+  }
+
+  private static void writeBytes(byte[] data, NetworkOutputStream wire) throws IOException {
+    wire.writeInt32(data.length);
+    wire.write(data);
+  }
+
+  /**
+   * writes the date/time value as a length prefixed value, formatted by {@link IsoDateTime}.
+   */
+  private static void writeDateTime(LocalDate date, LocalTime time, NetworkOutputStream wire) throws IOException {
+    byte[] scratch = DATE_TIME_SCRATCH.get();
+    int length = IsoDateTime.write(scratch, 0, date, time, null);
+    wire.writeInt32(length);
+    wire.write(scratch, 0, length);
+  }
+}
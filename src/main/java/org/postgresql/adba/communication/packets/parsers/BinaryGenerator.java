@@ -3,6 +3,7 @@ package org.postgresql.adba.communication.packets.parsers;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.UUID;
@@ -35,11 +37,11 @@ import org.postgresql.adba.util.BinaryHelper;
 
 public class BinaryGenerator {
 
-  private static final DateTimeFormatter localDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-  private static final DateTimeFormatter localTimeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss.nnnnnnnnn");
-  private static final DateTimeFormatter localDateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.nnnnnnnnn");
-  private static final DateTimeFormatter offsetTimeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss.nnnnnnnnn X");
-  private static final DateTimeFormatter offsetDateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.nnnnnnnnn X");
+  private static final int NUMERIC_POSITIVE = 0x0000;
+  private static final int NUMERIC_NEGATIVE = 0x4000;
+  private static final int NUMERIC_NAN = 0xC000;
+  private static final int NUMERIC_POSITIVE_INFINITY = 0xD000;
+  private static final int NUMERIC_NEGATIVE_INFINITY = 0xF000;
 
   private static final byte[] bits = new byte[]{1, 2, 4, 8, 16, 32, 64, (byte) 128};
 
@@ -320,12 +322,91 @@ public class BinaryGenerator {
     }
 
     if (input instanceof Number) {
-      return input.toString().getBytes(StandardCharsets.UTF_8);
+      short[] words = toNumericWords((Number) input);
+      byte[] data = new byte[words.length * 2];
+      for (int i = 0; i < words.length; i++) {
+        BinaryHelper.writeShortAtPos(words[i], i * 2, data);
+      }
+      return data;
     }
 
     throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a BigDecimal to server");
   }
 
+  /**
+   * Converts the number to the 16 bit words of the binary numeric format: the number of digits, weight, sign, display
+   * scale and then the base 10000 digits, most significant first. The weight is the base 10000 exponent of the first
+   * digit, and trailing zero digits are left out.
+   *
+   * @param input the number
+   * @return the words of the numeric
+   */
+  static short[] toNumericWords(Number input) {
+    if ((input instanceof Double) || (input instanceof Float)) {
+      double value = input.doubleValue();
+      if (Double.isNaN(value)) {
+        return new short[] {0, 0, (short) NUMERIC_NAN, 0};
+      } else if (Double.isInfinite(value)) {
+        return new short[] {0, 0, (short) ((value > 0) ? NUMERIC_POSITIVE_INFINITY : NUMERIC_NEGATIVE_INFINITY), 0};
+      }
+    }
+    BigDecimal value = toBigDecimal(input);
+
+    // Shift the digits so the scale is a whole number of base 10000 digits
+    int displayScale = Math.max(value.scale(), 0);
+    int fractionDigits = (displayScale + 3) / 4;
+    int shift = fractionDigits * 4 - value.scale();
+
+    short[] digits;
+    int count = 0;
+    if (value.precision() + shift <= 18) {
+      long unscaled = Math.abs(value.unscaledValue().longValue()) * BinaryHelper.powerOfTen(shift);
+      digits = new short[5];
+      for (; unscaled != 0; unscaled /= 10000) {
+        digits[count++] = (short) (unscaled % 10000);
+      }
+    } else {
+      String text = value.unscaledValue().abs().toString();
+      int length = text.length() + shift;
+      digits = new short[(length + 3) / 4];
+      for (int end = length; end > 0; end -= 4) {
+        int digit = 0;
+        for (int i = Math.max(end - 4, 0); i < end; i++) {
+          digit = digit * 10 + ((i < text.length()) ? text.charAt(i) - '0' : 0);
+        }
+        digits[count++] = (short) digit;
+      }
+    }
+
+    // Digits are least significant first, so skip the trailing zeros from the start
+    int low = 0;
+    while ((low < count) && (digits[low] == 0)) {
+      low++;
+    }
+    boolean zero = low == count;
+    short[] words = new short[4 + count - low];
+    words[0] = (short) (count - low);
+    words[1] = (short) (zero ? 0 : count - 1 - fractionDigits);
+    words[2] = (short) ((value.signum() < 0) ? NUMERIC_NEGATIVE : NUMERIC_POSITIVE);
+    words[3] = (short) displayScale;
+    for (int i = 4; i < words.length; i++) {
+      words[i] = digits[count - 1 - (i - 4)];
+    }
+    return words;
+  }
+
+  private static BigDecimal toBigDecimal(Number input) {
+    if (input instanceof BigDecimal) {
+      return (BigDecimal) input;
+    } else if ((input instanceof Long) || (input instanceof Integer) || (input instanceof Short)
+        || (input instanceof Byte)) {
+      return BigDecimal.valueOf(input.longValue());
+    } else if (input instanceof BigInteger) {
+      return new BigDecimal((BigInteger) input);
+    }
+    return new BigDecimal(input.toString());
+  }
+
   /**
    * parses an array of BigDecimal objects to a byte array.
    *
@@ -812,19 +893,7 @@ public class BinaryGenerator {
         return "-infinity".getBytes(StandardCharsets.UTF_8);
       }
 
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write(x.format(localDateFormatter).getBytes(StandardCharsets.UTF_8));
-
-        if (x.getYear() < 0) {
-          baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-        }
-
-        return baos.toByteArray();
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
+      return formatDateTime(x, null, null);
     }
 
     throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalDate to server");
@@ -844,6 +913,7 @@ public class BinaryGenerator {
     if (input instanceof LocalDate[]) {
       LocalDate[] in = (LocalDate[]) input;
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      byte[] scratch = new byte[IsoDateTime.MAX_LENGTH];
 
       try {
         baos.write('{');
@@ -865,11 +935,7 @@ public class BinaryGenerator {
             continue;
           }
 
-          baos.write(in[i].format(localDateFormatter).getBytes(StandardCharsets.UTF_8));
-
-          if (in[i].getYear() < 0) {
-            baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-          }
+          baos.write(scratch, 0, IsoDateTime.write(scratch, 0, in[i], null, null));
         }
         baos.write('}');
       } catch (IOException e) {
@@ -895,7 +961,7 @@ public class BinaryGenerator {
     if (input instanceof LocalTime) {
       LocalTime x = (LocalTime) input;
 
-      return x.format(localTimeFormatter).getBytes(StandardCharsets.UTF_8);
+      return formatDateTime(null, x, null);
     }
 
     throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalTime to server");
@@ -916,6 +982,7 @@ public class BinaryGenerator {
       LocalTime[] in = (LocalTime[]) input;
 
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      byte[] scratch = new byte[IsoDateTime.MAX_LENGTH];
 
       try {
         baos.write('{');
@@ -926,7 +993,7 @@ public class BinaryGenerator {
           if (in[i] == null) {
             baos.write("NULL".getBytes(StandardCharsets.UTF_8));
           } else {
-            baos.write(in[i].format(localTimeFormatter).getBytes(StandardCharsets.UTF_8));
+            baos.write(scratch, 0, IsoDateTime.write(scratch, 0, null, in[i], null));
           }
         }
         baos.write('}');
@@ -958,19 +1025,7 @@ public class BinaryGenerator {
         return "-infinity".getBytes(StandardCharsets.UTF_8);
       }
 
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write(x.format(localDateTimeFormatter).getBytes(StandardCharsets.UTF_8));
-
-        if (x.getYear() < 0) {
-          baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-        }
-
-        return baos.toByteArray();
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
+      return formatDateTime(x.toLocalDate(), x.toLocalTime(), null);
     }
 
     throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalDateTime to server");
@@ -990,6 +1045,7 @@ public class BinaryGenerator {
     if (input instanceof LocalDateTime[]) {
       LocalDateTime[] in = (LocalDateTime[]) input;
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      byte[] scratch = new byte[IsoDateTime.MAX_LENGTH];
 
       try {
         baos.write('{');
@@ -1011,11 +1067,7 @@ public class BinaryGenerator {
             continue;
           }
 
-          baos.write(in[i].format(localDateTimeFormatter).getBytes(StandardCharsets.UTF_8));
-
-          if (in[i].getYear() < 0) {
-            baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-          }
+          baos.write(scratch, 0, IsoDateTime.write(scratch, 0, in[i].toLocalDate(), in[i].toLocalTime(), null));
         }
         baos.write('}');
       } catch (IOException e) {
@@ -1100,7 +1152,7 @@ public class BinaryGenerator {
     if (input instanceof OffsetTime) {
       OffsetTime x = (OffsetTime) input;
 
-      return x.format(offsetTimeFormatter).getBytes(StandardCharsets.UTF_8);
+      return formatDateTime(null, x.toLocalTime(), x.getOffset());
     }
 
     throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a OffsetTime to server");
@@ -1120,6 +1172,7 @@ public class BinaryGenerator {
     if (input instanceof OffsetTime[]) {
       OffsetTime[] in = (OffsetTime[]) input;
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      byte[] scratch = new byte[IsoDateTime.MAX_LENGTH];
 
       try {
         baos.write('{');
@@ -1131,7 +1184,7 @@ public class BinaryGenerator {
           if (in[i] == null) {
             baos.write("NULL".getBytes(StandardCharsets.UTF_8));
           } else {
-            baos.write(in[i].format(offsetTimeFormatter).getBytes(StandardCharsets.UTF_8));
+            baos.write(scratch, 0, IsoDateTime.write(scratch, 0, null, in[i].toLocalTime(), in[i].getOffset()));
           }
         }
         baos.write('}');
@@ -1163,19 +1216,7 @@ public class BinaryGenerator {
         return "-infinity".getBytes(StandardCharsets.UTF_8);
       }
 
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write(x.format(offsetDateTimeFormatter).getBytes(StandardCharsets.UTF_8));
-
-        if (x.getYear() < 0) {
-          baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-        }
-
-        return baos.toByteArray();
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
+      return formatDateTime(x.toLocalDate(), x.toLocalTime(), x.getOffset());
     }
 
     throw new RuntimeException(input.getClass().getName()
@@ -1196,6 +1237,7 @@ public class BinaryGenerator {
     if (input instanceof OffsetDateTime[]) {
       OffsetDateTime[] in = (OffsetDateTime[]) input;
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      byte[] scratch = new byte[IsoDateTime.MAX_LENGTH];
 
       try {
         baos.write('{');
@@ -1217,11 +1259,8 @@ public class BinaryGenerator {
             continue;
           }
 
-          baos.write(in[i].format(offsetDateTimeFormatter).getBytes(StandardCharsets.UTF_8));
-
-          if (in[i].getYear() < 0) {
-            baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-          }
+          baos.write(scratch, 0, IsoDateTime.write(scratch, 0, in[i].toLocalDate(), in[i].toLocalTime(),
+              in[i].getOffset()));
         }
         baos.write('}');
       } catch (IOException e) {
@@ -1234,6 +1273,19 @@ public class BinaryGenerator {
         + " can't be converted to byte[] to send as a OffsetDateTime to server");
   }
 
+  /**
+   * Formats the date/time value in the ISO layout Postgres parses.
+   *
+   * @param date the date, or null for a time
+   * @param time the time, or null for a date
+   * @param offset the offset, or null if without time zone
+   * @return the text as bytes
+   */
+  private static byte[] formatDateTime(LocalDate date, LocalTime time, ZoneOffset offset) {
+    byte[] out = new byte[IsoDateTime.MAX_LENGTH];
+    return Arrays.copyOf(out, IsoDateTime.write(out, 0, date, time, offset));
+  }
+
   /**
    * Converts a Duration object to a string the database understands.
    * @param input a Duration
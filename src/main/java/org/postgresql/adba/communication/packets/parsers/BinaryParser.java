@@ -1,14 +1,47 @@
 package org.postgresql.adba.communication.packets.parsers;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.IntFunction;
 import org.postgresql.adba.util.BinaryHelper;
+import org.postgresql.adba.util.QuadFunction;
 
 public class BinaryParser {
+
+  /**
+   * Epoch of the binary date and time values.
+   */
+  private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+  private static final long POSTGRES_EPOCH_SECONDS = POSTGRES_EPOCH.toEpochSecond(ZoneOffset.UTC);
+
+  private static final BigInteger NUMERIC_BASE = BigInteger.valueOf(10000);
+
+  private static final int NUMERIC_NEGATIVE = 0x4000;
+
+  private static final int NUMERIC_NAN = 0xC000;
+
+  private static final int NUMERIC_POSITIVE_INFINITY = 0xD000;
+
+  private static final int NUMERIC_NEGATIVE_INFINITY = 0xF000;
+
+  private static final int NUMERIC_LONG_DIGITS = 4;
+
   public static Object boolsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return bytes[start] != 0;
   }
 
   public static Object byteasend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return Arrays.copyOfRange(bytes, start, end);
   }
 
   public static Object charsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -16,23 +49,77 @@ public class BinaryParser {
   }
 
   public static Object namesend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return textsend(bytes, start, end, requestedClass);
   }
 
+  /**
+   * Converts the bytes from the database to the requested class.
+   * @param bytes the number in binary
+   * @param start start of the value
+   * @param end end of the value
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
   public static Object int8send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    long value = readLong(bytes, start);
+
+    if (Integer.class.equals(requestedClass)) {
+      return TextParser.toInt(value);
+    }
+
+    if (Short.class.equals(requestedClass)) {
+      return TextParser.toShort(value);
+    }
+
+    return value;
   }
 
+  /**
+   * Converts the bytes from the database to the requested class.
+   * @param bytes the number in binary
+   * @param start start of the value
+   * @param end end of the value
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
   public static Object int2send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    short value = BinaryHelper.readShort(bytes[start], bytes[start + 1]);
+
+    if (Long.class.equals(requestedClass)) {
+      return (long) value;
+    }
+
+    if (Integer.class.equals(requestedClass)) {
+      return (int) value;
+    }
+
+    return value;
   }
 
   public static Object int2vectorsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
     throw new RuntimeException("not implemented yet");
   }
 
+  /**
+   * Converts the bytes from the database to the requested class.
+   * @param bytes the number in binary
+   * @param start start of the value
+   * @param end end of the value
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
   public static Object int4send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    return BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2], bytes[start + 3]);
+    int value = readInt(bytes, start);
+
+    if (Long.class.equals(requestedClass)) {
+      return (long) value;
+    }
+
+    if (Short.class.equals(requestedClass)) {
+      return TextParser.toShort(value);
+    }
+
+    return value;
   }
 
   public static Object regprocsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -104,11 +191,11 @@ public class BinaryParser {
   }
 
   public static Object float4send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return Float.intBitsToFloat(readInt(bytes, start));
   }
 
   public static Object float8send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return Double.longBitsToDouble(readLong(bytes, start));
   }
 
   public static Object abstimesend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -144,27 +231,70 @@ public class BinaryParser {
   }
 
   public static Object bpcharsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return new String(bytes, start, end - start, StandardCharsets.UTF_8).charAt(0);
   }
 
   public static Object varcharsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return textsend(bytes, start, end, requestedClass);
   }
 
+  /**
+   * Converts the bytes from the database to the requested class.
+   * @param bytes the days since 2000-01-01
+   * @param start start of the value
+   * @param end end of the value
+   * @param requestedClass the class that the user wanted
+   * @return a LocalDate
+   */
   public static Object date_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    int days = readInt(bytes, start);
+    if (days == Integer.MAX_VALUE) {
+      return LocalDate.MAX; // infinity
+    } else if (days == Integer.MIN_VALUE) {
+      return LocalDate.MIN; // -infinity
+    }
+    return POSTGRES_EPOCH.toLocalDate().plusDays(days);
   }
 
   public static Object time_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return LocalTime.ofNanoOfDay(readLong(bytes, start) * 1000);
   }
 
+  /**
+   * Converts the bytes from the database to the requested class.
+   * @param bytes the microseconds since 2000-01-01
+   * @param start start of the value
+   * @param end end of the value
+   * @param requestedClass the class that the user wanted
+   * @return a LocalDateTime, or LocalTime if requested
+   */
   public static Object timestamp_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    LocalDateTime ldt = toLocalDateTime(readLong(bytes, start));
+
+    if (LocalTime.class.equals(requestedClass)) {
+      return ldt.toLocalTime();
+    }
+
+    return ldt;
   }
 
+  /**
+   * Converts the bytes from the database to the requested class. The binary format carries no offset, so the value is
+   * in UTC rather than the session time zone of the text format.
+   * @param bytes the microseconds since 2000-01-01 UTC
+   * @param start start of the value
+   * @param end end of the value
+   * @param requestedClass the class that the user wanted
+   * @return an OffsetDateTime in UTC
+   */
   public static Object timestamptz_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    long micros = readLong(bytes, start);
+    if (micros == Long.MAX_VALUE) {
+      return OffsetDateTime.MAX; // infinity
+    } else if (micros == Long.MIN_VALUE) {
+      return OffsetDateTime.MIN; // -infinity
+    }
+    return toLocalDateTime(micros).atOffset(ZoneOffset.UTC);
   }
 
   public static Object interval_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -183,12 +313,85 @@ public class BinaryParser {
     throw new RuntimeException("not implemented yet");
   }
 
+  /**
+   * Converts the bytes from the database to the requested class.
+   * @param bytes the base 10000 digits with weight, sign and display scale
+   * @param start start of the value
+   * @param end end of the value
+   * @param requestedClass the class that the user wanted
+   * @return a BigDecimal
+   */
   public static Object numeric_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    short digits = BinaryHelper.readShort(bytes[start], bytes[start + 1]);
+    short weight = BinaryHelper.readShort(bytes[start + 2], bytes[start + 3]);
+    int sign = BinaryHelper.readShort(bytes[start + 4], bytes[start + 5]) & 0xFFFF;
+    short displayScale = BinaryHelper.readShort(bytes[start + 6], bytes[start + 7]);
+    if (sign >= NUMERIC_NAN) {
+      throw new NumberFormatException(numericSpecial(sign) + " can not be converted to BigDecimal");
+    }
+
+    // Weight is the base 10000 exponent of the first digit
+    int scale = (digits - 1 - weight) * 4;
+
+    // Accumulate the base 10000 digits, in a long while they fit (up to 16 decimal digits)
+    int pos = start + 8;
+    if (digits <= NUMERIC_LONG_DIGITS) {
+      long unscaled = 0;
+      for (int i = 0; i < digits; i++, pos += 2) {
+        unscaled = unscaled * 10000 + BinaryHelper.readShort(bytes[pos], bytes[pos + 1]);
+      }
+      return BigDecimal.valueOf((sign == NUMERIC_NEGATIVE) ? -unscaled : unscaled, scale)
+          .setScale(displayScale, RoundingMode.DOWN);
+    }
+    BigInteger unscaled = BigInteger.ZERO;
+    for (int i = 0; i < digits; i++, pos += 2) {
+      short digit = BinaryHelper.readShort(bytes[pos], bytes[pos + 1]);
+      unscaled = unscaled.multiply(NUMERIC_BASE).add(BigInteger.valueOf(digit));
+    }
+    if (sign == NUMERIC_NEGATIVE) {
+      unscaled = unscaled.negate();
+    }
+    return new BigDecimal(unscaled, scale).setScale(displayScale, RoundingMode.DOWN);
+  }
+
+  /**
+   * Decodes the binary numeric as the unscaled value at the scale, without creating a BigDecimal.
+   * @param bytes the base 10000 digits with weight, sign and display scale
+   * @param start start of the value
+   * @param scale the number of decimal places of the unscaled value
+   * @return the value multiplied by 10 to the power of the scale
+   * @throws ArithmeticException if the value has more decimal places than the scale or does not fit in a long
+   */
+  public static long numericUnscaled(byte[] bytes, int start, int scale) {
+    short digits = BinaryHelper.readShort(bytes[start], bytes[start + 1]);
+    short weight = BinaryHelper.readShort(bytes[start + 2], bytes[start + 3]);
+    int sign = BinaryHelper.readShort(bytes[start + 4], bytes[start + 5]) & 0xFFFF;
+    if (sign >= NUMERIC_NAN) {
+      throw new NumberFormatException(numericSpecial(sign) + " can not be converted to long");
+    }
+
+    long unscaled = 0;
+    int pos = start + 8;
+    for (int i = 0; i < digits; i++, pos += 2) {
+      unscaled = Math.addExact(Math.multiplyExact(unscaled, 10000), BinaryHelper.readShort(bytes[pos], bytes[pos + 1]));
+    }
+    if (unscaled != 0) {
+      int shift = scale - (digits - 1 - weight) * 4;
+      if (shift > 0) {
+        unscaled = Math.multiplyExact(unscaled, BinaryHelper.powerOfTen(shift));
+      } else if (shift < 0) {
+        // A non zero long is never a multiple of 10^19, so dropping more places always loses digits
+        if ((-shift > 18) || (unscaled % BinaryHelper.powerOfTen(-shift) != 0)) {
+          throw new ArithmeticException("more than " + scale + " decimal places");
+        }
+        unscaled /= BinaryHelper.powerOfTen(-shift);
+      }
+    }
+    return (sign == NUMERIC_NEGATIVE) ? -unscaled : unscaled;
   }
 
   public static Object textsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return new String(bytes, start, end - start, StandardCharsets.UTF_8);
   }
 
   public static Object regproceduresend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -224,7 +427,7 @@ public class BinaryParser {
   }
 
   public static Object uuid_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return new UUID(readLong(bytes, start), readLong(bytes, start + 8));
   }
 
   public static Object txid_snapshot_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -274,4 +477,134 @@ public class BinaryParser {
   public static Object record_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
     throw new RuntimeException("not implemented yet");
   }
+
+  public static Object boolArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::boolsend, Boolean[]::new);
+  }
+
+  public static Object byteaArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::byteasend, byte[][]::new);
+  }
+
+  public static Object int2ArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::int2send, Short[]::new);
+  }
+
+  public static Object int4ArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::int4send, Integer[]::new);
+  }
+
+  public static Object int8ArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::int8send, Long[]::new);
+  }
+
+  public static Object float4ArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::float4send, Float[]::new);
+  }
+
+  public static Object float8ArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::float8send, Double[]::new);
+  }
+
+  public static Object textArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::textsend, String[]::new);
+  }
+
+  public static Object bpcharArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::bpcharsend, Character[]::new);
+  }
+
+  public static Object uuidArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::uuid_send, UUID[]::new);
+  }
+
+  public static Object dateArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::date_send, LocalDate[]::new);
+  }
+
+  public static Object timeArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::time_send, LocalTime[]::new);
+  }
+
+  public static Object timestampArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::timestamp_send, LocalDateTime[]::new);
+  }
+
+  public static Object timestamptzArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::timestamptz_send, OffsetDateTime[]::new);
+  }
+
+  public static Object numericArraySend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
+    return arraySend(bytes, start, BinaryParser::numeric_send, BigDecimal[]::new);
+  }
+
+  /**
+   * Decodes a one dimensional array in the binary format.
+   *
+   * @param bytes    bytes of the data row
+   * @param start    start of the array value
+   * @param element  decodes each element
+   * @param newArray creates the resulting array
+   * @param <T>      element type
+   * @return the array
+   */
+  private static <T> T[] arraySend(byte[] bytes, int start, QuadFunction<byte[], Integer, Integer, Class<?>, Object> element,
+      IntFunction<T[]> newArray) {
+    int dimensions = readInt(bytes, start);
+    if (dimensions == 0) {
+      return newArray.apply(0);
+    }
+    if (dimensions != 1) {
+      throw new IllegalArgumentException("only one dimensional arrays are supported, not " + dimensions);
+    }
+
+    // header is dimensions, has null flag, element oid, then length and lower bound of the dimension
+    int length = readInt(bytes, start + 12);
+    T[] result = newArray.apply(length);
+    // stored through Object[] so the array store check verifies the element type
+    Object[] elements = result;
+    int pos = start + 20;
+    for (int i = 0; i < length; i++) {
+      int elementLength = readInt(bytes, pos);
+      pos += 4;
+      if (elementLength >= 0) {
+        elements[i] = element.apply(bytes, pos, pos + elementLength, null);
+        pos += elementLength;
+      }
+    }
+    return result;
+  }
+
+  private static LocalDateTime toLocalDateTime(long micros) {
+    if (micros == Long.MAX_VALUE) {
+      return LocalDateTime.MAX; // infinity
+    } else if (micros == Long.MIN_VALUE) {
+      return LocalDateTime.MIN; // -infinity
+    }
+    long seconds = Math.floorDiv(micros, 1_000_000L);
+    int nanos = (int) Math.floorMod(micros, 1_000_000L) * 1000;
+    return LocalDateTime.ofEpochSecond(POSTGRES_EPOCH_SECONDS + seconds, nanos, ZoneOffset.UTC);
+  }
+
+  /**
+   * Names the special value of the numeric sign: NaN, or the infinities of PostgreSQL 14 onwards.
+   */
+  private static String numericSpecial(int sign) {
+    switch (sign) {
+      case NUMERIC_POSITIVE_INFINITY:
+        return "Infinity";
+      case NUMERIC_NEGATIVE_INFINITY:
+        return "-Infinity";
+      default:
+        return "NaN";
+    }
+  }
+
+  private static int readInt(byte[] bytes, int pos) {
+    return BinaryHelper.readInt(bytes[pos], bytes[pos + 1], bytes[pos + 2], bytes[pos + 3]);
+  }
+
+  private static long readLong(byte[] bytes, int pos) {
+    return BinaryHelper.readLong(bytes, pos);
+  }
 }
@@ -0,0 +1,107 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Formats date/time values in the ISO layout Postgres parses, without allocating. Shared by the
+ * {@link BinaryGenerator} byte[] values and the {@link BinaryEncoder} parameters written to the network.
+ */
+final class IsoDateTime {
+
+  /**
+   * Longest text of a date/time value: ten digit year, time with nanoseconds, offset with seconds and BC.
+   */
+  static final int MAX_LENGTH = 48;
+
+  private IsoDateTime() {
+  }
+
+  /**
+   * Writes the date/time value as <code>yyyy-MM-dd HH:mm:ss.fffffffff+HH:mm</code>, leaving out the missing parts, the
+   * fraction when zero (and its trailing zeros) and the offset seconds when zero. Years before 1 AD are written as the
+   * year of the era followed by <code> BC</code>.
+   *
+   * @param out the array to write to, with at least {@link #MAX_LENGTH} bytes from the position
+   * @param pos the position to write from
+   * @param date the date, or null for a time
+   * @param time the time, or null for a date
+   * @param offset the offset, or null if without time zone
+   * @return the position after the value
+   */
+  static int write(byte[] out, int pos, LocalDate date, LocalTime time, ZoneOffset offset) {
+    if (date != null) {
+      int year = date.getYear();
+      int yearOfEra = (year <= 0) ? 1 - year : year;
+      pos = writeDigits(out, pos, yearOfEra, Math.max(4, digitCount(yearOfEra)));
+      out[pos++] = '-';
+      pos = writeDigits(out, pos, date.getMonthValue(), 2);
+      out[pos++] = '-';
+      pos = writeDigits(out, pos, date.getDayOfMonth(), 2);
+      if (time != null) {
+        out[pos++] = ' ';
+      }
+    }
+    if (time != null) {
+      pos = writeDigits(out, pos, time.getHour(), 2);
+      out[pos++] = ':';
+      pos = writeDigits(out, pos, time.getMinute(), 2);
+      out[pos++] = ':';
+      pos = writeDigits(out, pos, time.getSecond(), 2);
+      int nano = time.getNano();
+      if (nano != 0) {
+        out[pos++] = '.';
+        int digits = 9;
+        while (nano % 10 == 0) {
+          nano /= 10;
+          digits--;
+        }
+        pos = writeDigits(out, pos, nano, digits);
+      }
+    }
+    if (offset != null) {
+      int seconds = offset.getTotalSeconds();
+      out[pos++] = (byte) ((seconds < 0) ? '-' : '+');
+      seconds = Math.abs(seconds);
+      pos = writeDigits(out, pos, seconds / 3600, 2);
+      out[pos++] = ':';
+      pos = writeDigits(out, pos, (seconds / 60) % 60, 2);
+      if (seconds % 60 != 0) {
+        out[pos++] = ':';
+        pos = writeDigits(out, pos, seconds % 60, 2);
+      }
+    }
+    if ((date != null) && (date.getYear() <= 0)) {
+      out[pos++] = ' ';
+      out[pos++] = 'B';
+      out[pos++] = 'C';
+    }
+    return pos;
+  }
+
+  /**
+   * Writes the non negative value as the number of decimal digits, zero padded.
+   *
+   * @return the position after the digits
+   */
+  private static int writeDigits(byte[] out, int pos, int value, int digits) {
+    for (int i = pos + digits - 1; i >= pos; i--) {
+      out[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    return pos + digits;
+  }
+
+  /**
+   * Counts the decimal digits of the non negative value.
+   */
+  private static int digitCount(int value) {
+    int digits = 1;
+    while (value >= 10) {
+      value /= 10;
+      digits++;
+    }
+    return digits;
+  }
+}
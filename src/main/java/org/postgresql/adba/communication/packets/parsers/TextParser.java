@@ -5,13 +5,15 @@ import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,15 +36,20 @@ import org.postgresql.adba.pgdatatypes.OffsetDateTimeRange;
 import org.postgresql.adba.pgdatatypes.Path;
 import org.postgresql.adba.pgdatatypes.Point;
 import org.postgresql.adba.pgdatatypes.Polygon;
+import org.postgresql.adba.util.BinaryHelper;
+import org.postgresql.adba.util.QuadFunction;
 
 public class TextParser {
-  private static final DateTimeFormatter timestampWithoutTimeZoneFormatter = DateTimeFormatter
-      .ofPattern("yyyy-MM-dd HH:mm:ss[.SSSSSS]");
-  private static final DateTimeFormatter timestampWithTimeZoneFormatter = DateTimeFormatter
-      .ofPattern("yyyy-MM-dd HH:mm:ss[.SSSSSS]X");
-  private static final DateTimeFormatter localDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-  private static final DateTimeFormatter localTimeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss[.SSSSSS]");
-  private static final DateTimeFormatter offsetTimeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss[.SSSSSS]X");
+  private static final byte[] INFINITY = "infinity".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] NEGATIVE_INFINITY = "-infinity".getBytes(StandardCharsets.US_ASCII);
+
+  private static final long NOT_PLAIN_DECIMAL = -1;
+  private static final int FLOAT_EXACT_DIGITS = 7;
+  private static final int DOUBLE_EXACT_DIGITS = 15;
+  private static final int PACKED_DECIMAL_DIGITS = 16;
+  private static final float[] FLOAT_POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f};
+  private static final double[] DOUBLE_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+      1e11, 1e12, 1e13, 1e14, 1e15};
 
   private static final int IPV4_PART_COUNT = 4;
   private static final int IPV6_PART_COUNT = 8;
@@ -133,6 +140,579 @@ public class TextParser {
     return Integer.parseInt(in);
   }
 
+  /**
+   * Parses the decimal integer directly from the bytes, without creating a String.
+   * @param bytes the bytes containing the ASCII digits
+   * @param start start of the number
+   * @param end end of the number (exclusive)
+   * @return the number
+   * @throws NumberFormatException if not a valid long
+   */
+  public static long parseLong(byte[] bytes, int start, int end) {
+    int pos = start;
+    boolean negative = false;
+    if ((pos < end) && ((bytes[pos] == '-') || (bytes[pos] == '+'))) {
+      negative = bytes[pos] == '-';
+      pos++;
+    }
+    if (pos == end) {
+      throw new NumberFormatException("no digits in " + new String(bytes, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    // Accumulate negatively to allow for Long.MIN_VALUE
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long result = 0;
+    for (; pos < end; pos++) {
+      int digit = bytes[pos] - '0';
+      if ((digit < 0) || (digit > 9) || (result < limit / 10) || (result * 10 < limit + digit)) {
+        throw new NumberFormatException("invalid long " + new String(bytes, start, end - start,
+            StandardCharsets.UTF_8));
+      }
+      result = result * 10 - digit;
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Parses the boolean directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a Boolean
+   */
+  public static Object boolOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    return (end - start == 1) && (bytes[start] == 't');
+  }
+
+  /**
+   * Parses the number directly from the bytes of the text value, converting to the requested class.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
+  public static Object int8Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long value = parseLong(bytes, start, end);
+    if (Integer.class.equals(requestedClass)) {
+      return toInt(value);
+    }
+
+    if (Short.class.equals(requestedClass)) {
+      return toShort(value);
+    }
+
+    return value;
+  }
+
+  /**
+   * Parses the number directly from the bytes of the text value, converting to the requested class.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
+  public static Object int2Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long value = parseLong(bytes, start, end);
+    if (Long.class.equals(requestedClass)) {
+      return value;
+    }
+
+    if (Integer.class.equals(requestedClass)) {
+      return toInt(value);
+    }
+
+    return toShort(value);
+  }
+
+  /**
+   * Parses the number directly from the bytes of the text value, converting to the requested class.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
+  public static Object int4Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long value = parseLong(bytes, start, end);
+    if (Long.class.equals(requestedClass)) {
+      return value;
+    }
+
+    if (Short.class.equals(requestedClass)) {
+      return toShort(value);
+    }
+
+    return toInt(value);
+  }
+
+  /**
+   * Narrows the value to an int, as requested of a wider integer column.
+   */
+  static int toInt(long value) {
+    if ((value < Integer.MIN_VALUE) || (value > Integer.MAX_VALUE)) {
+      throw new NumberFormatException("Value out of range. Value:\"" + value + "\"");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Narrows the value to a short, as requested of a wider integer column.
+   */
+  static short toShort(long value) {
+    if ((value < Short.MIN_VALUE) || (value > Short.MAX_VALUE)) {
+      throw new NumberFormatException("Value out of range. Value:\"" + value + "\"");
+    }
+    return (short) value;
+  }
+
+  /**
+   * Parses the float directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a Float
+   */
+  public static Object float4Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    return parseFloat(bytes, start, end);
+  }
+
+  /**
+   * Parses the double directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a Double
+   */
+  public static Object float8Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    return parseDouble(bytes, start, end);
+  }
+
+  /**
+   * Parses the float from the bytes.
+   *
+   * <p>Plain decimals of up to 7 digits are exact as a float, as is the power of ten scaling them, so the single
+   * division is correctly rounded. Anything else (exponents, NaN, Infinity, more digits) is parsed from a String.
+   * @param bytes the bytes containing the ASCII number
+   * @param start start of the number
+   * @param end end of the number (exclusive)
+   * @return the number
+   * @throws NumberFormatException if not a valid float
+   */
+  public static float parseFloat(byte[] bytes, int start, int end) {
+    long decimal = parsePlainDecimal(bytes, start, end, FLOAT_EXACT_DIGITS);
+    if (decimal == NOT_PLAIN_DECIMAL) {
+      return Float.parseFloat(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+    }
+    float value = (float) (decimal >>> 8) / FLOAT_POWERS_OF_TEN[(int) (decimal & 0x7F)];
+    return ((decimal & 0x80) != 0) ? -value : value;
+  }
+
+  /**
+   * Parses the double from the bytes.
+   *
+   * <p>Plain decimals of up to 15 digits are exact as a double, as is the power of ten scaling them, so the single
+   * division is correctly rounded. Anything else (exponents, NaN, Infinity, more digits) is parsed from a String.
+   * @param bytes the bytes containing the ASCII number
+   * @param start start of the number
+   * @param end end of the number (exclusive)
+   * @return the number
+   * @throws NumberFormatException if not a valid double
+   */
+  public static double parseDouble(byte[] bytes, int start, int end) {
+    long decimal = parsePlainDecimal(bytes, start, end, DOUBLE_EXACT_DIGITS);
+    if (decimal == NOT_PLAIN_DECIMAL) {
+      return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+    }
+    double value = (double) (decimal >>> 8) / DOUBLE_POWERS_OF_TEN[(int) (decimal & 0x7F)];
+    return ((decimal & 0x80) != 0) ? -value : value;
+  }
+
+  /**
+   * Parses the number directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a BigDecimal
+   */
+  public static Object numericOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long decimal = parsePlainDecimal(bytes, start, end, PACKED_DECIMAL_DIGITS);
+    if (decimal == NOT_PLAIN_DECIMAL) {
+      return new BigDecimal(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+    }
+    long unscaled = decimal >>> 8;
+    return BigDecimal.valueOf(((decimal & 0x80) != 0) ? -unscaled : unscaled, (int) (decimal & 0x7F));
+  }
+
+  /**
+   * Parses the decimal directly from the bytes as the unscaled value at the scale, without creating a BigDecimal.
+   * @param bytes the bytes containing the ASCII decimal
+   * @param start start of the decimal
+   * @param end end of the decimal (exclusive)
+   * @param scale the number of decimal places of the unscaled value
+   * @return the value multiplied by 10 to the power of the scale
+   * @throws NumberFormatException if not a plain decimal
+   * @throws ArithmeticException if the value has more decimal places than the scale or does not fit in a long
+   */
+  public static long parseUnscaled(byte[] bytes, int start, int end, int scale) {
+    int pos = start;
+    boolean negative = false;
+    if ((pos < end) && ((bytes[pos] == '-') || (bytes[pos] == '+'))) {
+      negative = bytes[pos] == '-';
+      pos++;
+    }
+    long unscaled = 0;
+    int digits = 0;
+    int places = -1;
+    for (; pos < end; pos++) {
+      int digit = bytes[pos] - '0';
+      if ((digit >= 0) && (digit <= 9)) {
+        digits++;
+        if ((places >= 0) && (++places > scale)) {
+          if (digit != 0) {
+            throw new ArithmeticException("more than " + scale + " decimal places in "
+                + new String(bytes, start, end - start, StandardCharsets.UTF_8));
+          }
+        } else {
+          unscaled = Math.addExact(Math.multiplyExact(unscaled, 10), digit);
+        }
+      } else if ((bytes[pos] == '.') && (places < 0)) {
+        places = 0;
+      } else {
+        throw new NumberFormatException("invalid decimal " + new String(bytes, start, end - start,
+            StandardCharsets.UTF_8));
+      }
+    }
+    if (digits == 0) {
+      throw new NumberFormatException("no digits in " + new String(bytes, start, end - start, StandardCharsets.UTF_8));
+    }
+    unscaled = Math.multiplyExact(unscaled, BinaryHelper.powerOfTen(scale - Math.max(Math.min(places, scale), 0)));
+    return negative ? -unscaled : unscaled;
+  }
+
+  /**
+   * Parses an optionally signed decimal of only digits and a decimal point.
+   * @param maxDigits at most {@link #PACKED_DECIMAL_DIGITS}, so the digits fit in the packed result
+   * @return the unscaled digits shifted left by 8, with the sign in bit 7 and the scale in the low 7 bits, or
+   *     {@link #NOT_PLAIN_DECIMAL} if not such a decimal within the number of digits
+   */
+  private static long parsePlainDecimal(byte[] bytes, int start, int end, int maxDigits) {
+    int pos = start;
+    boolean negative = false;
+    if ((pos < end) && ((bytes[pos] == '-') || (bytes[pos] == '+'))) {
+      negative = bytes[pos] == '-';
+      pos++;
+    }
+    long unscaled = 0;
+    int digits = 0;
+    int scale = -1;
+    for (; pos < end; pos++) {
+      int digit = bytes[pos] - '0';
+      if ((digit >= 0) && (digit <= 9)) {
+        if (++digits > maxDigits) {
+          return NOT_PLAIN_DECIMAL;
+        }
+        unscaled = unscaled * 10 + digit;
+        if (scale >= 0) {
+          scale++;
+        }
+      } else if ((bytes[pos] == '.') && (scale < 0)) {
+        scale = 0;
+      } else {
+        return NOT_PLAIN_DECIMAL;
+      }
+    }
+    if (digits == 0) {
+      return NOT_PLAIN_DECIMAL;
+    }
+    return (unscaled << 8) | (negative ? 0x80 : 0) | Math.max(scale, 0);
+  }
+
+  /**
+   * Parses the date directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a LocalDate
+   */
+  public static Object dateOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    IsoDateTime iso = new IsoDateTime(bytes, start, end);
+    if (iso.matches(INFINITY)) {
+      return LocalDate.MAX;
+    } else if (iso.matches(NEGATIVE_INFINITY)) {
+      return LocalDate.MIN;
+    }
+    return iso.done(iso.date());
+  }
+
+  /**
+   * Parses the time directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a LocalTime
+   */
+  public static Object timeOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    IsoDateTime iso = new IsoDateTime(bytes, start, end);
+    return iso.done(iso.time());
+  }
+
+  /**
+   * Parses the time with time zone directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return an OffsetTime
+   */
+  public static Object timetzOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    IsoDateTime iso = new IsoDateTime(bytes, start, end);
+    LocalTime time = iso.time();
+    return iso.done(OffsetTime.of(time, iso.offset()));
+  }
+
+  /**
+   * Parses the timestamp directly from the bytes of the text value, as either a LocalDateTime or LocalTime based on
+   * what the user requested.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a LocalDateTime, or LocalTime if requested
+   */
+  public static Object timestampOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    LocalDateTime ldt = parseTimestamp(new IsoDateTime(bytes, start, end));
+
+    if (LocalTime.class.equals(requestedClass)) {
+      return ldt.toLocalTime();
+    }
+
+    return ldt;
+  }
+
+  private static LocalDateTime parseTimestamp(IsoDateTime iso) {
+    if (iso.matches(INFINITY)) {
+      return LocalDateTime.MAX;
+    } else if (iso.matches(NEGATIVE_INFINITY)) {
+      return LocalDateTime.MIN;
+    }
+    LocalDate date = iso.date();
+    iso.expect(' ');
+    return iso.done(LocalDateTime.of(date, iso.time()));
+  }
+
+  /**
+   * Parses the timestamp with time zone directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return an OffsetDateTime
+   */
+  public static Object timestampTimeZoneOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    IsoDateTime iso = new IsoDateTime(bytes, start, end);
+    if (iso.matches(INFINITY)) {
+      return OffsetDateTime.MAX;
+    } else if (iso.matches(NEGATIVE_INFINITY)) {
+      return OffsetDateTime.MIN;
+    }
+    LocalDate date = iso.date();
+    iso.expect(' ');
+    LocalTime time = iso.time();
+    return iso.done(OffsetDateTime.of(date, time, iso.offset()));
+  }
+
+  /**
+   * Parses the text of a date/time value from the database.
+   */
+  private static Object parseDateTime(String in, Class<?> requestedClass,
+      QuadFunction<byte[], Integer, Integer, Class<?>, Object> bytesParser) {
+    byte[] bytes = in.getBytes(StandardCharsets.ISO_8859_1);
+    return bytesParser.apply(bytes, 0, bytes.length, requestedClass);
+  }
+
+  /**
+   * Removes the quotes Postgres puts around array elements and range bounds containing a space.
+   */
+  private static String unquote(String in) {
+    if ((in.length() >= 2) && (in.charAt(0) == '"') && (in.charAt(in.length() - 1) == '"')) {
+      return in.substring(1, in.length() - 1);
+    }
+    return in;
+  }
+
+  /**
+   * Cursor over a date/time value in the ISO DateStyle output of Postgres, such as
+   * <code>2018-04-29 20:55:57.692132+02</code>, which parses the fixed layout without a DateTimeFormatter.
+   *
+   * <p>Years may have more than four digits, the fraction of a second one to six digits (or more, truncated to
+   * nanoseconds), offsets may have minutes and seconds, and BC dates end with <code> BC</code>.
+   */
+  private static final class IsoDateTime {
+    private final byte[] bytes;
+    private final int start;
+    private final int valueEnd;
+    private final int end;
+    private final boolean bc;
+    private int pos;
+
+    private IsoDateTime(byte[] bytes, int start, int end) {
+      this.bytes = bytes;
+      this.start = start;
+      this.valueEnd = end;
+      this.bc = (end - start > 3) && (bytes[end - 3] == ' ') && (bytes[end - 2] == 'B') && (bytes[end - 1] == 'C');
+      this.end = bc ? end - 3 : end;
+      this.pos = start;
+    }
+
+    private boolean matches(byte[] text) {
+      if (valueEnd - start != text.length) {
+        return false;
+      }
+      for (int i = 0; i < text.length; i++) {
+        if (bytes[start + i] != text[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private LocalDate date() {
+      int yearStart = pos;
+      int year = 0;
+      while ((pos < end) && (pos - yearStart < 9) && (bytes[pos] >= '0') && (bytes[pos] <= '9')) {
+        year = year * 10 + (bytes[pos++] - '0');
+      }
+      if (pos - yearStart < 4) {
+        throw error();
+      }
+      expect('-');
+      int month = digits(2);
+      expect('-');
+      int day = digits(2);
+      return LocalDate.of(bc ? 1 - year : year, month, day);
+    }
+
+    private LocalTime time() {
+      int hour = digits(2);
+      expect(':');
+      int minute = digits(2);
+      expect(':');
+      int second = digits(2);
+      int nano = 0;
+      if ((pos < end) && (bytes[pos] == '.')) {
+        pos++;
+        int fractionStart = pos;
+        for (; (pos < end) && (bytes[pos] >= '0') && (bytes[pos] <= '9'); pos++) {
+          if (pos - fractionStart < 9) {
+            nano = nano * 10 + (bytes[pos] - '0');
+          }
+        }
+        if (pos == fractionStart) {
+          throw error();
+        }
+        for (int i = pos - fractionStart; i < 9; i++) {
+          nano *= 10;
+        }
+      }
+      return LocalTime.of(hour, minute, second, nano);
+    }
+
+    private ZoneOffset offset() {
+      if ((pos >= end) || ((bytes[pos] != '+') && (bytes[pos] != '-'))) {
+        throw error();
+      }
+      boolean negative = bytes[pos++] == '-';
+      int seconds = digits(2) * 3600;
+      if ((pos < end) && (bytes[pos] == ':')) {
+        pos++;
+        seconds += digits(2) * 60;
+        if ((pos < end) && (bytes[pos] == ':')) {
+          pos++;
+          seconds += digits(2);
+        }
+      }
+      return ZoneOffset.ofTotalSeconds(negative ? -seconds : seconds);
+    }
+
+    private void expect(char c) {
+      if ((pos >= end) || (bytes[pos] != c)) {
+        throw error();
+      }
+      pos++;
+    }
+
+    private int digits(int count) {
+      if (end - pos < count) {
+        throw error();
+      }
+      int value = 0;
+      for (int i = 0; i < count; i++, pos++) {
+        int digit = bytes[pos] - '0';
+        if ((digit < 0) || (digit > 9)) {
+          throw error();
+        }
+        value = value * 10 + digit;
+      }
+      return value;
+    }
+
+    private <T> T done(T value) {
+      if (pos != end) {
+        throw error();
+      }
+      return value;
+    }
+
+    private DateTimeParseException error() {
+      String text = new String(bytes, start, valueEnd - start, StandardCharsets.UTF_8);
+      return new DateTimeParseException("Text '" + text + "' could not be parsed at index " + (pos - start), text,
+          pos - start);
+    }
+  }
+
+  /**
+   * Parses the uuid directly from the bytes of the text value.
+   * @param bytes the bytes of the row
+   * @param start start of the value
+   * @param end end of the value (exclusive)
+   * @param requestedClass the class that the user wanted
+   * @return a UUID
+   */
+  public static Object uuidOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    if ((end - start == 36) && (bytes[start + 8] == '-') && (bytes[start + 13] == '-')
+        && (bytes[start + 18] == '-') && (bytes[start + 23] == '-')) {
+      long mostSig = (parseHex(bytes, start, 8) << 32) | (parseHex(bytes, start + 9, 4) << 16)
+          | parseHex(bytes, start + 14, 4);
+      long leastSig = (parseHex(bytes, start + 19, 4) << 48) | parseHex(bytes, start + 24, 12);
+      return new UUID(mostSig, leastSig);
+    }
+    return uuidOut(new String(bytes, start, end - start, StandardCharsets.UTF_8), requestedClass);
+  }
+
+  /**
+   * Parses the fixed number of hex digits.
+   * @throws NumberFormatException if not all hex digits
+   */
+  private static long parseHex(byte[] bytes, int start, int count) {
+    long value = 0;
+    for (int pos = start; pos < start + count; pos++) {
+      int digit = Character.digit(bytes[pos], 16);
+      if (digit < 0) {
+        throw new NumberFormatException("invalid uuid " + new String(bytes, start, count, StandardCharsets.UTF_8));
+      }
+      value = (value << 4) | digit;
+    }
+    return value;
+  }
+
   public static Object regprocout(String in, Class<?> requestedClass) {
     throw new RuntimeException("not implemented yet");
   }
@@ -777,7 +1357,7 @@ public class TextParser {
   }
 
   public static Object dateOut(String in, Class<?> requestedClass) {
-    return LocalDate.parse(in, localDateFormatter);
+    return parseDateTime(in, requestedClass, TextParser::dateOut);
   }
 
   /**
@@ -799,7 +1379,7 @@ public class TextParser {
       if ("NULL".equals(parts[i])) {
         result[i] = null;
       } else {
-        result[i] = LocalDate.parse(parts[i], localDateFormatter);
+        result[i] = (LocalDate) dateOut(unquote(parts[i]), LocalDate.class);
       }
     }
 
@@ -807,7 +1387,7 @@ public class TextParser {
   }
 
   public static Object timeOut(String in, Class<?> requestedClass) {
-    return LocalTime.parse(in, localTimeFormatter);
+    return parseDateTime(in, requestedClass, TextParser::timeOut);
   }
 
   /**
@@ -829,7 +1409,7 @@ public class TextParser {
       if ("NULL".equals(parts[i])) {
         result[i] = null;
       } else {
-        result[i] = LocalTime.parse(parts[i], localTimeFormatter);
+        result[i] = (LocalTime) timeOut(parts[i], LocalTime.class);
       }
     }
 
@@ -843,13 +1423,7 @@ public class TextParser {
    * @return object
    */
   public static Object timestampOut(String in, Class<?> requestedClass) {
-    LocalDateTime ldt = LocalDateTime.parse(in, timestampWithoutTimeZoneFormatter);
-
-    if (LocalTime.class.equals(requestedClass)) {
-      return ldt.toLocalTime();
-    }
-
-    return ldt;
+    return parseDateTime(in, requestedClass, TextParser::timestampOut);
   }
 
   /**
@@ -871,7 +1445,7 @@ public class TextParser {
       if ("NULL".equals(parts[i])) {
         result[i] = null;
       } else {
-        result[i] = LocalDateTime.parse(parts[i].substring(1, parts[i].length() - 1), timestampWithoutTimeZoneFormatter);
+        result[i] = (LocalDateTime) timestampOut(unquote(parts[i]), LocalDateTime.class);
       }
     }
 
@@ -879,7 +1453,7 @@ public class TextParser {
   }
 
   public static Object timestampTimeZoneOut(String in, Class<?> requestedClass) {
-    return OffsetDateTime.parse(in, timestampWithTimeZoneFormatter);
+    return parseDateTime(in, requestedClass, TextParser::timestampTimeZoneOut);
   }
 
   /**
@@ -901,7 +1475,7 @@ public class TextParser {
       if ("NULL".equals(parts[i])) {
         result[i] = null;
       } else {
-        result[i] = OffsetDateTime.parse(parts[i].substring(1, parts[i].length() - 1), timestampWithTimeZoneFormatter);
+        result[i] = (OffsetDateTime) timestampTimeZoneOut(unquote(parts[i]), OffsetDateTime.class);
       }
     }
 
@@ -1023,7 +1597,7 @@ public class TextParser {
   }
 
   public static Object timetzOut(String in, Class<?> requestedClass) {
-    return OffsetTime.parse(in, offsetTimeFormatter);
+    return parseDateTime(in, requestedClass, TextParser::timetzOut);
   }
 
   /**
@@ -1045,7 +1619,7 @@ public class TextParser {
       if ("NULL".equals(parts[i])) {
         result[i] = null;
       } else {
-        result[i] = OffsetTime.parse(parts[i], offsetTimeFormatter);
+        result[i] = (OffsetTime) timetzOut(parts[i], OffsetTime.class);
       }
     }
 
@@ -1392,10 +1966,8 @@ public class TextParser {
     parts[1] = parts[1].substring(0, parts[1].length() - 1);
 
     return new LocalDateTimeRange(parts[0].length() == 0 ? null :
-        LocalDateTime.parse(parts[0].substring(1, parts[0].length() - 1),
-        timestampWithoutTimeZoneFormatter), parts[1].length() == 0 ? null :
-        LocalDateTime.parse(parts[1].substring(1, parts[1].length() - 1),
-        timestampWithoutTimeZoneFormatter), lowerInclusive, upperInclusive);
+        (LocalDateTime) timestampOut(unquote(parts[0]), LocalDateTime.class), parts[1].length() == 0 ? null :
+        (LocalDateTime) timestampOut(unquote(parts[1]), LocalDateTime.class), lowerInclusive, upperInclusive);
   }
 
   /**
@@ -1444,10 +2016,9 @@ public class TextParser {
     parts[1] = parts[1].substring(0, parts[1].length() - 1);
 
     return new OffsetDateTimeRange(parts[0].length() == 0 ? null :
-        OffsetDateTime.parse(parts[0].substring(1, parts[0].length() - 1),
-        timestampWithTimeZoneFormatter), parts[1].length() == 0 ? null :
-        OffsetDateTime.parse(parts[1].substring(1, parts[1].length() - 1),
-        timestampWithTimeZoneFormatter), lowerInclusive, upperInclusive);
+        (OffsetDateTime) timestampTimeZoneOut(unquote(parts[0]), OffsetDateTime.class), parts[1].length() == 0 ? null :
+        (OffsetDateTime) timestampTimeZoneOut(unquote(parts[1]), OffsetDateTime.class), lowerInclusive,
+        upperInclusive);
   }
 
   /**
@@ -1496,10 +2067,8 @@ public class TextParser {
     parts[1] = parts[1].substring(0, parts[1].length() - 1);
 
     return new LocalDateRange(parts[0].length() == 0 ? null :
-        LocalDate.parse(parts[0],
-            localDateFormatter), parts[1].length() == 0 ? null :
-        LocalDate.parse(parts[1],
-            localDateFormatter), lowerInclusive, upperInclusive);
+        (LocalDate) dateOut(unquote(parts[0]), LocalDate.class), parts[1].length() == 0 ? null :
+        (LocalDate) dateOut(unquote(parts[1]), LocalDate.class), lowerInclusive, upperInclusive);
   }
 
   /**
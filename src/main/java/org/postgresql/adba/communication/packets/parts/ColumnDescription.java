@@ -31,6 +31,26 @@ public class ColumnDescription {
     this.formatCode = FormatCodeTypes.lookup(formatCode);
   }
 
+  /**
+   * Creates a copy of this description for the column received in another format.
+   *
+   * @param formatCode format the column is received in
+   * @return the description for the format
+   */
+  public ColumnDescription withFormatCode(FormatCodeTypes formatCode) {
+    return new ColumnDescription(this, formatCode);
+  }
+
+  private ColumnDescription(ColumnDescription description, FormatCodeTypes formatCode) {
+    this.name = description.name;
+    this.objectIdOfTable = description.objectIdOfTable;
+    this.attributeNumberOfColumn = description.attributeNumberOfColumn;
+    this.columnType = description.columnType;
+    this.dataTypeSize = description.dataTypeSize;
+    this.typeModifier = description.typeModifier;
+    this.formatCode = formatCode;
+  }
+
   public String getName() {
     return name;
   }
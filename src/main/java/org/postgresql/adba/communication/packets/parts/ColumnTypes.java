@@ -8,6 +8,8 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.BiFunction;
 import org.postgresql.adba.communication.packets.parsers.BinaryParser;
 import org.postgresql.adba.communication.packets.parsers.TextParser;
@@ -27,16 +29,16 @@ import org.postgresql.adba.pgdatatypes.Polygon;
 import org.postgresql.adba.util.QuadFunction;
 
 public enum ColumnTypes {
-  BOOL(16, TextParser::boolOut, BinaryParser::boolsend, boolean.class, PgAdbaType.BOOLEAN),
-  BYTEA(17, TextParser::byteaOut, BinaryParser::byteasend, byte[].class, PgAdbaType.BLOB),
+  BOOL(16, TextParser::boolOut, TextParser::boolOut, BinaryParser::boolsend, boolean.class, PgAdbaType.BOOLEAN, true),
+  BYTEA(17, TextParser::byteaOut, BinaryParser::byteasend, byte[].class, PgAdbaType.BLOB, true),
   CHAR(18, TextParser::charOut, BinaryParser::charsend, Character.class, PgAdbaType.CHAR),
-  NAME(19, TextParser::nameout, BinaryParser::namesend, String.class, PgAdbaType.VARCHAR),
-  INT8(20, TextParser::int8Out, BinaryParser::int8send, long.class, PgAdbaType.BIGINT),
-  INT2(21, TextParser::int2Out, BinaryParser::int2send, short.class, PgAdbaType.SMALLINT),
+  NAME(19, TextParser::nameout, BinaryParser::namesend, String.class, PgAdbaType.VARCHAR, true),
+  INT8(20, TextParser::int8Out, TextParser::int8Out, BinaryParser::int8send, long.class, PgAdbaType.BIGINT, true),
+  INT2(21, TextParser::int2Out, TextParser::int2Out, BinaryParser::int2send, short.class, PgAdbaType.SMALLINT, true),
   INT2VECTOR(22, TextParser::int2vectorout, BinaryParser::int2vectorsend, int[].class, PgAdbaType.ARRAY),
-  INT4(23, TextParser::int4Out, BinaryParser::int4send, int.class, PgAdbaType.INTEGER),
+  INT4(23, TextParser::int4Out, TextParser::int4Out, BinaryParser::int4send, int.class, PgAdbaType.INTEGER, true),
   REGPROC(24, TextParser::regprocout, BinaryParser::regprocsend, null, null),
-  TEXT(25, TextParser::textOut, BinaryParser::textsend, String.class, PgAdbaType.LONGVARCHAR),
+  TEXT(25, TextParser::textOut, BinaryParser::textsend, String.class, PgAdbaType.LONGVARCHAR, true),
   OID(26, TextParser::oidOut, BinaryParser::oidsend, null, null),
   TID(27, TextParser::tidout, BinaryParser::tidsend, null, null),
   XID(28, TextParser::xidout, BinaryParser::xidsend, null, null),
@@ -62,8 +64,10 @@ public enum ColumnTypes {
   _LINE(629, TextParser::lineOutArray, BinaryParser::array_send, Line[].class, PgAdbaType.LINE_ARRAY),
   CIDR(650, TextParser::cidrOut, BinaryParser::cidr_send, InetAddress.class, PgAdbaType.CIDR),
   _CIDR(651, TextParser::cidrOutArray, BinaryParser::array_send, InetAddress[].class, PgAdbaType.CIDR_ARRAY),
-  FLOAT4(700, TextParser::float4Out, BinaryParser::float4send, float.class, PgAdbaType.FLOAT),
-  FLOAT8(701, TextParser::float8Out, BinaryParser::float8send, double.class, PgAdbaType.DOUBLE),
+  FLOAT4(700, TextParser::float4Out, TextParser::float4Out, BinaryParser::float4send,
+      float.class, PgAdbaType.FLOAT, true),
+  FLOAT8(701, TextParser::float8Out, TextParser::float8Out, BinaryParser::float8send,
+      double.class, PgAdbaType.DOUBLE, true),
   ABSTIME(702, TextParser::abstimeout, BinaryParser::abstimesend, null, null),
   RELTIME(703, TextParser::reltimeout, BinaryParser::reltimesend, null, null),
   TINTERVAL(704, TextParser::tintervalout, BinaryParser::tintervalsend, null, null),
@@ -74,28 +78,31 @@ public enum ColumnTypes {
   _MONEY(791, TextParser::array_out, BinaryParser::array_send, null, null),
   MACADDR(829, TextParser::macaddr_out, BinaryParser::macaddr_send, null, null),
   INET(869, TextParser::inet_out, BinaryParser::inet_send, null, null),
-  _BOOL(1000, TextParser::booleanArrayOut, BinaryParser::array_send, boolean[].class, PgAdbaType.BOOLEAN_ARRAY),
-  _BYTEA(1001, TextParser::byteaArrayOut, BinaryParser::array_send, byte[][].class, PgAdbaType.BYTEA_ARRAY),
+  _BOOL(1000, TextParser::booleanArrayOut, BinaryParser::boolArraySend, boolean[].class,
+      PgAdbaType.BOOLEAN_ARRAY, true),
+  _BYTEA(1001, TextParser::byteaArrayOut, BinaryParser::byteaArraySend, byte[][].class, PgAdbaType.BYTEA_ARRAY, true),
   _CHAR(1002, TextParser::array_out, BinaryParser::array_send, char[].class, PgAdbaType.ARRAY),
   _NAME(1003, TextParser::array_out, BinaryParser::array_send, String[].class, PgAdbaType.ARRAY),
-  _INT2(1005, TextParser::int2ArrayOut, BinaryParser::array_send, short[].class, PgAdbaType.SHORT_ARRAY),
+  _INT2(1005, TextParser::int2ArrayOut, BinaryParser::int2ArraySend, short[].class, PgAdbaType.SHORT_ARRAY, true),
   _INT2VECTOR(1006, TextParser::array_out, BinaryParser::array_send, short[].class, PgAdbaType.ARRAY),
-  _INT4(1007, TextParser::int4ArrayOut, BinaryParser::array_send, int[].class, PgAdbaType.INTEGER_ARRAY),
+  _INT4(1007, TextParser::int4ArrayOut, BinaryParser::int4ArraySend, int[].class, PgAdbaType.INTEGER_ARRAY, true),
   _REGPROC(1008, TextParser::array_out, BinaryParser::array_send, null, null),
-  _TEXT(1009, TextParser::textArrayOut, BinaryParser::array_send, String.class, PgAdbaType.STRING_ARRAY),
+  _TEXT(1009, TextParser::textArrayOut, BinaryParser::textArraySend, String.class, PgAdbaType.STRING_ARRAY, true),
   _TID(1010, TextParser::array_out, BinaryParser::array_send, null, null),
   _XID(1011, TextParser::array_out, BinaryParser::array_send, null, null),
   _CID(1012, TextParser::array_out, BinaryParser::array_send, null, null),
   _OIDVECTOR(1013, TextParser::array_out, BinaryParser::array_send, null, null),
-  _BPCHAR(1014, TextParser::bpCharOutArray, BinaryParser::array_send, char[].class, PgAdbaType.CHAR_ARRAY),
-  _VARCHAR(1015, TextParser::textArrayOut, BinaryParser::array_send, String[].class, PgAdbaType.STRING_ARRAY),
-  _INT8(1016, TextParser::int8ArrayOut, BinaryParser::array_send, long[].class, PgAdbaType.LONG_ARRAY),
+  _BPCHAR(1014, TextParser::bpCharOutArray, BinaryParser::bpcharArraySend, char[].class, PgAdbaType.CHAR_ARRAY, true),
+  _VARCHAR(1015, TextParser::textArrayOut, BinaryParser::textArraySend, String[].class, PgAdbaType.STRING_ARRAY, true),
+  _INT8(1016, TextParser::int8ArrayOut, BinaryParser::int8ArraySend, long[].class, PgAdbaType.LONG_ARRAY, true),
   _POINT(1017, TextParser::pointOutArray, BinaryParser::array_send, Point[].class, PgAdbaType.POINT_ARRAY),
-  _LSEG(1018, TextParser::lineSegmentOutArray, BinaryParser::array_send, LineSegment[].class, PgAdbaType.LINE_SEGMENT_ARRAY),
+  _LSEG(1018, TextParser::lineSegmentOutArray, BinaryParser::array_send,
+      LineSegment[].class, PgAdbaType.LINE_SEGMENT_ARRAY),
   _PATH(1019, TextParser::pathOutArray, BinaryParser::array_send, Path[].class, PgAdbaType.PATH_ARRAY),
   _BOX(1020, TextParser::boxOutArray, BinaryParser::array_send, Box[].class, PgAdbaType.BOX_ARRAY),
-  _FLOAT4(1021, TextParser::floatArrayOut, BinaryParser::array_send, float[].class, PgAdbaType.FLOAT_ARRAY),
-  _FLOAT8(1022, TextParser::doubleArrayOut, BinaryParser::array_send, double[].class, PgAdbaType.DOUBLE_ARRAY),
+  _FLOAT4(1021, TextParser::floatArrayOut, BinaryParser::float4ArraySend, float[].class, PgAdbaType.FLOAT_ARRAY, true),
+  _FLOAT8(1022, TextParser::doubleArrayOut, BinaryParser::float8ArraySend, double[].class,
+      PgAdbaType.DOUBLE_ARRAY, true),
   _ABSTIME(1023, TextParser::array_out, BinaryParser::array_send, null, null),
   _RELTIME(1024, TextParser::array_out, BinaryParser::array_send, null, null),
   _TINTERVAL(1025, TextParser::array_out, BinaryParser::array_send, null, null),
@@ -105,30 +112,38 @@ public enum ColumnTypes {
   _ACLITEM(1034, TextParser::array_out, BinaryParser::array_send, null, null),
   _MACADDR(1040, TextParser::array_out, BinaryParser::array_send, null, null),
   _INET(1041, TextParser::array_out, BinaryParser::array_send, InetAddress[].class, null),
-  BPCHAR(1042, TextParser::bpCharOut, BinaryParser::bpcharsend, char.class, PgAdbaType.CHAR),
-  VARCHAR(1043, TextParser::varcharout, BinaryParser::varcharsend, String.class, PgAdbaType.VARCHAR),
-  DATE(1082, TextParser::dateOut, BinaryParser::date_send, LocalDate.class, PgAdbaType.DATE),
-  TIME(1083, TextParser::timeOut, BinaryParser::time_send, LocalTime.class, PgAdbaType.TIME),
-  TIMESTAMP(1114, TextParser::timestampOut, BinaryParser::timestamp_send, LocalDateTime.class, PgAdbaType.TIMESTAMP),
-  _TIMESTAMP(1115, TextParser::timestampOutArray, BinaryParser::array_send, LocalDateTime[].class, PgAdbaType.TIMESTAMP_ARRAY),
-  _DATE(1182, TextParser::dateOutArray, BinaryParser::array_send, LocalDate[].class, PgAdbaType.DATE_ARRAY),
-  _TIME(1183, TextParser::timeOutArray, BinaryParser::array_send, LocalTime[].class, PgAdbaType.TIME_ARRAY),
-  TIMESTAMPTZ(1184, TextParser::timestampTimeZoneOut, BinaryParser::timestamptz_send, OffsetDateTime.class,
-      PgAdbaType.TIMESTAMP_WITH_TIME_ZONE),
-  _TIMESTAMPTZ(1185, TextParser::timestampTimeZoneOutArray, BinaryParser::array_send, OffsetDateTime[].class,
+  BPCHAR(1042, TextParser::bpCharOut, BinaryParser::bpcharsend, char.class, PgAdbaType.CHAR, true),
+  VARCHAR(1043, TextParser::varcharout, BinaryParser::varcharsend, String.class, PgAdbaType.VARCHAR, true),
+  DATE(1082, TextParser::dateOut, TextParser::dateOut, BinaryParser::date_send, LocalDate.class, PgAdbaType.DATE, true),
+  TIME(1083, TextParser::timeOut, TextParser::timeOut, BinaryParser::time_send, LocalTime.class, PgAdbaType.TIME,
+      true),
+  TIMESTAMP(1114, TextParser::timestampOut, TextParser::timestampOut, BinaryParser::timestamp_send, LocalDateTime.class,
+      PgAdbaType.TIMESTAMP, true),
+  _TIMESTAMP(1115, TextParser::timestampOutArray, BinaryParser::timestampArraySend, LocalDateTime[].class,
+      PgAdbaType.TIMESTAMP_ARRAY, true),
+  _DATE(1182, TextParser::dateOutArray, BinaryParser::dateArraySend, LocalDate[].class, PgAdbaType.DATE_ARRAY, true),
+  _TIME(1183, TextParser::timeOutArray, BinaryParser::timeArraySend, LocalTime[].class, PgAdbaType.TIME_ARRAY, true),
+  // Received as text, as the binary format is in UTC rather than the session time zone
+  TIMESTAMPTZ(1184, TextParser::timestampTimeZoneOut, TextParser::timestampTimeZoneOut, BinaryParser::timestamptz_send,
+      OffsetDateTime.class, PgAdbaType.TIMESTAMP_WITH_TIME_ZONE, false),
+  _TIMESTAMPTZ(1185, TextParser::timestampTimeZoneOutArray, BinaryParser::timestamptzArraySend, OffsetDateTime[].class,
       PgAdbaType.TIMESTAMP_WITH_TIME_ZONE_ARRAY),
   INTERVAL(1186, TextParser::intervalOut, BinaryParser::interval_send, Duration.class, PgAdbaType.INTERVAL),
   _INTERVAL(1187, TextParser::intervalOutArray, BinaryParser::array_send, Duration[].class, PgAdbaType.INTERVAL_ARRAY),
-  _NUMERIC(1231, TextParser::numericOutArray, BinaryParser::array_send, BigDecimal[].class, PgAdbaType.NUMERIC_ARRAY),
+  _NUMERIC(1231, TextParser::numericOutArray, BinaryParser::numericArraySend, BigDecimal[].class,
+      PgAdbaType.NUMERIC_ARRAY, true),
   PG_DATABASE(1248, TextParser::record_out, BinaryParser::record_send, null, null),
   _CSTRING(1263, TextParser::array_out, BinaryParser::array_send, null, null),
-  TIMETZ(1266, TextParser::timetzOut, BinaryParser::timetz_send, OffsetTime.class, PgAdbaType.TIME_WITH_TIME_ZONE),
-  _TIMETZ(1270, TextParser::timetzOutArray, BinaryParser::array_send, OffsetTime[].class, PgAdbaType.TIME_WITH_TIME_ZONE_ARRAY),
+  TIMETZ(1266, TextParser::timetzOut, TextParser::timetzOut, BinaryParser::timetz_send, OffsetTime.class,
+      PgAdbaType.TIME_WITH_TIME_ZONE, false),
+  _TIMETZ(1270, TextParser::timetzOutArray, BinaryParser::array_send,
+      OffsetTime[].class, PgAdbaType.TIME_WITH_TIME_ZONE_ARRAY),
   BIT(1560, TextParser::bitOut, BinaryParser::bit_send, Boolean.class, PgAdbaType.BIT),
   _BIT(1561, TextParser::bitOutArray, BinaryParser::array_send, byte[][].class, PgAdbaType.BIT_ARRAY),
   VARBIT(1562, TextParser::varBitOut, BinaryParser::varbit_send, byte[].class, PgAdbaType.BIT),
   _VARBIT(1563, TextParser::bitOutArray, BinaryParser::array_send, byte[][].class, PgAdbaType.BIT_ARRAY),
-  NUMERIC(1700, TextParser::numericOut, BinaryParser::numeric_send, BigDecimal.class, PgAdbaType.NUMERIC),
+  NUMERIC(1700, TextParser::numericOut, TextParser::numericOut, BinaryParser::numeric_send,
+      BigDecimal.class, PgAdbaType.NUMERIC, true),
   REFCURSOR(1790, TextParser::textOut, BinaryParser::textsend, null, null),
   _REFCURSOR(2201, TextParser::array_out, BinaryParser::array_send, null, null),
   REGPROCEDURE(2202, TextParser::regprocedureout, BinaryParser::regproceduresend, null, null),
@@ -156,8 +171,10 @@ public enum ColumnTypes {
   PG_AUTHID(2842, TextParser::record_out, BinaryParser::record_send, null, null),
   PG_AUTH_MEMBERS(2843, TextParser::record_out, BinaryParser::record_send, null, null),
   _TXID_SNAPSHOT(2949, TextParser::array_out, BinaryParser::array_send, null, null),
-  UUID(2950, TextParser::uuidOut, BinaryParser::uuid_send, java.util.UUID.class, PgAdbaType.UUID),
-  _UUID(2951, TextParser::uuidOutArray, BinaryParser::array_send, java.util.UUID[].class, PgAdbaType.UUID_ARRAY),
+  UUID(2950, TextParser::uuidOut, TextParser::uuidOut, BinaryParser::uuid_send,
+      java.util.UUID.class, PgAdbaType.UUID, true),
+  _UUID(2951, TextParser::uuidOutArray, BinaryParser::uuidArraySend, java.util.UUID[].class,
+      PgAdbaType.UUID_ARRAY, true),
   TXID_SNAPSHOT(2970, TextParser::txid_snapshot_out, BinaryParser::txid_snapshot_send, null, null),
   FDW_HANDLER(3115, TextParser::fdw_handler_out, null, null, null),
   PG_LSN(3220, TextParser::pg_lsn_out, BinaryParser::pg_lsn_send, null, null),
@@ -192,31 +209,58 @@ public enum ColumnTypes {
       PgAdbaType.OFFSET_DATE_TIME_RANGE),
   _TSTZRANGE(3911, TextParser::offsetDateTimeRangeArrayOut, BinaryParser::array_send, OffsetDateTimeRange[].class,
       PgAdbaType.OFFSET_DATE_TIME_RANGE_ARRAY),
-  DATERANGE(3912, TextParser::localDateRangeOut, BinaryParser::range_send, LocalDateRange.class, PgAdbaType.LOCAL_DATE_RANGE),
+  DATERANGE(3912, TextParser::localDateRangeOut, BinaryParser::range_send,
+      LocalDateRange.class, PgAdbaType.LOCAL_DATE_RANGE),
   _DATERANGE(3913, TextParser::localDateRangeArrayOut, BinaryParser::array_send, LocalDateRange[].class,
       PgAdbaType.LOCAL_DATE_RANGE_ARRAY),
   INT8RANGE(3926, TextParser::longRangeOut, BinaryParser::range_send, LongRange.class, PgAdbaType.LONG_RANGE),
-  _INT8RANGE(3927, TextParser::longRangeOutArray, BinaryParser::array_send, LongRange[].class, PgAdbaType.LONG_RANGE_ARRAY),
+  _INT8RANGE(3927, TextParser::longRangeOutArray, BinaryParser::array_send,
+      LongRange[].class, PgAdbaType.LONG_RANGE_ARRAY),
   REGNAMESPACE(4089, TextParser::regnamespaceout, BinaryParser::regnamespacesend, null, null),
   _REGNAMESPACE(4090, TextParser::array_out, BinaryParser::array_send, null, null),
   REGROLE(4096, TextParser::regroleout, BinaryParser::regrolesend, null, null),
   _REGROLE(4097, TextParser::array_out, BinaryParser::array_send, null, null),
   OTHER(0, TextParser::passthrough, null, null, null);
 
+  private static final Map<Integer, ColumnTypes> BY_OID = new HashMap<>();
+
+  static {
+    for (ColumnTypes ct : values()) {
+      BY_OID.putIfAbsent(ct.oid, ct);
+    }
+  }
+
   private final int oid;
   private final BiFunction<String, Class<?>, Object> textParser;
+  private final QuadFunction<byte[], Integer, Integer, Class<?>, Object> textBytesParser;
   private final QuadFunction<byte[], Integer, Integer, Class<?>, Object> binaryParser;
-  private final Class clazz;
+  private final Class<?> clazz;
   private final PgAdbaType type;
+  private final boolean binaryDecodable;
+
+  ColumnTypes(int oid, BiFunction<String, Class<?>, Object> textParser,
+      QuadFunction<byte[], Integer, Integer, Class<?>, Object> binaryParser,
+      Class<?> c, PgAdbaType type) {
+    this(oid, textParser, binaryParser, c, type, false);
+  }
+
+  ColumnTypes(int oid, BiFunction<String, Class<?>, Object> textParser,
+      QuadFunction<byte[], Integer, Integer, Class<?>, Object> binaryParser,
+      Class<?> c, PgAdbaType type, boolean binaryDecodable) {
+    this(oid, textParser, null, binaryParser, c, type, binaryDecodable);
+  }
 
   ColumnTypes(int oid, BiFunction<String, Class<?>, Object> textParser,
+      QuadFunction<byte[], Integer, Integer, Class<?>, Object> textBytesParser,
       QuadFunction<byte[], Integer, Integer, Class<?>, Object> binaryParser,
-      Class c, PgAdbaType type) {
+      Class<?> c, PgAdbaType type, boolean binaryDecodable) {
     this.oid = oid;
     this.textParser = textParser;
+    this.textBytesParser = textBytesParser;
     this.binaryParser = binaryParser;
     this.clazz = c;
     this.type = type;
+    this.binaryDecodable = binaryDecodable;
   }
 
   /**
@@ -225,25 +269,36 @@ public enum ColumnTypes {
    * @return the ColumnTypes object
    */
   public static ColumnTypes lookup(int oid) {
-    for (ColumnTypes ct : values()) {
-      if (ct.oid == oid) {
-        return ct;
-      }
-    }
-
-    return OTHER;
+    return BY_OID.getOrDefault(oid, OTHER);
   }
 
   public BiFunction<String, Class<?>, Object> getTextParser() {
     return textParser;
   }
 
+  /**
+   * Parser of the text format directly from the bytes of the value, so no String is created for the value.
+   * @return the parser, or null if the column is only parsed from a String
+   */
+  public QuadFunction<byte[], Integer, Integer, Class<?>, Object> getTextBytesParser() {
+    return textBytesParser;
+  }
+
   public QuadFunction<byte[], Integer, Integer, Class<?>, Object> getBinaryParser() {
     return binaryParser;
   }
 
+  /**
+   * Indicates if the binary parser decodes the column, so results of the column may be requested in the binary format.
+   * @return true if the column may be received in the binary format
+   */
+  public boolean isBinaryDecodable() {
+    return binaryDecodable;
+  }
+
+  @SuppressWarnings("unchecked")
   public <T> Class<T> javaType() {
-    return clazz;
+    return (Class<T>) clazz;
   }
 
   public PgAdbaType sqlType() {
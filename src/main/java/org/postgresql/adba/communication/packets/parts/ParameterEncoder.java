@@ -0,0 +1,44 @@
+package org.postgresql.adba.communication.packets.parts;
+
+import java.io.IOException;
+import java.util.function.Function;
+import org.postgresql.adba.communication.NetworkOutputStream;
+
+/**
+ * Encodes a bind parameter value straight into the {@link NetworkOutputStream}.
+ *
+ * <p>The encoder writes the complete parameter, being the int32 length followed by the value bytes. A
+ * <code>null</code> value is written as length -1.
+ */
+@FunctionalInterface
+public interface ParameterEncoder {
+
+  /**
+   * Adapts a byte generator (from {@link org.postgresql.adba.communication.packets.parsers.BinaryGenerator}) to a
+   * {@link ParameterEncoder}. An empty byte array from the generator is sent as <code>null</code>.
+   *
+   * @param byteGenerator Generates the bytes for the value.
+   * @return {@link ParameterEncoder} writing the generated bytes.
+   */
+  static ParameterEncoder of(Function<Object, byte[]> byteGenerator) {
+    return (value, wire) -> {
+      byte[] data = byteGenerator.apply(value);
+      if (data.length == 0) { // handling the null special case
+        wire.writeInt32(-1);
+      } else {
+        wire.writeInt32(data.length);
+        wire.write(data);
+      }
+    };
+  }
+
+  /**
+   * Writes the parameter.
+   *
+   * @param value Value of the parameter. May be <code>null</code>.
+   * @param wire  {@link NetworkOutputStream} to write the parameter.
+   * @throws IOException If fails to write the parameter.
+   */
+  void encode(Object value, NetworkOutputStream wire) throws IOException;
+
+}
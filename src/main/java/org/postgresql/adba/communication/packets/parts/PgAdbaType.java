@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.function.Function;
 import jdk.incubator.sql2.AdbaType;
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.packets.parsers.BinaryEncoder;
 import org.postgresql.adba.communication.packets.parsers.BinaryGenerator;
 import org.postgresql.adba.pgdatatypes.Box;
 import org.postgresql.adba.pgdatatypes.Circle;
@@ -46,19 +47,23 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code SMALLINT}.
    */
-  SMALLINT("smallint", 21, AdbaType.SMALLINT, BinaryGenerator::fromSmallInt, FormatCodeTypes.BINARY),
+  SMALLINT("smallint", 21, AdbaType.SMALLINT, BinaryGenerator::fromSmallInt,
+      BinaryEncoder::encodeSmallInt, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code INTEGER}.
    */
-  INTEGER("integer", 23, AdbaType.INTEGER, BinaryGenerator::fromInt, FormatCodeTypes.BINARY),
+  INTEGER("integer", 23, AdbaType.INTEGER, BinaryGenerator::fromInt,
+      BinaryEncoder::encodeInt, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code BIGINT}.
    */
-  BIGINT("bigint", 20, AdbaType.BIGINT, BinaryGenerator::fromBigInt, FormatCodeTypes.BINARY),
+  BIGINT("bigint", 20, AdbaType.BIGINT, BinaryGenerator::fromBigInt,
+      BinaryEncoder::encodeBigInt, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code FLOAT}.
    */
-  FLOAT("float", 700, AdbaType.FLOAT, BinaryGenerator::fromFloat, FormatCodeTypes.BINARY),
+  FLOAT("float", 700, AdbaType.FLOAT, BinaryGenerator::fromFloat,
+      BinaryEncoder::encodeFloat, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code FLOAT}.
    */
@@ -70,15 +75,18 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code REAL}.
    */
-  REAL("float", 700, AdbaType.REAL, BinaryGenerator::fromFloat, FormatCodeTypes.BINARY),
+  REAL("float", 700, AdbaType.REAL, BinaryGenerator::fromFloat,
+      BinaryEncoder::encodeFloat, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code DOUBLE}.
    */
-  DOUBLE("double", 701, AdbaType.DOUBLE, BinaryGenerator::fromDouble, FormatCodeTypes.BINARY),
+  DOUBLE("double", 701, AdbaType.DOUBLE, BinaryGenerator::fromDouble,
+      BinaryEncoder::encodeDouble, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code NUMERIC}.
    */
-  NUMERIC("numeric", 1700, AdbaType.NUMERIC, BinaryGenerator::fromBigDecimal, FormatCodeTypes.TEXT),
+  NUMERIC("numeric", 1700, AdbaType.NUMERIC, BinaryGenerator::fromBigDecimal,
+      BinaryEncoder::encodeNumeric, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code NUMERIC}.
    */
@@ -86,7 +94,8 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code DECIMAL}.
    */
-  DECIMAL("numeric", 1700, AdbaType.DECIMAL, BinaryGenerator::fromBigDecimal, FormatCodeTypes.TEXT),
+  DECIMAL("numeric", 1700, AdbaType.DECIMAL, BinaryGenerator::fromBigDecimal,
+      BinaryEncoder::encodeNumeric, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code CHAR}.
    */
@@ -94,7 +103,8 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code VARCHAR}.
    */
-  VARCHAR("varchar", 1043, AdbaType.VARCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  VARCHAR("varchar", 1043, AdbaType.VARCHAR, BinaryGenerator::fromString,
+      BinaryEncoder::encodeString, FormatCodeTypes.TEXT),
   /**
    * Identifies the type UUID.
    */
@@ -106,11 +116,13 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code LONGVARCHAR}.
    */
-  LONGVARCHAR("text", 25, AdbaType.LONG_VARCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  LONGVARCHAR("text", 25, AdbaType.LONG_VARCHAR, BinaryGenerator::fromString,
+      BinaryEncoder::encodeString, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code DATE}.
    */
-  DATE("date", 1082, AdbaType.DATE, BinaryGenerator::fromLocalDate, FormatCodeTypes.TEXT),
+  DATE("date", 1082, AdbaType.DATE, BinaryGenerator::fromLocalDate,
+      BinaryEncoder::encodeLocalDate, FormatCodeTypes.TEXT),
   /**
    * Identifies an array of LocalDate objects.
    */
@@ -118,7 +130,8 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code TIME}.
    */
-  TIME("time", 1083, AdbaType.TIME, BinaryGenerator::fromLocalTime, FormatCodeTypes.TEXT),
+  TIME("time", 1083, AdbaType.TIME, BinaryGenerator::fromLocalTime,
+      BinaryEncoder::encodeLocalTime, FormatCodeTypes.TEXT),
   /**
    * Identifies an array of LocalTime objects.
    */
@@ -126,7 +139,8 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code TIMESTAMP}.
    */
-  TIMESTAMP("timestamp", 1114, AdbaType.TIMESTAMP, BinaryGenerator::fromLocalDateTime, FormatCodeTypes.TEXT),
+  TIMESTAMP("timestamp", 1114, AdbaType.TIMESTAMP, BinaryGenerator::fromLocalDateTime,
+      BinaryEncoder::encodeLocalDateTime, FormatCodeTypes.TEXT),
   /**
    * Identifies an array of LocalDateTime objects.
    */
@@ -218,7 +232,8 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code BOOLEAN}.
    */
-  BOOLEAN("boolean", 16, AdbaType.BOOLEAN, BinaryGenerator::fromBoolean, FormatCodeTypes.BINARY),
+  BOOLEAN("boolean", 16, AdbaType.BOOLEAN, BinaryGenerator::fromBoolean,
+      BinaryEncoder::encodeBoolean, FormatCodeTypes.BINARY),
 
   /**
    * Identifies the SQL type {@code ROWID}.
@@ -227,19 +242,23 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code NCHAR}.
    */
-  NCHAR("char", 18, AdbaType.NCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  NCHAR("char", 18, AdbaType.NCHAR, BinaryGenerator::fromString,
+      BinaryEncoder::encodeString, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code NVARCHAR}.
    */
-  NVARCHAR("varchar", 1043, AdbaType.NVARCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  NVARCHAR("varchar", 1043, AdbaType.NVARCHAR, BinaryGenerator::fromString,
+      BinaryEncoder::encodeString, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code LONGNVARCHAR}.
    */
-  LONGNVARCHAR("text", 25, AdbaType.LONG_NVARCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  LONGNVARCHAR("text", 25, AdbaType.LONG_NVARCHAR, BinaryGenerator::fromString,
+      BinaryEncoder::encodeString, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code NCLOB}.
    */
-  NCLOB("text", 25, AdbaType.NCLOB, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  NCLOB("text", 25, AdbaType.NCLOB, BinaryGenerator::fromString,
+      BinaryEncoder::encodeString, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code SQLXML}.
    */
@@ -460,6 +479,7 @@ public enum PgAdbaType implements SqlType {
   private Integer oid;
   private AdbaType adbaType;
   private Function<Object, byte[]> byteGenerator;
+  private ParameterEncoder parameterEncoder;
   private FormatCodeTypes formatCodeTypes;
 
   private static final Map<Class, PgAdbaType> classToDb = new HashMap<>();
@@ -560,10 +580,16 @@ public enum PgAdbaType implements SqlType {
 
   PgAdbaType(String name, Integer oid, AdbaType adbaType, Function<Object, byte[]> byteGenerator,
       FormatCodeTypes formatCodeTypes) {
+    this(name, oid, adbaType, byteGenerator, ParameterEncoder.of(byteGenerator), formatCodeTypes);
+  }
+
+  PgAdbaType(String name, Integer oid, AdbaType adbaType, Function<Object, byte[]> byteGenerator,
+      ParameterEncoder parameterEncoder, FormatCodeTypes formatCodeTypes) {
     this.name = name;
     this.oid = oid;
     this.adbaType = adbaType;
     this.byteGenerator = byteGenerator;
+    this.parameterEncoder = parameterEncoder;
     this.formatCodeTypes = formatCodeTypes;
   }
 
@@ -622,6 +648,14 @@ public enum PgAdbaType implements SqlType {
     return byteGenerator;
   }
 
+  /**
+   * Obtains the {@link ParameterEncoder} to write values of this type straight into the network stream.
+   * @return the {@link ParameterEncoder}
+   */
+  public ParameterEncoder getParameterEncoder() {
+    return parameterEncoder;
+  }
+
   public FormatCodeTypes getFormatCodeTypes() {
     return formatCodeTypes;
   }
@@ -1,17 +1,26 @@
 package org.postgresql.adba.execution;
 
 import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.util.Iterator;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Default {@link NioLoop}.
+ *
+ * <p>Registrations are queued and undertaken by the loop thread, so the loop takes
+ * no lock on each cycle. Wake ups of the {@link Selector} are coalesced, so that
+ * many requests submitted during the one select only wake the {@link Selector}
+ * once. Optionally, the loop may spin on {@link Selector#selectNow()} before
+ * blocking, to trade CPU for lower latency.
  * 
  * @author Daniel Sagenschneider
  */
@@ -19,24 +28,59 @@ public class DefaultNioLoop implements NioLoop, Runnable {
 
   private Logger logger = Logger.getLogger(DefaultNioLoop.class.getName());
 
-  private final ReentrantLock selectorLock = new ReentrantLock();
+  /**
+   * Default time in milliseconds to block selecting.
+   */
+  private static final long SELECT_TIMEOUT = 50;
 
   /**
    * {@link Selector}.
    */
   private final Selector selector;
 
+  /**
+   * {@link NioServiceAttachment} instances awaiting registration by the loop thread.
+   */
+  private final Queue<NioServiceAttachment> pendingRegistrations = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Indicates if a wake up of the {@link Selector} is pending.
+   */
+  private final AtomicBoolean isWakeupPending = new AtomicBoolean(false);
+
+  /**
+   * Number of {@link Selector#selectNow()} attempts before blocking.
+   */
+  private final int spinCount;
+
+  /**
+   * Thread running this loop.
+   */
+  private volatile Thread loopThread = null;
+
   /**
    * Indicates whether closed.
    */
   private volatile boolean isClosed = false;
 
   /**
-   * Instantiate.
+   * Instantiate (without spinning).
    * 
    * @throws IllegalStateException If fails to setup.
    */
   public DefaultNioLoop() {
+    this(0);
+  }
+
+  /**
+   * Instantiate.
+   * 
+   * @param spinCount Number of {@link Selector#selectNow()} attempts before
+   *                  blocking on the {@link Selector}. <code>0</code> to not spin.
+   * @throws IllegalStateException If fails to setup.
+   */
+  public DefaultNioLoop(int spinCount) {
+    this.spinCount = spinCount;
 
     // Create the selector
     try {
@@ -51,6 +95,77 @@ public class DefaultNioLoop implements NioLoop, Runnable {
    */
   public void close() {
     this.isClosed = true;
+    this.selector.wakeup();
+  }
+
+  /**
+   * Obtains the number of channels registered with this {@link NioLoop}.
+   *
+   * <p>As channels closed concurrently are only removed on the next select, this is
+   * an approximation that is suitable for balancing load.
+   *
+   * @return Number of registered channels.
+   */
+  public int getServiceCount() {
+    // Pending before keys, as a registration is only removed from pending once its key is registered
+    int pending = this.pendingRegistrations.size();
+    return pending + this.selector.keys().size();
+  }
+
+  /**
+   * Wakes up the {@link Selector}, unless a wake up is already pending or running
+   * on the loop thread.
+   */
+  private void wakeup() {
+    if ((Thread.currentThread() != this.loopThread) && this.isWakeupPending.compareAndSet(false, true)) {
+      this.selector.wakeup();
+    }
+  }
+
+  /**
+   * Registers the pending {@link NioServiceAttachment} instances.
+   */
+  private void registerPending() {
+    // Only remove once registered (so always included in service count)
+    NioServiceAttachment attachment;
+    while ((attachment = this.pendingRegistrations.peek()) != null) {
+      try {
+        attachment.register();
+      } catch (Throwable ex) {
+        try {
+          attachment.service.handleException(ex);
+        } catch (Throwable failure) {
+          logger.log(Level.WARNING, "Failure with " + NioService.class.getSimpleName() + " " + attachment.service, ex);
+        }
+      } finally {
+        this.pendingRegistrations.poll();
+      }
+    }
+  }
+
+  /**
+   * Selects the ready keys.
+   * 
+   * @return Number of selected keys.
+   * @throws IOException If fails to select.
+   */
+  private int select() throws IOException {
+
+    // Spin for low latency
+    for (int i = 0; i < this.spinCount; i++) {
+      int selected = this.selector.selectNow();
+      if ((selected > 0) || !this.pendingRegistrations.isEmpty() || this.isClosed) {
+        return selected;
+      }
+      Thread.onSpinWait();
+    }
+
+    // Block until ready (any wake up from here on must wake the selector)
+    this.isWakeupPending.set(false);
+    if (!this.pendingRegistrations.isEmpty()) {
+      return this.selector.selectNow();
+    }
+    return this.selector.select(SELECT_TIMEOUT);
   }
 
   /*
@@ -60,7 +175,10 @@ public class DefaultNioLoop implements NioLoop, Runnable {
   @Override
   public NioService registerNioService(SelectableChannel channel, NioServiceFactory nioServiceFactory)
       throws IOException {
-    return new NioServiceAttachment(channel, nioServiceFactory).service;
+    NioServiceAttachment attachment = new NioServiceAttachment(channel, nioServiceFactory);
+    this.pendingRegistrations.add(attachment);
+    this.wakeup();
+    return attachment.service;
   }
 
   /*
@@ -69,6 +187,8 @@ public class DefaultNioLoop implements NioLoop, Runnable {
 
   @Override
   public void run() {
+    this.loopThread = Thread.currentThread();
+
     // Ensure close selector
     try {
 
@@ -77,9 +197,8 @@ public class DefaultNioLoop implements NioLoop, Runnable {
 
         // Select keys
         try {
-          selectorLock.lock();
-          selectorLock.unlock();
-          this.selector.select(50);
+          this.registerPending();
+          this.select();
         } catch (IOException ex) {
           // Should not occur
           logger.log(Level.SEVERE, "Selector failure", ex);
@@ -103,8 +222,13 @@ public class DefaultNioLoop implements NioLoop, Runnable {
           // Obtain the attached service
           NioServiceAttachment attachment = (NioServiceAttachment) selectedKey.attachment();
 
-          // Obtain ready operations
-          int readyOps = selectedKey.readyOps();
+          // Obtain ready operations (key may be cancelled concurrently)
+          int readyOps;
+          try {
+            readyOps = selectedKey.readyOps();
+          } catch (CancelledKeyException ex) {
+            continue NEXT_KEY;
+          }
 
           try {
 
@@ -161,7 +285,25 @@ public class DefaultNioLoop implements NioLoop, Runnable {
 
     private final NioService service;
 
-    private final SelectionKey selectionKey;
+    /**
+     * {@link SelectionKey}. Only available once registered by the loop thread.
+     */
+    private volatile SelectionKey selectionKey = null;
+
+    /**
+     * Indicates if write required before registered.
+     */
+    private volatile boolean isWriteRequired = false;
+
+    /**
+     * Indicates if unregistered before registered.
+     */
+    private volatile boolean isUnregistered = false;
+
+    /**
+     * Indicates if reading is paused.
+     */
+    private volatile boolean isReadPaused = false;
 
     private NioServiceAttachment(SelectableChannel channel, NioServiceFactory nioServiceFactory) throws IOException {
       this.channel = channel;
@@ -171,15 +313,23 @@ public class DefaultNioLoop implements NioLoop, Runnable {
       if (this.service == null) {
         throw new IllegalStateException("No " + NioService.class.getSimpleName() + " created");
       }
+    }
+
+    /**
+     * Undertakes registration (on the loop thread).
+     * 
+     * @throws IOException If fails to register.
+     */
+    private void register() throws IOException {
+      if (this.isUnregistered) {
+        return;
+      }
+      int interestedOps = SelectionKey.OP_CONNECT | SelectionKey.OP_READ;
+      this.selectionKey = this.channel.register(DefaultNioLoop.this.selector, interestedOps, this);
 
-      // Undertake registration
-      selectorLock.lock();
-      try {
-        selector.wakeup();
-        this.selectionKey = channel.register(DefaultNioLoop.this.selector, SelectionKey.OP_CONNECT | SelectionKey.OP_READ,
-            this);
-      } finally {
-        selectorLock.unlock();
+      // Include write requested during registration
+      if (this.isWriteRequired) {
+        this.selectionKey.interestOps(interestedOps | SelectionKey.OP_WRITE);
       }
     }
 
@@ -194,21 +344,47 @@ public class DefaultNioLoop implements NioLoop, Runnable {
 
     @Override
     public void setInterestedOps(int interestedOps) throws IOException {
-      this.selectionKey.interestOps(interestedOps);
+      int ops = this.isReadPaused ? (interestedOps & ~SelectionKey.OP_READ) : interestedOps;
+      this.selectionKey.interestOps(ops);
+    }
+
+    @Override
+    public void pauseRead() {
+      this.isReadPaused = true;
+      SelectionKey key = this.selectionKey;
+      if ((key != null) && key.isValid()) {
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+      }
+    }
+
+    @Override
+    public void resumeRead() {
+      this.isReadPaused = false;
+      SelectionKey key = this.selectionKey;
+      if ((key != null) && key.isValid()) {
+        key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+        DefaultNioLoop.this.wakeup();
+      }
     }
 
     @Override
     public void writeRequired() {
-      if (selectionKey.isValid()) {
-        this.selectionKey.interestOps(this.selectionKey.interestOps() | SelectionKey.OP_WRITE);
-        DefaultNioLoop.this.selector.wakeup();
+      this.isWriteRequired = true;
+      SelectionKey key = this.selectionKey;
+      if ((key != null) && key.isValid()) {
+        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        DefaultNioLoop.this.wakeup();
       }
     }
 
     @Override
     public void unregister() throws IOException {
-      this.selectionKey.cancel();
+      this.isUnregistered = true;
+      SelectionKey key = this.selectionKey;
+      if (key != null) {
+        key.cancel();
+      }
     }
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,156 @@
+package org.postgresql.adba.execution;
+
+import java.io.IOException;
+import java.nio.channels.SelectableChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link NioLoop} spreading {@link NioService} instances over multiple {@link DefaultNioLoop} threads.
+ *
+ * <p>The same {@link NioLoopGroup} may be provided to multiple data sources, so that all connections share the one
+ * set of threads.
+ */
+public class NioLoopGroup implements NioLoop {
+
+  /**
+   * Strategy for assigning a {@link NioService} to a {@link DefaultNioLoop}.
+   */
+  public enum Assignment {
+
+    /**
+     * Assign to each {@link DefaultNioLoop} in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Assign to the {@link DefaultNioLoop} servicing the least channels.
+     */
+    LEAST_LOADED
+  }
+
+  /**
+   * {@link DefaultNioLoop} instances.
+   */
+  private final DefaultNioLoop[] loops;
+
+  /**
+   * {@link Assignment}.
+   */
+  private final Assignment assignment;
+
+  /**
+   * Index of next {@link DefaultNioLoop} for round robin (and starting point for least loaded).
+   */
+  private final AtomicInteger nextLoop = new AtomicInteger(0);
+
+  /**
+   * Instantiate with {@link Assignment#ROUND_ROBIN}.
+   *
+   * @param threadCount Number of {@link DefaultNioLoop} threads.
+   */
+  public NioLoopGroup(int threadCount) {
+    this(threadCount, Assignment.ROUND_ROBIN);
+  }
+
+  /**
+   * Instantiate (without spinning).
+   *
+   * @param threadCount Number of {@link DefaultNioLoop} threads.
+   * @param assignment  {@link Assignment}.
+   */
+  public NioLoopGroup(int threadCount, Assignment assignment) {
+    this(threadCount, assignment, 0);
+  }
+
+  /**
+   * Instantiate.
+   *
+   * @param threadCount Number of {@link DefaultNioLoop} threads.
+   * @param assignment  {@link Assignment}.
+   * @param spinCount   Number of select attempts each {@link DefaultNioLoop} spins before blocking.
+   * @throws IllegalArgumentException If invalid thread count.
+   */
+  public NioLoopGroup(int threadCount, Assignment assignment, int spinCount) {
+    if (threadCount < 1) {
+      throw new IllegalArgumentException("Must have at least one thread, but was " + threadCount);
+    }
+    this.assignment = assignment;
+
+    // Create and start the loops
+    this.loops = new DefaultNioLoop[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      this.loops[i] = new DefaultNioLoop(spinCount);
+    }
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(this.loops[i], "pgadba-nio-loop-" + i).start();
+    }
+  }
+
+  /**
+   * Obtains the number of threads.
+   *
+   * @return Number of threads.
+   */
+  public int getThreadCount() {
+    return loops.length;
+  }
+
+  /**
+   * Closes all {@link DefaultNioLoop} instances of this group.
+   */
+  public void close() {
+    for (DefaultNioLoop loop : loops) {
+      loop.close();
+    }
+  }
+
+  /**
+   * Obtains the {@link DefaultNioLoop} at the index.
+   *
+   * @param index Index of the {@link DefaultNioLoop}.
+   * @return {@link DefaultNioLoop}.
+   */
+  DefaultNioLoop getNioLoop(int index) {
+    return loops[index];
+  }
+
+  /**
+   * Selects the {@link DefaultNioLoop} for the next {@link NioService}.
+   *
+   * @return {@link DefaultNioLoop}.
+   */
+  private DefaultNioLoop selectNioLoop() {
+    int start = Math.floorMod(nextLoop.getAndIncrement(), loops.length);
+    switch (assignment) {
+      case ROUND_ROBIN:
+        return loops[start];
+
+      case LEAST_LOADED:
+        DefaultNioLoop selected = loops[start];
+        int selectedCount = selected.getServiceCount();
+        for (int i = 1; i < loops.length; i++) {
+          DefaultNioLoop loop = loops[(start + i) % loops.length];
+          int count = loop.getServiceCount();
+          if (count < selectedCount) {
+            selected = loop;
+            selectedCount = count;
+          }
+        }
+        return selected;
+
+      default:
+        throw new IllegalStateException("Unknown " + Assignment.class.getSimpleName() + " " + assignment);
+    }
+  }
+
+  /*
+   * ============== NioLoop ==============
+   */
+
+  @Override
+  public NioService registerNioService(SelectableChannel channel, NioServiceFactory nioServiceFactory)
+      throws IOException {
+    return selectNioLoop().registerNioService(channel, nioServiceFactory);
+  }
+
+}
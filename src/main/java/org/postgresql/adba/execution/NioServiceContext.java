@@ -24,7 +24,19 @@ public interface NioServiceContext {
   void writeRequired();
 
   /**
-   * Sets the interested operations as per {@link SelectionKey}.
+   * Pauses reading, so that {@link SelectionKey#OP_READ} is excluded from the
+   * interested operations until {@link #resumeRead()}.
+   */
+  void pauseRead();
+
+  /**
+   * Resumes reading. May be invoked from any thread.
+   */
+  void resumeRead();
+
+  /**
+   * Sets the interested operations as per {@link SelectionKey}. While reading
+   * is paused, {@link SelectionKey#OP_READ} is excluded.
    * 
    * @param interestedOps Interested operations as per {@link SelectionKey}.
    * @throws IOException If fails to set operations.
@@ -0,0 +1,113 @@
+package org.postgresql.adba.operations;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import jdk.incubator.sql2.Operation;
+import jdk.incubator.sql2.Submission;
+import org.postgresql.adba.PgSession;
+import org.postgresql.adba.operations.helpers.BinaryCopyInSource;
+import org.postgresql.adba.operations.helpers.CopyInSource;
+import org.postgresql.adba.operations.helpers.CopyRowWriter;
+import org.postgresql.adba.operations.helpers.PublisherCopyInSource;
+import org.postgresql.adba.operations.helpers.RecordCopyInSource;
+import org.postgresql.adba.submissions.CopyInSubmission;
+import org.postgresql.adba.submissions.GroupSubmission;
+
+public class PgCopyInOperation implements Operation<Long> {
+  private final PgSession connection;
+  private final String sql;
+  private final GroupSubmission<?> groupSubmission;
+  private Consumer<Throwable> errorHandler;
+  private CopyInSource source;
+
+  /**
+   * Bulk loads data with a COPY ... FROM STDIN, this operation returns the number of rows copied.
+   * @param connection connection that the copy should be part of
+   * @param sql the COPY command, e.g. COPY tab(a, b) FROM STDIN (FORMAT csv)
+   * @param groupSubmission the group that this execution should be part of
+   */
+  public PgCopyInOperation(PgSession connection, String sql, GroupSubmission<?> groupSubmission) {
+    this.connection = connection;
+    this.sql = sql;
+    this.groupSubmission = groupSubmission;
+  }
+
+  /**
+   * Copies the data of the publisher, which must be in the format of the COPY. The publisher is only subscribed to
+   * once the server is ready for the data, and each buffer is requested as the network is able to send it.
+   * @param publisher publisher of the data
+   * @return this operation
+   */
+  public PgCopyInOperation from(Flow.Publisher<ByteBuffer> publisher) {
+    return source(new PublisherCopyInSource(publisher));
+  }
+
+  /**
+   * Copies the records, each being a row in the text or CSV format of the COPY. The records are pulled as the network
+   * is able to send them.
+   * @param records the records
+   * @return this operation
+   */
+  public PgCopyInOperation from(Iterator<? extends CharSequence> records) {
+    return source(new RecordCopyInSource(records));
+  }
+
+  /**
+   * Copies the rows in the binary format, so the COPY must specify FORMAT binary. Each row is written by the row writer
+   * as a field per column (in column order), with the fields encoded straight into the network buffers.
+   * @param rows the rows
+   * @param columns the number of columns of the COPY
+   * @param rowWriter writes the fields of a row
+   * @param <T> the type of the row
+   * @return this operation
+   */
+  public <T> PgCopyInOperation from(Iterator<? extends T> rows, int columns,
+      BiConsumer<? super T, CopyRowWriter> rowWriter) {
+    return source(new BinaryCopyInSource<>(rows, columns, rowWriter));
+  }
+
+  private PgCopyInOperation source(CopyInSource source) {
+    if (this.source != null) {
+      throw new IllegalStateException("you are not allowed to call from multiple times");
+    }
+
+    this.source = source;
+    return this;
+  }
+
+  @Override
+  public PgCopyInOperation onError(Consumer<Throwable> errorHandler) {
+    if (this.errorHandler != null) {
+      throw new IllegalStateException("you are not allowed to call onError multiple times");
+    }
+
+    this.errorHandler = errorHandler;
+    return this;
+  }
+
+  @Override
+  public PgCopyInOperation timeout(Duration minTime) {
+    return this;
+  }
+
+  @Override
+  public Submission<Long> submit() {
+    if (source == null) {
+      throw new IllegalStateException("the data to copy must be specified with from before submitting");
+    }
+
+    CopyInSubmission<Long> submission = new CopyInSubmission<>(this::cancel, errorHandler, sql, source,
+        groupSubmission);
+    connection.submit(submission);
+    return submission;
+  }
+
+  private boolean cancel() {
+    // todo set life cycle to canceled
+    return true;
+  }
+}
@@ -0,0 +1,96 @@
+package org.postgresql.adba.operations;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import jdk.incubator.sql2.Operation;
+import jdk.incubator.sql2.Submission;
+import org.postgresql.adba.PgSession;
+import org.postgresql.adba.operations.helpers.ChannelCopyOutSink;
+import org.postgresql.adba.operations.helpers.CopyOutSink;
+import org.postgresql.adba.operations.helpers.SubscriberCopyOutSink;
+import org.postgresql.adba.submissions.CopyOutSubmission;
+import org.postgresql.adba.submissions.GroupSubmission;
+
+public class PgCopyOutOperation implements Operation<Long> {
+  private final PgSession connection;
+  private final String sql;
+  private final GroupSubmission<?> groupSubmission;
+  private Consumer<Throwable> errorHandler;
+  private CopyOutSink sink;
+
+  /**
+   * Exports data with a COPY ... TO STDOUT, this operation returns the number of rows copied.
+   * @param connection connection that the copy should be part of
+   * @param sql the COPY command, e.g. COPY tab TO STDOUT (FORMAT csv)
+   * @param groupSubmission the group that this execution should be part of
+   */
+  public PgCopyOutOperation(PgSession connection, String sql, GroupSubmission<?> groupSubmission) {
+    this.connection = connection;
+    this.sql = sql;
+    this.groupSubmission = groupSubmission;
+  }
+
+  /**
+   * Publishes the data, in the format of the COPY, to the subscriber. Each buffer holds a CopyData message of the
+   * server (a row for the text and CSV formats). Reading from the network is paused while the subscriber has no demand.
+   * @param subscriber subscriber of the data
+   * @return this operation
+   */
+  public PgCopyOutOperation to(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    return sink(new SubscriberCopyOutSink(subscriber));
+  }
+
+  /**
+   * Writes the data, in the format of the COPY, to the channel. The channel is written on the network thread, so
+   * should be blocking (e.g. a file).
+   * @param channel channel to receive the data
+   * @return this operation
+   */
+  public PgCopyOutOperation to(WritableByteChannel channel) {
+    return sink(new ChannelCopyOutSink(channel));
+  }
+
+  private PgCopyOutOperation sink(CopyOutSink sink) {
+    if (this.sink != null) {
+      throw new IllegalStateException("you are not allowed to call to multiple times");
+    }
+
+    this.sink = sink;
+    return this;
+  }
+
+  @Override
+  public PgCopyOutOperation onError(Consumer<Throwable> errorHandler) {
+    if (this.errorHandler != null) {
+      throw new IllegalStateException("you are not allowed to call onError multiple times");
+    }
+
+    this.errorHandler = errorHandler;
+    return this;
+  }
+
+  @Override
+  public PgCopyOutOperation timeout(Duration minTime) {
+    return this;
+  }
+
+  @Override
+  public Submission<Long> submit() {
+    if (sink == null) {
+      throw new IllegalStateException("the receiver of the data must be specified with to before submitting");
+    }
+
+    CopyOutSubmission<Long> submission = new CopyOutSubmission<>(this::cancel, errorHandler, sql, sink,
+        groupSubmission);
+    connection.submit(submission);
+    return submission;
+  }
+
+  private boolean cancel() {
+    // todo set life cycle to canceled
+    return true;
+  }
+}
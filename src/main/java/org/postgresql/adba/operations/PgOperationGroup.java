@@ -218,6 +218,54 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
     return new PgRowPublisherOperation<>(connection, sql, groupSubmission);
   }
 
+  /**
+   * Creates an {@link Operation} bulk loading data with a <code>COPY ... FROM STDIN</code>. The data is provided to
+   * the returned operation before submitting it.
+   *
+   * @param sql the COPY command
+   * @return a new {@link PgCopyInOperation}, completing with the number of rows copied
+   */
+  public PgCopyInOperation copyInOperation(String sql) {
+    if (connection.getSessionLifecycle() != Lifecycle.NEW && connection.getSessionLifecycle() != Lifecycle.ATTACHED) {
+      throw new IllegalStateException("session lifecycle in state: " + connection.getSessionLifecycle()
+          + " and not open for new work");
+    }
+
+    if (!held) {
+      throw new IllegalStateException("It's not permitted to add more operations after an OperationGroup has been released");
+    }
+
+    if (logger.isLoggable(Level.CONFIG)) {
+      logger.log(Level.CONFIG, "CopyInOperation created for connection " + this);
+    }
+
+    return new PgCopyInOperation(connection, sql, groupSubmission);
+  }
+
+  /**
+   * Creates an {@link Operation} exporting data with a <code>COPY ... TO STDOUT</code>. The receiver of the data is
+   * provided to the returned operation before submitting it.
+   *
+   * @param sql the COPY command
+   * @return a new {@link PgCopyOutOperation}, completing with the number of rows copied
+   */
+  public PgCopyOutOperation copyOutOperation(String sql) {
+    if (connection.getSessionLifecycle() != Lifecycle.NEW && connection.getSessionLifecycle() != Lifecycle.ATTACHED) {
+      throw new IllegalStateException("session lifecycle in state: " + connection.getSessionLifecycle()
+          + " and not open for new work");
+    }
+
+    if (!held) {
+      throw new IllegalStateException("It's not permitted to add more operations after an OperationGroup has been released");
+    }
+
+    if (logger.isLoggable(Level.CONFIG)) {
+      logger.log(Level.CONFIG, "CopyOutOperation created for connection " + this);
+    }
+
+    return new PgCopyOutOperation(connection, sql, groupSubmission);
+  }
+
   @Override
   public <R extends S> MultiOperation<R> multiOperation(String sql) {
     throw new RuntimeException("not implemented yet");
@@ -1,8 +1,10 @@
 package org.postgresql.adba.operations.helpers;
 
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
@@ -64,6 +66,11 @@ public class ArrayQueryParameter implements QueryParameter {
     return type.getByteGenerator().apply(values.get(index));
   }
 
+  @Override
+  public void writeParameter(int index, NetworkOutputStream wire) throws IOException {
+    type.getParameterEncoder().encode(values.get(index), wire);
+  }
+
   @Override
   public int numberOfQueryRepetitions() {
     return values.size();
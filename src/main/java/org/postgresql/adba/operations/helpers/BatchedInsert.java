@@ -0,0 +1,297 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Rewrites a single row <code>INSERT ... VALUES (...)</code> executed for many rows into multi-row
+ * <code>VALUES (...),(...)</code> statements.
+ *
+ * <p>Statements only use power of two row counts, so that a batch of any size only needs a few distinct prepared
+ * statements. The rows of a statement are limited so its bind parameters stay under the protocol limit.
+ */
+public class BatchedInsert {
+
+  /**
+   * Maximum number of bind parameters of a statement (as the count is an int16 on the wire).
+   */
+  public static final int MAXIMUM_PARAMETERS = Short.MAX_VALUE;
+
+  /**
+   * Maximum number of rows of a rewritten statement.
+   */
+  public static final int MAXIMUM_ROWS = 128;
+
+  /**
+   * Chunk of the batch, being the rewritten statement executed for consecutive rows.
+   */
+  public static class Chunk {
+
+    private final String sql;
+
+    private final ParameterHolder holder;
+
+    private final int rowsPerExecution;
+
+    private Chunk(String sql, ParameterHolder holder, int rowsPerExecution) {
+      this.sql = sql;
+      this.holder = holder;
+      this.rowsPerExecution = rowsPerExecution;
+    }
+
+    /**
+     * Obtains the rewritten SQL.
+     *
+     * @return rewritten SQL
+     */
+    public String getSql() {
+      return sql;
+    }
+
+    /**
+     * Obtains the parameters, repeated for each execution of the rewritten SQL.
+     *
+     * @return parameters of the rewritten SQL
+     */
+    public ParameterHolder getHolder() {
+      return holder;
+    }
+
+    /**
+     * Obtains the number of rows inserted by each execution.
+     *
+     * @return number of rows per execution
+     */
+    public int getRowsPerExecution() {
+      return rowsPerExecution;
+    }
+  }
+
+  /**
+   * Plans the rewritten statements for the batch.
+   *
+   * @param sql    single row insert
+   * @param holder array parameters of the batch
+   * @return the {@link Chunk} instances in row order, or <code>null</code> if the batch can not be rewritten
+   */
+  public static List<Chunk> plan(String sql, ParameterHolder holder) {
+
+    // Only rewrite batches with values known up front
+    List<ArrayQueryParameter> parameters = new ArrayList<>(holder.size());
+    for (QueryParameter parameter : holder.parameters()) {
+      if (!(parameter instanceof ArrayQueryParameter)) {
+        return null;
+      }
+      parameters.add((ArrayQueryParameter) parameter);
+    }
+    if (parameters.isEmpty()) {
+      return null;
+    }
+    int rows = parameters.get(0).numberOfQueryRepetitions();
+    if (rows < 2) {
+      return null;
+    }
+
+    // Ensure single row insert using all the parameters
+    BatchedInsert insert = parse(sql);
+    if ((insert == null) || (insert.parameterCount != parameters.size())) {
+      return null;
+    }
+
+    // Determine rows per statement (power of two)
+    int chunkRows = Integer.highestOneBit(Math.min(MAXIMUM_ROWS, MAXIMUM_PARAMETERS / insert.parameterCount));
+    if (chunkRows < 2) {
+      return null;
+    }
+
+    // Full chunks, then remaining rows by decreasing power of two
+    List<Chunk> chunks = new ArrayList<>();
+    int fullChunks = rows / chunkRows;
+    if (fullChunks > 0) {
+      chunks.add(insert.chunk(parameters, 0, chunkRows, fullChunks));
+    }
+    int offset = fullChunks * chunkRows;
+    for (int size = chunkRows >> 1; size > 0; size >>= 1) {
+      if ((rows - offset) >= size) {
+        chunks.add(insert.chunk(parameters, offset, size, 1));
+        offset += size;
+      }
+    }
+    return chunks;
+  }
+
+  /**
+   * Parses the single row insert.
+   *
+   * @param sql SQL
+   * @return {@link BatchedInsert} or <code>null</code> if not a single row insert that may be rewritten
+   */
+  static BatchedInsert parse(String sql) {
+    String text = sql.trim();
+    while (text.endsWith(";")) {
+      text = text.substring(0, text.length() - 1).trim();
+    }
+    if (!startsWithKeyword(text, 0, "insert")) {
+      return null;
+    }
+
+    // Find the values clause (ensuring no parameters before it)
+    int valuesEnd = -1;
+    int depth = 0;
+    for (int i = 0; (i < text.length()) && (valuesEnd < 0); i++) {
+      char c = text.charAt(i);
+      if ((c == '\'') || (c == '"')) {
+        i = skipQuoted(text, i);
+        if (i < 0) {
+          return null;
+        }
+      } else if ((c == '$') || isCommentStart(text, i)) {
+        return null;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+      } else if ((depth == 0) && startsWithKeyword(text, i, "values")) {
+        valuesEnd = i + "values".length();
+      }
+    }
+    if (valuesEnd < 0) {
+      return null;
+    }
+
+    // Obtain the tuple (which must end the statement)
+    int tupleStart = valuesEnd;
+    while ((tupleStart < text.length()) && Character.isWhitespace(text.charAt(tupleStart))) {
+      tupleStart++;
+    }
+    if ((tupleStart >= text.length()) || (text.charAt(tupleStart) != '(')) {
+      return null;
+    }
+
+    // Split the tuple on its parameters
+    List<String> segments = new ArrayList<>();
+    List<Integer> parameterIndexes = new ArrayList<>();
+    BitSet used = new BitSet();
+    int segmentStart = tupleStart;
+    depth = 0;
+    int tupleEnd = -1;
+    for (int i = tupleStart; (i < text.length()) && (tupleEnd < 0); i++) {
+      char c = text.charAt(i);
+      if ((c == '\'') || (c == '"')) {
+        i = skipQuoted(text, i);
+        if (i < 0) {
+          return null;
+        }
+      } else if (isCommentStart(text, i)) {
+        return null;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+        if (depth == 0) {
+          tupleEnd = i + 1;
+        }
+      } else if (c == '$') {
+        int digitsEnd = i + 1;
+        while ((digitsEnd < text.length()) && Character.isDigit(text.charAt(digitsEnd))) {
+          digitsEnd++;
+        }
+        if (digitsEnd == i + 1) {
+          return null; // dollar quoting
+        }
+        int index = Integer.parseInt(text.substring(i + 1, digitsEnd));
+        if (index < 1) {
+          return null;
+        }
+        segments.add(text.substring(segmentStart, i));
+        parameterIndexes.add(index);
+        used.set(index);
+        segmentStart = digitsEnd;
+        i = digitsEnd - 1;
+      }
+    }
+    if ((tupleEnd < 0) || (tupleEnd != text.length())) {
+      return null; // further rows, RETURNING, ON CONFLICT, etc
+    }
+    segments.add(text.substring(segmentStart, tupleEnd));
+
+    // Ensure parameters are $1 to $n
+    int parameterCount = used.length() - 1;
+    if ((parameterCount < 1) || (used.cardinality() != parameterCount)) {
+      return null;
+    }
+    return new BatchedInsert(text.substring(0, tupleStart), segments, parameterIndexes, parameterCount);
+  }
+
+  private static boolean startsWithKeyword(String text, int index, String keyword) {
+    int end = index + keyword.length();
+    return text.regionMatches(true, index, keyword, 0, keyword.length())
+        && ((index == 0) || !Character.isJavaIdentifierPart(text.charAt(index - 1)))
+        && ((end == text.length()) || !Character.isJavaIdentifierPart(text.charAt(end)));
+  }
+
+  private static boolean isCommentStart(String text, int index) {
+    return text.startsWith("--", index) || text.startsWith("/*", index);
+  }
+
+  private static int skipQuoted(String text, int index) {
+    char quote = text.charAt(index);
+    for (int i = index + 1; i < text.length(); i++) {
+      if (text.charAt(i) == quote) {
+        if ((i + 1 < text.length()) && (text.charAt(i + 1) == quote)) {
+          i++; // escaped quote
+        } else {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private final String prefix;
+
+  private final List<String> segments;
+
+  private final List<Integer> parameterIndexes;
+
+  private final int parameterCount;
+
+  private BatchedInsert(String prefix, List<String> segments, List<Integer> parameterIndexes, int parameterCount) {
+    this.prefix = prefix;
+    this.segments = segments;
+    this.parameterIndexes = parameterIndexes;
+    this.parameterCount = parameterCount;
+  }
+
+  /**
+   * Obtains the multi-row insert.
+   *
+   * @param rows number of rows
+   * @return SQL inserting the number of rows
+   */
+  String getSql(int rows) {
+    StringBuilder sql = new StringBuilder(prefix);
+    for (int row = 0; row < rows; row++) {
+      if (row > 0) {
+        sql.append(',');
+      }
+      for (int i = 0; i < parameterIndexes.size(); i++) {
+        sql.append(segments.get(i)).append('$').append(row * parameterCount + parameterIndexes.get(i));
+      }
+      sql.append(segments.get(segments.size() - 1));
+    }
+    return sql.toString();
+  }
+
+  private Chunk chunk(List<ArrayQueryParameter> parameters, int rowOffset, int rows, int executions) {
+    ParameterHolder holder = new ParameterHolder();
+    for (int row = 0; row < rows; row++) {
+      for (int i = 0; i < parameterCount; i++) {
+        holder.add("$" + (row * parameterCount + i + 1),
+            new BatchedQueryParameter(parameters.get(i), rowOffset + row, rows, executions));
+      }
+    }
+    return new Chunk(getSql(rows), holder, rows);
+  }
+}
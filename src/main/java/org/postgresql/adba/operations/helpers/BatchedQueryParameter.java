@@ -0,0 +1,54 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import org.postgresql.adba.communication.NetworkOutputStream;
+
+/**
+ * Parameter of a rewritten multi-row insert, being the value of an array parameter for one row of each execution.
+ */
+public class BatchedQueryParameter implements QueryParameter {
+  private final ArrayQueryParameter values;
+  private final int firstRow;
+  private final int rowsPerExecution;
+  private final int executions;
+
+  /**
+   * parameter that represents one row of each execution of a rewritten insert.
+   * @param values the array parameter of the batch
+   * @param firstRow row of the batch for the first execution
+   * @param rowsPerExecution rows inserted by each execution
+   * @param executions number of executions
+   */
+  public BatchedQueryParameter(ArrayQueryParameter values, int firstRow, int rowsPerExecution, int executions) {
+    this.values = values;
+    this.firstRow = firstRow;
+    this.rowsPerExecution = rowsPerExecution;
+    this.executions = executions;
+  }
+
+  @Override
+  public int getOid() {
+    return values.getOid();
+  }
+
+  @Override
+  public short getParameterFormatCode() {
+    return values.getParameterFormatCode();
+  }
+
+  @Override
+  public byte[] getParameter(int index) throws ExecutionException, InterruptedException {
+    return values.getParameter(firstRow + index * rowsPerExecution);
+  }
+
+  @Override
+  public void writeParameter(int index, NetworkOutputStream wire) throws IOException {
+    values.writeParameter(firstRow + index * rowsPerExecution, wire);
+  }
+
+  @Override
+  public int numberOfQueryRepetitions() {
+    return executions;
+  }
+}
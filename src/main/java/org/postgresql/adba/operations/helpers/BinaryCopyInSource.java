@@ -0,0 +1,121 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import org.postgresql.adba.communication.NetworkOutputStream;
+
+/**
+ * {@link CopyInSource} writing rows from an {@link Iterator} in the binary format of the COPY.
+ *
+ * <p>Each row is written by a {@link CopyRowWriter} straight into the CopyData message, avoiding the text formatting
+ * (and server parsing) of each value. The rows are pulled as the network is able to send them, with many rows packed
+ * into each CopyData message between the file header and trailer.
+ *
+ * @param <T> Type of the row.
+ */
+public class BinaryCopyInSource<T> implements CopyInSource {
+
+  /**
+   * Number of bytes of rows packed into a CopyData message.
+   */
+  static final int MESSAGE_SIZE = 64 * 1024;
+
+  /**
+   * Signature of the binary COPY file header.
+   */
+  private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+  private final Iterator<? extends T> rows;
+
+  private final int columns;
+
+  private final BiConsumer<? super T, CopyRowWriter> rowWriter;
+
+  private boolean isHeaderWritten = false;
+
+  private boolean isTrailerWritten = false;
+
+  private Throwable failure = null;
+
+  /**
+   * Instantiate.
+   *
+   * @param rows      {@link Iterator} of the rows.
+   * @param columns   Number of columns of the COPY.
+   * @param rowWriter Writes the fields of a row (in column order) to the {@link CopyRowWriter}.
+   */
+  public BinaryCopyInSource(Iterator<? extends T> rows, int columns, BiConsumer<? super T, CopyRowWriter> rowWriter) {
+    if ((columns <= 0) || (columns > Short.MAX_VALUE)) {
+      throw new IllegalArgumentException("invalid number of columns " + columns);
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.rowWriter = rowWriter;
+  }
+
+  @Override
+  public void start(Runnable dataAvailable) {
+    // Rows always available
+  }
+
+  @Override
+  public boolean hasData() {
+    return (failure == null) && !isTrailerWritten;
+  }
+
+  @Override
+  public boolean isComplete() {
+    return !hasData();
+  }
+
+  @Override
+  public void writeData(NetworkOutputStream wire) throws IOException {
+
+    // Write the header with the first rows
+    if (!isHeaderWritten) {
+      wire.write(SIGNATURE);
+      wire.writeInt32(0); // flags (no OIDs)
+      wire.writeInt32(0); // header extension length
+      isHeaderWritten = true;
+    }
+
+    // Write the rows
+    CopyRowWriter writer = new CopyRowWriter(wire);
+    long messageEnd = wire.getWrittenBytes() + MESSAGE_SIZE;
+    try {
+      while (rows.hasNext()) {
+        T row = rows.next();
+        writer.startRow(columns);
+        rowWriter.accept(row, writer);
+        if (writer.getFieldCount() != columns) {
+          throw new IllegalStateException("row written with " + writer.getFieldCount() + " fields but COPY has "
+              + columns + " columns");
+        }
+        if (wire.getWrittenBytes() >= messageEnd) {
+          return; // remaining rows in further messages
+        }
+      }
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause(); // failure of the network
+    } catch (RuntimeException ex) {
+      failure = ex; // partially written row discarded by the server on CopyFail
+      return;
+    }
+
+    // Write the trailer once all rows written
+    wire.writeInt16((short) -1);
+    isTrailerWritten = true;
+  }
+
+  @Override
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  @Override
+  public void cancel() {
+    // Nothing to release
+  }
+}
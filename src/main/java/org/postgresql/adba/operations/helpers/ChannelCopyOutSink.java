@@ -0,0 +1,48 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import org.postgresql.adba.communication.NetworkReadContext;
+
+/**
+ * {@link CopyOutSink} writing the data to a {@link WritableByteChannel}.
+ *
+ * <p>The data is written straight from the read buffer on the network thread, so the channel should be blocking (e.g.
+ * a file). A slow channel holds back reading from the network.
+ */
+public class ChannelCopyOutSink implements CopyOutSink {
+
+  private final WritableByteChannel channel;
+
+  /**
+   * Instantiate.
+   *
+   * @param channel {@link WritableByteChannel} to receive the data.
+   */
+  public ChannelCopyOutSink(WritableByteChannel channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public void start(NetworkReadContext context) {
+    // Writing blocks reading
+  }
+
+  @Override
+  public void data(ByteBuffer data) throws IOException {
+    while (data.hasRemaining()) {
+      channel.write(data);
+    }
+  }
+
+  @Override
+  public void complete() {
+    // Channel owned by caller
+  }
+
+  @Override
+  public void fail(Throwable failure) {
+    // Channel owned by caller
+  }
+}
@@ -0,0 +1,55 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.io.IOException;
+import org.postgresql.adba.communication.NetworkOutputStream;
+
+/**
+ * Source of the data streamed to the server by a <code>COPY ... FROM STDIN</code>.
+ *
+ * <p>The methods are invoked on the network thread, except for the data available notification which the source may
+ * run from any thread.
+ */
+public interface CopyInSource {
+
+  /**
+   * Starts obtaining the data, as the server is ready to receive it.
+   *
+   * @param dataAvailable Run once further data is available (or the source completes) after {@link #hasData()}
+   *                      returned <code>false</code>. May be run from any thread.
+   */
+  void start(Runnable dataAvailable);
+
+  /**
+   * Indicates if data is available to write.
+   *
+   * @return <code>true</code> if data is available.
+   */
+  boolean hasData();
+
+  /**
+   * Indicates if the source is complete, so no further data is to be written.
+   *
+   * @return <code>true</code> if complete.
+   */
+  boolean isComplete();
+
+  /**
+   * Writes the next available data as the content of a CopyData message.
+   *
+   * @param wire {@link NetworkOutputStream} to write the data.
+   * @throws IOException If fails to write the data.
+   */
+  void writeData(NetworkOutputStream wire) throws IOException;
+
+  /**
+   * Obtains the failure of the source.
+   *
+   * @return Failure of the source. <code>null</code> if the source has not failed.
+   */
+  Throwable getFailure();
+
+  /**
+   * Stops obtaining data, as the COPY has failed.
+   */
+  void cancel();
+}
@@ -0,0 +1,41 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.postgresql.adba.communication.NetworkReadContext;
+
+/**
+ * Sink of the data streamed from the server by a <code>COPY ... TO STDOUT</code>.
+ *
+ * <p>The methods are invoked on the network thread. The sink applies backpressure by pausing reading from the network
+ * (via the {@link NetworkReadContext}) until it is able to take further data.
+ */
+public interface CopyOutSink {
+
+  /**
+   * Starts receiving the data, as the server is about to send it.
+   *
+   * @param context {@link NetworkReadContext} to pause and resume reading from the network.
+   */
+  void start(NetworkReadContext context);
+
+  /**
+   * Receives the content of a CopyData message.
+   *
+   * @param data Data. Only valid for this call, so must be copied to be retained.
+   * @throws IOException If fails to handle the data.
+   */
+  void data(ByteBuffer data) throws IOException;
+
+  /**
+   * Flags all data has been received.
+   */
+  void complete();
+
+  /**
+   * Flags the COPY failed. No further data is received.
+   *
+   * @param failure Cause of the failure.
+   */
+  void fail(Throwable failure);
+}
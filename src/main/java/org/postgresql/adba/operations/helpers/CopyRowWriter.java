@@ -0,0 +1,235 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
+import org.postgresql.adba.communication.packets.parts.FormatCodeTypes;
+import org.postgresql.adba.communication.packets.parts.PgAdbaType;
+
+/**
+ * Writes the fields of a row in the binary format of a <code>COPY ... FROM STDIN (FORMAT binary)</code>.
+ *
+ * <p>The fields are written straight into the CopyData message, in the order of the columns of the COPY. Each field
+ * is the int32 length followed by the value in the binary format of its type (the same layout as a binary bind
+ * parameter), so the values must be of the exact type of the column (e.g. {@link #writeInt(int)} for an
+ * <code>int4</code> column).
+ */
+public class CopyRowWriter {
+
+  private final NetworkOutputStream wire;
+
+  private int fields = 0;
+
+  /**
+   * Instantiate.
+   *
+   * @param wire {@link NetworkOutputStream} to write the fields.
+   */
+  CopyRowWriter(NetworkOutputStream wire) {
+    this.wire = wire;
+  }
+
+  /**
+   * Starts the next row.
+   *
+   * @param columns Number of fields of the row.
+   * @throws IOException If fails to write the field count.
+   */
+  void startRow(int columns) throws IOException {
+    wire.writeInt16((short) columns);
+    fields = 0;
+  }
+
+  /**
+   * Obtains the number of fields written for the current row.
+   *
+   * @return Number of fields written.
+   */
+  int getFieldCount() {
+    return fields;
+  }
+
+  /**
+   * Writes a <code>null</code> field.
+   *
+   * @return this writer
+   */
+  public CopyRowWriter writeNull() {
+    try {
+      wire.writeInt32(-1);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes an <code>int2</code> field.
+   *
+   * @param value the value
+   * @return this writer
+   */
+  public CopyRowWriter writeShort(short value) {
+    try {
+      wire.writeInt32(2);
+      wire.writeInt16(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes an <code>int4</code> field.
+   *
+   * @param value the value
+   * @return this writer
+   */
+  public CopyRowWriter writeInt(int value) {
+    try {
+      wire.writeInt32(4);
+      wire.writeInt32(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes an <code>int8</code> field.
+   *
+   * @param value the value
+   * @return this writer
+   */
+  public CopyRowWriter writeLong(long value) {
+    try {
+      wire.writeInt32(8);
+      wire.writeInt64(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes a <code>float4</code> field.
+   *
+   * @param value the value
+   * @return this writer
+   */
+  public CopyRowWriter writeFloat(float value) {
+    try {
+      wire.writeInt32(4);
+      wire.writeInt32(Float.floatToIntBits(value));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes a <code>float8</code> field.
+   *
+   * @param value the value
+   * @return this writer
+   */
+  public CopyRowWriter writeDouble(double value) {
+    try {
+      wire.writeInt32(8);
+      wire.writeInt64(Double.doubleToLongBits(value));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes a <code>bool</code> field.
+   *
+   * @param value the value
+   * @return this writer
+   */
+  public CopyRowWriter writeBoolean(boolean value) {
+    try {
+      wire.writeInt32(1);
+      wire.write(value ? 1 : 0);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes a <code>text</code> or <code>varchar</code> field, encoded as UTF-8.
+   *
+   * @param value the value, <code>null</code> writes a <code>null</code> field
+   * @return this writer
+   */
+  public CopyRowWriter writeString(CharSequence value) {
+    if (value == null) {
+      return writeNull();
+    }
+    try {
+      wire.initValue();
+      wire.writeUtf8(value);
+      wire.completeValue();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes a <code>bytea</code> field.
+   *
+   * @param value the value, <code>null</code> writes a <code>null</code> field
+   * @return this writer
+   */
+  public CopyRowWriter writeBytes(byte[] value) {
+    if (value == null) {
+      return writeNull();
+    }
+    try {
+      wire.writeInt32(value.length);
+      wire.write(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+
+  /**
+   * Writes a field with the binary encoding used to bind parameters of the type, e.g. for arrays.
+   *
+   * @param value the value, <code>null</code> writes a <code>null</code> field
+   * @param type the type of the column
+   * @return this writer
+   * @throws IllegalArgumentException if the type is not bound in the binary format
+   */
+  public CopyRowWriter write(Object value, SqlType type) {
+    PgAdbaType pgType = PgAdbaType.convert(type);
+    if (pgType.getFormatCodeTypes() != FormatCodeTypes.BINARY) {
+      throw new IllegalArgumentException("type " + type + " has no binary encoding to copy");
+    }
+    if (value == null) {
+      return writeNull();
+    }
+    try {
+      pgType.getParameterEncoder().encode(value, wire);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    fields++;
+    return this;
+  }
+}
@@ -1,8 +1,10 @@
 package org.postgresql.adba.operations.helpers;
 
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -83,6 +85,14 @@ public class FutureArrayQueryParameter implements QueryParameter {
     return type.getByteGenerator().apply(values.get(index));
   }
 
+  @Override
+  public void writeParameter(int index, NetworkOutputStream wire)
+      throws ExecutionException, InterruptedException, IOException {
+    resolveType();
+
+    type.getParameterEncoder().encode(values.get(index), wire);
+  }
+
   @Override
   public int numberOfQueryRepetitions() throws ExecutionException, InterruptedException {
     resolveType();
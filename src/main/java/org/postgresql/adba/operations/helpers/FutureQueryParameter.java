@@ -1,8 +1,10 @@
 package org.postgresql.adba.operations.helpers;
 
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
 
+import java.io.IOException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 
@@ -59,6 +61,16 @@ public class FutureQueryParameter implements QueryParameter {
     }
   }
 
+  @Override
+  public void writeParameter(int index, NetworkOutputStream wire)
+      throws ExecutionException, InterruptedException, IOException {
+    if (valueHolder != null) {
+      type.getParameterEncoder().encode(valueHolder.toCompletableFuture().get(), wire);
+    } else {
+      type.getParameterEncoder().encode(value, wire);
+    }
+  }
+
   @Override
   public int numberOfQueryRepetitions() {
     return 1;
@@ -0,0 +1,118 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import org.postgresql.adba.communication.NetworkOutputStream;
+
+/**
+ * {@link CopyInSource} writing the {@link ByteBuffer} instances of a {@link Flow.Publisher}.
+ *
+ * <p>Only a few {@link ByteBuffer} instances are requested ahead, with a further one requested as each is written to
+ * the network. Each {@link ByteBuffer} is sent as a CopyData message.
+ */
+public class PublisherCopyInSource implements CopyInSource, Flow.Subscriber<ByteBuffer> {
+
+  /**
+   * Number of {@link ByteBuffer} instances requested ahead of being written.
+   */
+  static final int PREFETCH = 16;
+
+  private final Flow.Publisher<ByteBuffer> publisher;
+
+  private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+  private volatile Runnable dataAvailable = null;
+
+  private volatile Flow.Subscription subscription = null;
+
+  private volatile boolean isPublisherComplete = false;
+
+  private volatile Throwable failure = null;
+
+  /**
+   * Instantiate.
+   *
+   * @param publisher {@link Flow.Publisher} of the data.
+   */
+  public PublisherCopyInSource(Flow.Publisher<ByteBuffer> publisher) {
+    this.publisher = publisher;
+  }
+
+  /*
+   * ================== CopyInSource ==================
+   */
+
+  @Override
+  public void start(Runnable dataAvailable) {
+    this.dataAvailable = dataAvailable;
+    publisher.subscribe(this);
+  }
+
+  @Override
+  public boolean hasData() {
+    return (failure == null) && !buffers.isEmpty();
+  }
+
+  @Override
+  public boolean isComplete() {
+    return (failure != null) || (isPublisherComplete && buffers.isEmpty());
+  }
+
+  @Override
+  public void writeData(NetworkOutputStream wire) throws IOException {
+    wire.write(buffers.poll().duplicate());
+    subscription.request(1);
+  }
+
+  @Override
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  @Override
+  public void cancel() {
+    Flow.Subscription subscription = this.subscription;
+    if (subscription != null) {
+      subscription.cancel();
+    }
+    buffers.clear();
+  }
+
+  /*
+   * ================== Flow.Subscriber ==================
+   */
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(PREFETCH);
+  }
+
+  @Override
+  public void onNext(ByteBuffer item) {
+    buffers.add(item);
+    notifyDataAvailable();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    failure = throwable;
+    notifyDataAvailable();
+  }
+
+  @Override
+  public void onComplete() {
+    isPublisherComplete = true;
+    notifyDataAvailable();
+  }
+
+  private void notifyDataAvailable() {
+    Runnable dataAvailable = this.dataAvailable;
+    if (dataAvailable != null) {
+      dataAvailable.run();
+    }
+  }
+}
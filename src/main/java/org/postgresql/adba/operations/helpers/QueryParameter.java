@@ -1,6 +1,8 @@
 package org.postgresql.adba.operations.helpers;
 
+import java.io.IOException;
 import java.util.concurrent.ExecutionException;
+import org.postgresql.adba.communication.NetworkOutputStream;
 
 public interface QueryParameter {
   int getOid() throws ExecutionException, InterruptedException;
@@ -9,5 +11,16 @@ public interface QueryParameter {
 
   byte[] getParameter(int index) throws ExecutionException, InterruptedException;
 
+  /**
+   * writes the length prefixed parameter value straight into the stream, using the type's
+   * {@link org.postgresql.adba.communication.packets.parts.ParameterEncoder}.
+   * @param index the query repetition index
+   * @param wire the stream to write to
+   * @throws ExecutionException if the parameter is a future that throws during resolving
+   * @throws InterruptedException if the parameter is a future that throws during resolving
+   * @throws IOException if fails to write the parameter
+   */
+  void writeParameter(int index, NetworkOutputStream wire) throws ExecutionException, InterruptedException, IOException;
+
   int numberOfQueryRepetitions() throws ExecutionException, InterruptedException;
 }
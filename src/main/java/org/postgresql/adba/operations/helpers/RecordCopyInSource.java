@@ -0,0 +1,85 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.io.IOException;
+import java.util.Iterator;
+import org.postgresql.adba.communication.NetworkOutputStream;
+
+/**
+ * {@link CopyInSource} writing records (in the text or CSV format of the COPY) from an {@link Iterator}.
+ *
+ * <p>The records are pulled as the network is able to send them, with many records packed into each CopyData message.
+ * A record not ending with a new line has one appended.
+ */
+public class RecordCopyInSource implements CopyInSource {
+
+  /**
+   * Number of characters of records packed into a CopyData message.
+   */
+  static final int MESSAGE_SIZE = 64 * 1024;
+
+  private final Iterator<? extends CharSequence> records;
+
+  private Throwable failure = null;
+
+  /**
+   * Instantiate.
+   *
+   * @param records {@link Iterator} of the records.
+   */
+  public RecordCopyInSource(Iterator<? extends CharSequence> records) {
+    this.records = records;
+  }
+
+  @Override
+  public void start(Runnable dataAvailable) {
+    // Records always available
+  }
+
+  @Override
+  public boolean hasData() {
+    if (failure != null) {
+      return false;
+    }
+    try {
+      return records.hasNext();
+    } catch (RuntimeException ex) {
+      failure = ex;
+      return false;
+    }
+  }
+
+  @Override
+  public boolean isComplete() {
+    return !hasData();
+  }
+
+  @Override
+  public void writeData(NetworkOutputStream wire) throws IOException {
+    int characters = 0;
+    do {
+      CharSequence record;
+      try {
+        record = records.next();
+      } catch (RuntimeException ex) {
+        failure = ex;
+        return;
+      }
+      wire.writeUtf8(record);
+      int length = record.length();
+      if ((length == 0) || (record.charAt(length - 1) != '\n')) {
+        wire.write('\n');
+      }
+      characters += length + 1;
+    } while ((characters < MESSAGE_SIZE) && hasData());
+  }
+
+  @Override
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  @Override
+  public void cancel() {
+    // Nothing to release
+  }
+}
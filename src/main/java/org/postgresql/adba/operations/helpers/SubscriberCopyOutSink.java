@@ -0,0 +1,152 @@
+package org.postgresql.adba.operations.helpers;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+import org.postgresql.adba.communication.NetworkReadContext;
+
+/**
+ * {@link CopyOutSink} publishing the data to a {@link Flow.Subscriber}.
+ *
+ * <p>Each CopyData message is published as a {@link ByteBuffer}. Once the subscriber has no outstanding demand, reading
+ * from the network is paused (with only the messages of the last read held) until the subscriber requests more.
+ */
+public class SubscriberCopyOutSink implements CopyOutSink, Flow.Subscription {
+
+  private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+  private final Queue<ByteBuffer> buffers = new ArrayDeque<>();
+
+  private NetworkReadContext context = null;
+
+  private boolean isSubscribed = false;
+
+  private long demand = 0;
+
+  private boolean isDataComplete = false;
+
+  private Throwable failure = null;
+
+  private boolean isTerminated = false;
+
+  private boolean isReadPaused = false;
+
+  private boolean isDraining = false;
+
+  /**
+   * Instantiate.
+   *
+   * @param subscriber {@link Flow.Subscriber} to receive the data.
+   */
+  public SubscriberCopyOutSink(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    this.subscriber = subscriber;
+  }
+
+  /*
+   * ================== CopyOutSink ==================
+   */
+
+  @Override
+  public synchronized void start(NetworkReadContext context) {
+    this.context = context;
+    isSubscribed = true;
+    subscriber.onSubscribe(this);
+  }
+
+  @Override
+  public synchronized void data(ByteBuffer data) {
+    if (isTerminated) {
+      return; // discard once cancelled
+    }
+    ByteBuffer copy = ByteBuffer.allocate(data.remaining());
+    copy.put(data).flip();
+    buffers.add(copy);
+    drain();
+  }
+
+  @Override
+  public synchronized void complete() {
+    isDataComplete = true;
+    drain();
+  }
+
+  @Override
+  public synchronized void fail(Throwable failure) {
+    if (!isSubscribed) {
+      isSubscribed = true;
+      subscriber.onSubscribe(this); // failed before data, so subscribe to receive the error
+    }
+    this.failure = failure;
+    buffers.clear();
+    drain();
+  }
+
+  /*
+   * ================== Flow.Subscription ==================
+   */
+
+  @Override
+  public synchronized void request(long n) {
+    if (n <= 0) {
+      fail(new IllegalArgumentException("non-positive subscription request"));
+      return;
+    }
+    demand += n;
+    if (demand < 0) {
+      demand = Long.MAX_VALUE; // overflow, so unbounded
+    }
+    drain();
+  }
+
+  @Override
+  public synchronized void cancel() {
+    isTerminated = true;
+    buffers.clear();
+    drain();
+  }
+
+  /**
+   * Publishes the data within the demand, pausing reading while data is held.
+   */
+  private void drain() {
+
+    // Avoid recursion from subscriber requesting within onNext
+    if (isDraining) {
+      return;
+    }
+    isDraining = true;
+    try {
+
+      // Publish the data
+      while ((demand > 0) && !buffers.isEmpty() && !isTerminated) {
+        demand--;
+        subscriber.onNext(buffers.poll());
+      }
+
+      // Signal completion once all data published
+      if (!isTerminated) {
+        if (failure != null) {
+          isTerminated = true;
+          subscriber.onError(failure);
+        } else if (isDataComplete && buffers.isEmpty()) {
+          isTerminated = true;
+          subscriber.onComplete();
+        }
+      }
+
+      // Hold back the server while unable to publish the data
+      boolean isPause = !buffers.isEmpty();
+      if ((isPause != isReadPaused) && (context != null)) {
+        isReadPaused = isPause;
+        if (isPause) {
+          context.pauseRead();
+        } else {
+          context.resumeRead();
+        }
+      }
+    } finally {
+      isDraining = false;
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package org.postgresql.adba.operations.helpers;
 
+import java.io.IOException;
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
 
 public class ValueQueryParameter implements QueryParameter {
@@ -54,6 +56,11 @@ public class ValueQueryParameter implements QueryParameter {
     return type.getByteGenerator().apply(value);
   }
 
+  @Override
+  public void writeParameter(int index, NetworkOutputStream wire) throws IOException {
+    type.getParameterEncoder().encode(value, wire);
+  }
+
   @Override
   public int numberOfQueryRepetitions() {
     return 1;
@@ -34,7 +34,6 @@ public class ArrayCountSubmission<T> implements PgSubmission<T> {
   private GroupSubmission groupSubmission;
 
   private int numResults = 0;
-  private int numBindExecuteSent = 0;
 
   /**
    * Creates a submission object that waits for completion.
@@ -139,9 +138,4 @@ public class ArrayCountSubmission<T> implements PgSubmission<T> {
 
     return publicStage;
   }
-
-  public boolean hasMoreToExecute() throws ExecutionException, InterruptedException {
-    numBindExecuteSent++;
-    return numBindExecuteSent != numberOfQueryRepetitions();
-  }
 }
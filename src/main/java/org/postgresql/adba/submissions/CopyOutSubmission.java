@@ -0,0 +1,120 @@
+package org.postgresql.adba.submissions;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import org.postgresql.adba.PgSubmission;
+import org.postgresql.adba.communication.packets.DataRow;
+import org.postgresql.adba.operations.helpers.CopyOutSink;
+import org.postgresql.adba.operations.helpers.ParameterHolder;
+
+public class CopyOutSubmission<T> implements PgSubmission<T> {
+  private final Supplier<Boolean> cancel;
+  private CompletableFuture<T> publicStage;
+  private final String sql;
+  private final AtomicBoolean sendConsumed = new AtomicBoolean(false);
+  private final ParameterHolder holder = new ParameterHolder();
+  private final CopyOutSink sink;
+  private final Consumer<Throwable> errorHandler;
+  private final GroupSubmission<?> groupSubmission;
+
+  /**
+   * Creates the submission of a COPY TO STDOUT.
+   *
+   * @param cancel cancel method
+   * @param errorHandler error handler method
+   * @param sql the COPY command
+   * @param sink receives the data copied from the server
+   * @param groupSubmission group submission this submission is a part of
+   */
+  public CopyOutSubmission(Supplier<Boolean> cancel, Consumer<Throwable> errorHandler, String sql, CopyOutSink sink,
+      GroupSubmission<?> groupSubmission) {
+    this.cancel = cancel;
+    this.errorHandler = errorHandler;
+    this.sql = sql;
+    this.sink = sink;
+    this.groupSubmission = groupSubmission;
+  }
+
+  @Override
+  public String getSql() {
+    return sql;
+  }
+
+  public CopyOutSink getSink() {
+    return sink;
+  }
+
+  @Override
+  public AtomicBoolean getSendConsumed() {
+    return sendConsumed;
+  }
+
+  @Override
+  public ParameterHolder getHolder() {
+    return holder;
+  }
+
+  @Override
+  public Types getCompletionType() {
+    return Types.COPY_OUT;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public void setCollector(Collector collector) {
+  }
+
+  /**
+   * Completes with the number of rows copied.
+   * @param finishObject the number of rows copied
+   * @return the number of rows copied
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public Object finish(Object finishObject) {
+    if (groupSubmission != null) {
+      groupSubmission.addGroupResult(finishObject);
+    }
+    ((CompletableFuture<T>) getCompletionStage()).complete((T) finishObject);
+    return finishObject;
+  }
+
+  @Override
+  public void addRow(DataRow row) {
+  }
+
+  @Override
+  public List<Integer> getParamTypes() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public int numberOfQueryRepetitions() {
+    return 1;
+  }
+
+  @Override
+  public Consumer<Throwable> getErrorHandler() {
+    return errorHandler;
+  }
+
+  @Override
+  public CompletionStage<Boolean> cancel() {
+    return new CompletableFuture<Boolean>().completeAsync(cancel);
+  }
+
+  @Override
+  public CompletionStage<T> getCompletionStage() {
+    if (publicStage == null) {
+      publicStage = new CompletableFuture<>();
+    }
+
+    return publicStage;
+  }
+}
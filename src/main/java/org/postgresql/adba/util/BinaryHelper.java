@@ -6,6 +6,10 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 public class BinaryHelper {
+  private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+      100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+      1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+
   public static int readInt(byte byte1, byte byte2, byte byte3, byte byte4) {
     return (byte1 & 0xFF) << 24 | (byte2 & 0xFF) << 16 | (byte3 & 0xFF) << 8 | (byte4 & 0xFF);
   }
@@ -14,6 +18,30 @@ public class BinaryHelper {
     return (short) (((b1 & 255) << 8) + ((b2 & 255)));
   }
 
+  /**
+   * reads a long in network byte order from the byte array.
+   * @param bytes the byte array
+   * @param pos position of the first byte of the long
+   * @return the long
+   */
+  public static long readLong(byte[] bytes, int pos) {
+    return ((long) readInt(bytes[pos], bytes[pos + 1], bytes[pos + 2], bytes[pos + 3]) << 32)
+        | (readInt(bytes[pos + 4], bytes[pos + 5], bytes[pos + 6], bytes[pos + 7]) & 0xFFFFFFFFL);
+  }
+
+  /**
+   * ten to the power of the exponent as a long.
+   * @param exponent the exponent, from 0 to 18
+   * @return the power of ten
+   * @throws ArithmeticException if the power of ten does not fit in a long
+   */
+  public static long powerOfTen(int exponent) {
+    if ((exponent < 0) || (exponent >= POWERS_OF_TEN.length)) {
+      throw new ArithmeticException("10^" + exponent + " out of long range");
+    }
+    return POWERS_OF_TEN[exponent];
+  }
+
   /**
    * writes a long to a byte array in network byte order.
    * @param val long to write
@@ -3,6 +3,8 @@ package org.postgresql.adba;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.postgresql.adba.testutil.FutureUtil.get10;
 
 import java.util.ArrayList;
@@ -114,4 +116,119 @@ public class ArrayCountOperationTest {
       assertNull(get10(drop.getCompletionStage()));
     }
   }
+
+  @Test
+  public void multiInsertBindsEachRow() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      session.rowCountOperation("create table thirdTabForInsert(id int, name varchar(10))")
+          .submit();
+      Submission<List<Integer>> arrayCount =
+          session.<List<Integer>>arrayRowCountOperation("insert into thirdTabForInsert(id, name) values ($1, $2)")
+          .set("$1", new Integer[]{1, 2, 3}, AdbaType.INTEGER)
+          .set("$2", new String[]{"a", "b", "c"}, AdbaType.VARCHAR)
+          .submit();
+      Submission<String> names = session.<String>rowOperation(
+          "select string_agg(id || name, ',' order by id) as t from thirdTabForInsert")
+          .collect(CollectorUtils.singleCollector(String.class))
+          .submit();
+      Submission<Object> drop = session.operation("drop table thirdTabForInsert")
+          .submit();
+
+      assertEquals(3, get10(arrayCount.getCompletionStage()).size());
+      assertEquals("1a,2b,3c", get10(names.getCompletionStage()));
+      assertNull(get10(drop.getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void multiInsertManyRows() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.builder()
+        .property(PgSessionProperty.MAXIMUM_IN_FLIGHT_BYTES, 4096)
+        .build().attach()) {
+      session.rowCountOperation("create table fourthTabForInsert(id int)")
+          .submit();
+      List<Integer> ids = new ArrayList<>();
+      for (int i = 0; i < 10000; i++) {
+        ids.add(i);
+      }
+      Submission<List<Integer>> arrayCount =
+          session.<List<Integer>>arrayRowCountOperation("insert into fourthTabForInsert(id) values ($1)")
+          .set("$1", ids, AdbaType.INTEGER)
+          .submit();
+      Submission<Long> sum = session.<Long>rowOperation("select sum(id) as t from fourthTabForInsert")
+          .collect(CollectorUtils.singleCollector(Long.class))
+          .submit();
+      Submission<Object> drop = session.operation("drop table fourthTabForInsert")
+          .submit();
+
+      assertEquals(10000, get10(arrayCount.getCompletionStage()).size());
+      assertEquals(Long.valueOf(49995000L), get10(sum.getCompletionStage()));
+      assertNull(get10(drop.getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void multiInsertManyRowsWithFailingRow() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.builder()
+        .property(PgSessionProperty.MAXIMUM_IN_FLIGHT_BYTES, 4096)
+        .build().attach()) {
+      session.rowCountOperation("create table sixthTabForInsert(id int primary key)")
+          .submit();
+      List<Integer> ids = new ArrayList<>();
+      for (int i = 0; i < 10000; i++) {
+        ids.add(i);
+      }
+      ids.set(10, 0); // early duplicate, failing while the remaining rows are still to be written
+      Submission<List<Integer>> arrayCount =
+          session.<List<Integer>>arrayRowCountOperation("insert into sixthTabForInsert(id) values ($1)")
+          .set("$1", ids, AdbaType.INTEGER)
+          .submit();
+      Submission<Long> count = session.<Long>rowOperation("select count(*) as t from sixthTabForInsert")
+          .collect(CollectorUtils.singleCollector(Long.class))
+          .submit();
+      Submission<Object> drop = session.operation("drop table sixthTabForInsert")
+          .submit();
+
+      ExecutionException ex = assertThrows(ExecutionException.class, () -> get10(arrayCount.getCompletionStage()));
+      assertTrue(ex.getCause().getMessage().startsWith("duplicate key value violates unique constraint"));
+
+      // Connection usable after the failure, with the batch rolled back
+      assertEquals(Long.valueOf(0), get10(count.getCompletionStage()));
+      assertNull(get10(drop.getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void multiInsertRewrittenBatch() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.builder()
+        .property(PgSessionProperty.REWRITE_BATCHED_INSERTS, true)
+        .build().attach()) {
+      session.rowCountOperation("create table fifthTabForInsert(id int, name varchar(10))")
+          .submit();
+      List<Integer> ids = new ArrayList<>();
+      List<String> names = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        ids.add(i);
+        names.add("n" + i);
+      }
+      Submission<List<PgCount>> arrayCount =
+          session.<List<PgCount>>arrayRowCountOperation("insert into fifthTabForInsert(id, name) values ($1, $2)")
+          .set("$1", ids, AdbaType.INTEGER)
+          .set("$2", names, AdbaType.VARCHAR)
+          .submit();
+      Submission<Long> sum = session.<Long>rowOperation("select sum(id) as t from fifthTabForInsert where name = 'n' || id")
+          .collect(CollectorUtils.singleCollector(Long.class))
+          .submit();
+      Submission<Object> drop = session.operation("drop table fifthTabForInsert")
+          .submit();
+
+      List<PgCount> counts = get10(arrayCount.getCompletionStage());
+      assertEquals(1000, counts.size());
+      for (PgCount count : counts) {
+        assertEquals(new PgCount(1), count);
+      }
+      assertEquals(Long.valueOf(499500L), get10(sum.getCompletionStage()));
+      assertNull(get10(drop.getCompletionStage()));
+    }
+  }
 }
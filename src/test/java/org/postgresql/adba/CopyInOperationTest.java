@@ -0,0 +1,154 @@
+package org.postgresql.adba;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.postgresql.adba.testutil.FutureUtil.get10;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeoutException;
+import jdk.incubator.sql2.DataSource;
+import jdk.incubator.sql2.Session;
+import jdk.incubator.sql2.Submission;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.packets.parts.PgAdbaType;
+import org.postgresql.adba.operations.helpers.CopyRowWriter;
+import org.postgresql.adba.testutil.CollectorUtils;
+import org.postgresql.adba.testutil.ConnectUtil;
+import org.postgresql.adba.testutil.DatabaseHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+public class CopyInOperationTest {
+  public static PostgreSQLContainer postgres = DatabaseHolder.getCached();
+
+  private static DataSource ds;
+
+  @BeforeAll
+  public static void setUp() {
+    ds = ConnectUtil.openDb(postgres);
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    ds.close();
+  }
+
+  @Test
+  public void copyRecords() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.builder()
+        .property(PgSessionProperty.MAXIMUM_IN_FLIGHT_BYTES, 4096)
+        .build().attach()) {
+      session.rowCountOperation("create table copyInRecords(id int, name text)")
+          .submit();
+      List<String> records = new ArrayList<>();
+      for (int i = 0; i < 10000; i++) {
+        records.add(i + ",name " + i);
+      }
+      Submission<Long> copy = ((PgSession) session).copyInOperation("copy copyInRecords from stdin (format csv)")
+          .from(records.iterator())
+          .submit();
+      Submission<Long> sum = session.<Long>rowOperation("select sum(id) as t from copyInRecords")
+          .collect(CollectorUtils.singleCollector(Long.class))
+          .submit();
+      Submission<Object> drop = session.operation("drop table copyInRecords")
+          .submit();
+
+      assertEquals(Long.valueOf(10000), get10(copy.getCompletionStage()));
+      assertEquals(Long.valueOf(49995000L), get10(sum.getCompletionStage()));
+      assertNull(get10(drop.getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void copyBinaryRows() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      session.rowCountOperation("create table copyInBinary(id int, total bigint, ratio float8, active bool, "
+          + "name text, scores int[])")
+          .submit();
+      List<Integer> rows = new ArrayList<>();
+      for (int i = 0; i < 10000; i++) {
+        rows.add(i);
+      }
+      Submission<Long> copy = ((PgSession) session)
+          .copyInOperation("copy copyInBinary from stdin (format binary)")
+          .from(rows.iterator(), 6, (Integer row, CopyRowWriter writer) -> writer
+              .writeInt(row)
+              .writeLong(row * 10L)
+              .writeDouble(row / 2.0)
+              .writeBoolean(row % 2 == 0)
+              .writeString(row % 3 == 0 ? null : "name " + row)
+              .write(new Integer[] {row, row + 1}, PgAdbaType.INTEGER_ARRAY))
+          .submit();
+      Submission<Long> sum = session.<Long>rowOperation("select sum(total + scores[2]) as t from copyInBinary "
+          + "where active and name is not null")
+          .collect(CollectorUtils.singleCollector(Long.class))
+          .submit();
+      Submission<Object> drop = session.operation("drop table copyInBinary")
+          .submit();
+
+      long expected = 0;
+      for (int i = 0; i < 10000; i++) {
+        if ((i % 2 == 0) && (i % 3 != 0)) {
+          expected += i * 10L + i + 1;
+        }
+      }
+      assertEquals(Long.valueOf(10000), get10(copy.getCompletionStage()));
+      assertEquals(Long.valueOf(expected), get10(sum.getCompletionStage()));
+      assertNull(get10(drop.getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void copyPublisher() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      session.rowCountOperation("create table copyInPublisher(id int, name text)")
+          .submit();
+      SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>();
+      Submission<Long> copy = ((PgSession) session).copyInOperation("copy copyInPublisher from stdin")
+          .from(publisher)
+          .submit();
+      Submission<Long> count = session.<Long>rowOperation("select count(*) as t from copyInPublisher")
+          .collect(CollectorUtils.singleCollector(Long.class))
+          .submit();
+      Submission<Object> drop = session.operation("drop table copyInPublisher")
+          .submit();
+
+      for (int i = 0; i < 1000; i++) {
+        publisher.submit(ByteBuffer.wrap((i + "\tname " + i + "\n").getBytes(StandardCharsets.UTF_8)));
+      }
+      publisher.close();
+
+      assertEquals(Long.valueOf(1000), get10(copy.getCompletionStage()));
+      assertEquals(Long.valueOf(1000), get10(count.getCompletionStage()));
+      assertNull(get10(drop.getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void copyInvalidData() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      session.rowCountOperation("create table copyInInvalid(id int)")
+          .submit();
+      Submission<Long> copy = ((PgSession) session).copyInOperation("copy copyInInvalid from stdin")
+          .from(Arrays.asList("1", "not a number", "3").iterator())
+          .submit();
+      Submission<Long> count = session.<Long>rowOperation("select count(*) as t from copyInInvalid")
+          .collect(CollectorUtils.singleCollector(Long.class))
+          .submit();
+      Submission<Object> drop = session.operation("drop table copyInInvalid")
+          .submit();
+
+      assertThrows(ExecutionException.class, () -> get10(copy.getCompletionStage()));
+      assertEquals(Long.valueOf(0), get10(count.getCompletionStage()));
+      assertNull(get10(drop.getCompletionStage()));
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package org.postgresql.adba;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.postgresql.adba.testutil.FutureUtil.get10;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeoutException;
+import jdk.incubator.sql2.DataSource;
+import jdk.incubator.sql2.Session;
+import jdk.incubator.sql2.Submission;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.testutil.ConnectUtil;
+import org.postgresql.adba.testutil.DatabaseHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+public class CopyOutOperationTest {
+  public static PostgreSQLContainer postgres = DatabaseHolder.getCached();
+
+  private static DataSource ds;
+
+  @BeforeAll
+  public static void setUp() {
+    ds = ConnectUtil.openDb(postgres);
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    ds.close();
+  }
+
+  @Test
+  public void copyToChannel() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      Submission<Long> copy = ((PgSession) session)
+          .copyOutOperation("copy (select i, 'name ' || i from generate_series(1, 3) i) to stdout (format csv)")
+          .to(Channels.newChannel(output))
+          .submit();
+
+      assertEquals(Long.valueOf(3), get10(copy.getCompletionStage()));
+      assertEquals("1,name 1\n2,name 2\n3,name 3\n", new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void copyToSlowSubscriber() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      CompletableFuture<Long> bytes = new CompletableFuture<>();
+      Flow.Subscriber<ByteBuffer> subscriber = new Flow.Subscriber<>() {
+        private Flow.Subscription subscription;
+        private long total = 0;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+          this.subscription = subscription;
+          subscription.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+          total += item.remaining();
+          CompletableFuture.runAsync(() -> subscription.request(1)); // one at a time from another thread
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+          bytes.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+          bytes.complete(total);
+        }
+      };
+      Submission<Long> copy = ((PgSession) session)
+          .copyOutOperation("copy (select lpad(i::text, 9, '0') from generate_series(1, 100000) i) to stdout")
+          .to(subscriber)
+          .submit();
+      Submission<Object> after = session.operation("select 1")
+          .submit();
+
+      assertEquals(Long.valueOf(100000), get10(copy.getCompletionStage()));
+      assertEquals(Long.valueOf(100000L * 10), get10(bytes));
+      assertNull(get10(after.getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void copyFailure() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      Submission<Long> copy = ((PgSession) session)
+          .copyOutOperation("copy noSuchTable to stdout")
+          .to(Channels.newChannel(output))
+          .submit();
+      Submission<Object> after = session.operation("select 1")
+          .submit();
+
+      assertThrows(ExecutionException.class, () -> get10(copy.getCompletionStage()));
+      assertNull(get10(after.getCompletionStage()));
+    }
+  }
+}
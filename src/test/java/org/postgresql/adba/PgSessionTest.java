@@ -4,6 +4,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.postgresql.adba.testutil.CollectorUtils.singleCollector;
 import static org.postgresql.adba.testutil.FutureUtil.get10;
@@ -11,14 +12,17 @@ import static org.postgresql.adba.testutil.FutureUtil.get10;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collector;
 import jdk.incubator.sql2.AdbaType;
 import jdk.incubator.sql2.DataSource;
+import jdk.incubator.sql2.Result;
 import jdk.incubator.sql2.Session;
 import jdk.incubator.sql2.Session.Lifecycle;
 import jdk.incubator.sql2.Submission;
@@ -65,6 +69,137 @@ public class PgSessionTest {
     }
   }
 
+  @Test
+  public void sessionWithSocketTuning() throws InterruptedException, ExecutionException, TimeoutException {
+    try (Session session = ds.builder()
+        .property(PgSessionProperty.TCP_NODELAY, false)
+        .property(PgSessionProperty.SEND_BUFFER_SIZE, 65536)
+        .property(PgSessionProperty.RECV_BUFFER_SIZE, 65536)
+        .build().attach()) {
+      CompletionStage<String> idF = session.<String>rowOperation("select '1'::text as t")
+          .collect(singleCollector(String.class))
+          .submit()
+          .getCompletionStage();
+
+      assertEquals("1", get10(idF));
+    }
+  }
+
+  @Test
+  public void sessionCorksPipelinedRequests() throws InterruptedException, ExecutionException, TimeoutException {
+    try (Session session = ds.builder().property(PgSessionProperty.CORK_QUEUE_DEPTH, 2).build().attach()) {
+      List<CompletionStage<String>> results = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        results.add(session.<String>rowOperation("select '" + i + "'::text as t")
+            .collect(singleCollector(String.class))
+            .submit()
+            .getCompletionStage());
+      }
+
+      for (int i = 0; i < 100; i++) {
+        assertEquals(String.valueOf(i), get10(results.get(i)));
+      }
+    }
+  }
+
+  @Test
+  public void sessionPipelinesRequests() throws InterruptedException, ExecutionException, TimeoutException {
+    try (Session session = ds.builder().property(PgSessionProperty.PIPELINE_DEPTH, 10).build().attach()) {
+      List<CompletionStage<String>> results = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        results.add(session.<String>rowOperation("select '" + i + "'::text as t")
+            .collect(singleCollector(String.class))
+            .submit()
+            .getCompletionStage());
+      }
+
+      for (int i = 0; i < 100; i++) {
+        assertEquals(String.valueOf(i), get10(results.get(i)));
+      }
+    }
+  }
+
+  @Test
+  public void sessionPipelineRecoversFromError() throws InterruptedException, ExecutionException, TimeoutException {
+    try (Session session = ds.builder().property(PgSessionProperty.PIPELINE_DEPTH, 10).build().attach()) {
+      List<CompletionStage<?>> stages = submitQueued(session, queued -> Arrays.asList(
+          selectText(queued, "select 'before'::text as t"),
+          selectText(queued, "select select"),
+          selectText(queued, "select 'pipelined'::text as t")));
+
+      ExecutionException rolledBack = assertThrows(ExecutionException.class, () -> get10(stages.get(0)));
+      assertTrue(rolledBack.getCause().getMessage().startsWith("Rolled back"));
+      ExecutionException ex = assertThrows(ExecutionException.class, () -> get10(stages.get(1)));
+      assertEquals("syntax error at or near \"select\"", ex.getCause().getMessage());
+      ExecutionException skipped = assertThrows(ExecutionException.class, () -> get10(stages.get(2)));
+      assertTrue(skipped.getCause().getMessage().startsWith("Not executed"));
+
+      // Connection usable after the error
+      assertEquals("after", get10(session.<String>rowOperation("select 'after'::text as t")
+          .collect(singleCollector(String.class))
+          .submit()
+          .getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void sessionPipelineFailsRolledBackOperations()
+      throws InterruptedException, ExecutionException, TimeoutException {
+    try (Session session = ds.builder().property(PgSessionProperty.PIPELINE_DEPTH, 10).build().attach()) {
+      List<CompletionStage<?>> stages = submitQueued(session, queued -> Arrays.asList(
+          queued.rowCountOperation("insert into tab(id, name, answer) values (4242, 'rolled back', 1)")
+              .submit()
+              .getCompletionStage(),
+          selectText(queued, "select select")));
+
+      // Insert reported its count before the failure, but the implicit transaction was rolled back
+      ExecutionException rolledBack = assertThrows(ExecutionException.class, () -> get10(stages.get(0)));
+      assertTrue(rolledBack.getCause().getMessage().startsWith("Rolled back, as later pipelined operation failed"));
+      assertThrows(ExecutionException.class, () -> get10(stages.get(1)));
+
+      assertEquals(Long.valueOf(0), get10(session.<Long>rowOperation("select count(*) as t from tab where id = 4242")
+          .collect(singleCollector(Long.class))
+          .submit()
+          .getCompletionStage()));
+    }
+  }
+
+  @Test
+  public void sessionPipelineAbortsSuspendedOperation()
+      throws InterruptedException, ExecutionException, TimeoutException {
+    try (Session session = ds.builder()
+        .property(PgSessionProperty.PIPELINE_DEPTH, 10)
+        .property(PgSessionProperty.MAXIMUM_IN_FLIGHT_BYTES, 4096)
+        .build().attach()) {
+      List<Integer> ids = new ArrayList<>();
+      for (int i = 0; i < 10000; i++) {
+        ids.add(5000 + i);
+      }
+
+      // Failure arrives while the batch pipelined after it is suspended (before the deferred Sync is written)
+      List<CompletionStage<?>> stages = submitQueued(session, queued -> Arrays.asList(
+          selectText(queued, "select select"),
+          queued.<List<Integer>>arrayRowCountOperation("insert into tab(id, name, answer) values ($1, 'skipped', 1)")
+              .set("$1", ids, AdbaType.INTEGER)
+              .submit()
+              .getCompletionStage(),
+          selectText(queued, "select 'after'::text as t")));
+
+      ExecutionException ex = assertThrows(ExecutionException.class, () -> get10(stages.get(0)));
+      assertEquals("syntax error at or near \"select\"", ex.getCause().getMessage());
+      ExecutionException skipped = assertThrows(ExecutionException.class, () -> get10(stages.get(1)));
+      assertTrue(skipped.getCause().getMessage().startsWith("Not executed"));
+
+      // Operation after the aborted batch runs after the Sync
+      assertEquals("after", get10(stages.get(2)));
+      assertEquals(Long.valueOf(0), get10(session.<Long>rowOperation(
+          "select count(*) as t from tab where name = 'skipped'")
+          .collect(singleCollector(Long.class))
+          .submit()
+          .getCompletionStage()));
+    }
+  }
+
   @Test
   public void sessionBuilderSetPropertyAfterBuild() {
     Session.Builder builder = ds.builder();
@@ -400,4 +535,24 @@ public class PgSessionTest {
       assertEquals(Integer.valueOf(3), result);
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Submits the operations from the NIO thread while it reads the row of a trigger operation. The operations are then
+   * all queued before the connection next flushes, so are pipelined under the one Sync.
+   */
+  private static <T> T submitQueued(Session session, Function<Session, T> submitter)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return get10(session.<T>rowOperation("select 1 as t")
+        .collect(Collector.<Result.RowColumn, List<T>, T>of(ArrayList::new,
+            (submitted, row) -> submitted.add(submitter.apply(session)), (a, b) -> a, submitted -> submitted.get(0)))
+        .submit()
+        .getCompletionStage());
+  }
+
+  private static CompletionStage<String> selectText(Session session, String sql) {
+    return session.<String>rowOperation(sql)
+        .collect(singleCollector(String.class))
+        .submit()
+        .getCompletionStage();
+  }
+}
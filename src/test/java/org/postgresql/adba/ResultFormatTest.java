@@ -0,0 +1,138 @@
+package org.postgresql.adba;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.postgresql.adba.testutil.FutureUtil.get10;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collector;
+import jdk.incubator.sql2.DataSource;
+import jdk.incubator.sql2.Result;
+import jdk.incubator.sql2.Session;
+import jdk.incubator.sql2.Submission;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.testutil.ConnectUtil;
+import org.postgresql.adba.testutil.DatabaseHolder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+public class ResultFormatTest {
+  public static PostgreSQLContainer postgres = DatabaseHolder.getCached();
+
+  private static DataSource ds;
+
+  @BeforeAll
+  public static void setUp() {
+    ds = ConnectUtil.openDb(postgres);
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    ds.close();
+  }
+
+  private static final String SQL = "select 1::int2 as a, 2::int4 as b, 3::int8 as c, 1.5::float4 as d, "
+      + "2.5::float8 as e, true as f, '\\x0102'::bytea as g, 'text' as h, "
+      + "'a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11'::uuid as i, '2018-04-29'::date as j, '20:55:57.692132'::time as k, "
+      + "'2018-04-29 20:55:57.692132'::timestamp as l, '2018-04-29 20:55:57.692132'::timestamptz as m, "
+      + "'-12345.6780'::numeric as n, ARRAY[1, null, 3]::int4[] as o, ARRAY['x', null]::text[] as p, "
+      + "null::int4 as q, '{\"a\": 1}'::jsonb as r";
+
+  private static final Object[] EXPECTED = {(short) 1, 2, 3L, 1.5f, 2.5d, true, new byte[] {1, 2}, "text",
+      UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11"), LocalDate.of(2018, 4, 29),
+      LocalTime.of(20, 55, 57, 692132000), LocalDateTime.of(2018, 4, 29, 20, 55, 57, 692132000),
+      OffsetDateTime.of(2018, 4, 29, 20, 55, 57, 692132000, ZoneOffset.UTC), new BigDecimal("-12345.6780"),
+      new Integer[] {1, null, 3}, new String[] {"x", null}, null, "{\"a\": 1}"};
+
+  @Test
+  public void sameValuesInTextAndBinary() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+
+      // First execution describes the columns, so following executions receive binary (except jsonb as text)
+      List<Submission<Object[]>> selects = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        selects.add(session.<Object[]>rowOperation(SQL)
+            .collect(rowCollector())
+            .submit());
+        get10(selects.get(i).getCompletionStage());
+      }
+
+      for (Submission<Object[]> select : selects) {
+        assertArrayEquals(EXPECTED, get10(select.getCompletionStage()));
+      }
+    }
+  }
+
+  @Test
+  public void primitiveAccessors() throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      for (int i = 0; i < 2; i++) { // text then binary
+        Submission<Long> sum = session.<Long>rowOperation("select i, i::int8 * 2 as l, i / 2.0::float8 as d, "
+            + "i % 2 = 0 as b from generate_series(1, 1000) i")
+            .collect(Collector.of(
+                () -> new long[1],
+                (a, r) -> {
+                  PgRowColumn row = (PgRowColumn) r;
+                  a[0] += row.at("i").getInt() + row.at("l").getLong() + (long) (row.at("d").getDouble() * 2)
+                      + (row.at("b").getBoolean() ? 1 : 0);
+                },
+                (l, r) -> null,
+                a -> a[0]))
+            .submit();
+        assertEquals(Long.valueOf(500500L * 4 + 500), get10(sum.getCompletionStage()));
+      }
+    }
+  }
+
+  @Test
+  public void timestampTimeZoneInSessionTimeZone()
+      throws ExecutionException, InterruptedException, TimeoutException {
+    try (Session session = ds.getSession()) {
+      get10(session.operation("set timezone to 'Europe/Berlin'").submit().getCompletionStage());
+
+      // Same offset from the first (text) execution as from the following (cached) executions
+      OffsetDateTime[] expected = {OffsetDateTime.of(2018, 4, 29, 22, 55, 57, 692132000, ZoneOffset.ofHours(2)),
+          OffsetDateTime.MAX};
+      for (int i = 0; i < 3; i++) {
+        Submission<OffsetDateTime[]> select = session.<OffsetDateTime[]>rowOperation(
+            "select '2018-04-29 20:55:57.692132+00'::timestamptz as t, 'infinity'::timestamptz as i")
+            .collect(Collector.of(
+                () -> new OffsetDateTime[2],
+                (a, r) -> {
+                  a[0] = r.at("t").get(OffsetDateTime.class);
+                  a[1] = r.at("i").get(OffsetDateTime.class);
+                },
+                (l, r) -> null,
+                a -> a))
+            .submit();
+        assertArrayEquals(expected, get10(select.getCompletionStage()));
+      }
+    }
+  }
+
+  private static Collector<Result.RowColumn, Object[][], Object[]> rowCollector() {
+    return Collector.of(
+        () -> new Object[1][],
+        (a, r) -> {
+          Object[] row = new Object[EXPECTED.length];
+          for (int i = 0; i < row.length; i++) {
+            Class<?> type = (EXPECTED[i] == null) ? Object.class : EXPECTED[i].getClass();
+            row[i] = r.at(i + 1).get(type);
+          }
+          a[0] = row;
+        },
+        (l, r) -> null,
+        a -> a[0]);
+  }
+}
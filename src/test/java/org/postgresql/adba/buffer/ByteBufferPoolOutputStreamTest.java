@@ -0,0 +1,214 @@
+package org.postgresql.adba.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ByteBufferPoolOutputStreamTest {
+
+  @Test
+  public void drainWrittenBuffersInOrder() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+
+    byte[] data = new byte[20000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) i;
+    }
+    stream.initPacket();
+    stream.write(data);
+    stream.completePacket();
+
+    List<PooledByteBuffer> buffers = new ArrayList<>();
+    assertEquals(3, stream.drainWrittenBuffers(buffers));
+    assertFalse(stream.hasMoreToWrite());
+
+    ByteBuffer all = ByteBuffer.allocate(4 + data.length);
+    for (PooledByteBuffer buffer : buffers) {
+      buffer.getByteBuffer().flip();
+      all.put(buffer.getByteBuffer());
+    }
+    all.flip();
+    assertEquals(4 + data.length, all.getInt());
+    for (int i = 0; i < data.length; i++) {
+      assertEquals((byte) i, all.get(), "byte " + i);
+    }
+  }
+
+  @Test
+  public void packetLengthAcrossBuffers() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+
+    // Fill so tag is last byte of first buffer
+    stream.write(new byte[8191]);
+    stream.write('B');
+    stream.initPacket();
+    stream.write(new byte[] {1, 2, 3}, 1, 2);
+    stream.completePacket();
+
+    ByteBuffer all = drain(stream);
+    all.position(8191);
+    assertEquals('B', all.get());
+    assertEquals(6, all.getInt());
+    assertEquals(2, all.get());
+    assertEquals(3, all.get());
+    assertFalse(all.hasRemaining());
+  }
+
+  @Test
+  public void holdBuffersOfIncompletePacket() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+
+    stream.write('S');
+    stream.initPacket();
+    stream.completePacket();
+    stream.write('B');
+    stream.initPacket();
+    stream.write(new byte[10000]);
+
+    // Nothing available as first buffer contains length of incomplete packet
+    List<PooledByteBuffer> buffers = new ArrayList<>();
+    assertEquals(0, stream.drainWrittenBuffers(buffers));
+    assertFalse(stream.hasMoreToWrite());
+
+    // All available once complete
+    stream.completePacket();
+    ByteBuffer all = drain(stream);
+    assertEquals('S', all.get());
+    assertEquals(4, all.getInt());
+    assertEquals('B', all.get());
+    assertEquals(4 + 10000, all.getInt());
+    assertEquals(10000, all.remaining());
+  }
+
+  @Test
+  public void writeByteBufferAcrossBuffers() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+
+    ByteBuffer data = ByteBuffer.allocate(20000);
+    while (data.hasRemaining()) {
+      data.put((byte) data.position());
+    }
+    data.flip();
+    stream.write(data);
+    assertFalse(data.hasRemaining());
+
+    ByteBuffer all = drain(stream);
+    assertEquals(20000, all.remaining());
+    for (int i = 0; i < 20000; i++) {
+      assertEquals((byte) i, all.get(), "byte " + i);
+    }
+  }
+
+  @Test
+  public void valueLengthAcrossBuffers() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+
+    // Value length fits, but value spans into next buffer
+    stream.initPacket();
+    stream.write(new byte[8184]);
+    stream.initValue();
+    stream.writeUtf8("abcdef");
+    stream.completeValue();
+    stream.completePacket();
+
+    ByteBuffer all = drain(stream);
+    assertEquals(4 + 8184 + 4 + 6, all.getInt());
+    all.position(4 + 8184);
+    assertEquals(6, all.getInt());
+    assertEquals('a', all.get());
+    all.position(all.limit() - 1);
+    assertEquals('f', all.get());
+  }
+
+  @Test
+  public void writeUtf8LikeStringBytes() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+
+    String text = "ascii \u00e9\u20ac \uD83D\uDE00 \uD83D end";
+    stream.write(new byte[8190]);
+    stream.writeUtf8(text);
+    stream.writeInt32(0x01020304);
+
+    ByteBuffer all = drain(stream);
+    all.position(8190);
+    byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], all.get(), "byte " + i);
+    }
+    assertEquals(0x01020304, all.getInt());
+    assertFalse(all.hasRemaining());
+  }
+
+  @Test
+  public void framingPrimitivesAcrossBuffers() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+
+    // Fill so each primitive straddles the buffer boundary
+    stream.write(new byte[8191]);
+    stream.writeInt16((short) 0x0102);
+    stream.write(new byte[8190]);
+    stream.writeInt32(0x03040506);
+    stream.writeCString("portal");
+    stream.writeInt64(-2L);
+
+    ByteBuffer all = drain(stream);
+    all.position(8191);
+    assertEquals(0x0102, all.getShort());
+    all.position(all.position() + 8190);
+    assertEquals(0x03040506, all.getInt());
+    for (char c : "portal".toCharArray()) {
+      assertEquals(c, all.get());
+    }
+    assertEquals(0, all.get());
+    assertEquals(-2L, all.getLong());
+    assertFalse(all.hasRemaining());
+  }
+
+  @Test
+  public void writtenBytesAcrossDrains() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+    assertEquals(0, stream.getWrittenBytes());
+
+    stream.write(new byte[10000]);
+    assertEquals(10000, stream.getWrittenBytes());
+    drain(stream);
+    assertEquals(10000, stream.getWrittenBytes());
+
+    stream.writeInt32(1);
+    assertEquals(10004, stream.getWrittenBytes());
+  }
+
+  @Test
+  public void completeValueRequiresOpenValue() throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+    assertThrows(IllegalStateException.class, stream::initValue);
+    stream.initPacket();
+    assertThrows(IllegalStateException.class, stream::completeValue);
+    stream.initValue();
+    assertThrows(IllegalStateException.class, stream::completePacket);
+  }
+
+  private static ByteBuffer drain(ByteBufferPoolOutputStream stream) {
+    List<PooledByteBuffer> buffers = new ArrayList<>();
+    stream.drainWrittenBuffers(buffers);
+    int size = 0;
+    for (PooledByteBuffer buffer : buffers) {
+      size += buffer.getByteBuffer().position();
+    }
+    ByteBuffer all = ByteBuffer.allocate(size);
+    for (PooledByteBuffer buffer : buffers) {
+      buffer.getByteBuffer().flip();
+      all.put(buffer.getByteBuffer());
+      buffer.release();
+    }
+    all.flip();
+    return all;
+  }
+}
@@ -0,0 +1,143 @@
+package org.postgresql.adba.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class DefaultByteBufferPoolTest {
+
+  @Test
+  public void sizeClasses() {
+    DefaultByteBufferPool pool = new DefaultByteBufferPool(1024, 3, 1024 * 1024);
+
+    assertEquals(1024, pool.getPooledByteBuffer().getByteBuffer().capacity());
+    assertEquals(1024, pool.getPooledByteBuffer(1000).getByteBuffer().capacity());
+    assertEquals(2048, pool.getPooledByteBuffer(1025).getByteBuffer().capacity());
+    assertEquals(4096, pool.getPooledByteBuffer(4096).getByteBuffer().capacity());
+    assertEquals(4096, pool.getPooledByteBuffer(100000).getByteBuffer().capacity());
+  }
+
+  @Test
+  public void reuseReleasedBuffer() {
+    DefaultByteBufferPool pool = new DefaultByteBufferPool(1024, 3, 1024 * 1024);
+
+    PooledByteBuffer buffer = pool.getPooledByteBuffer();
+    assertEquals(1, pool.getOutstandingBuffers());
+    buffer.release();
+    assertEquals(0, pool.getOutstandingBuffers());
+    assertEquals(1, pool.getPooledBuffers());
+    assertEquals(1024, pool.getPooledBytes());
+
+    assertSame(buffer, pool.getPooledByteBuffer());
+    assertEquals(1, pool.getAllocationCount());
+    assertEquals(1024, pool.getAllocatedBytes());
+  }
+
+  @Test
+  public void exhausted() {
+    DefaultByteBufferPool pool = new DefaultByteBufferPool(1024, 1, 2048, 2048);
+
+    pool.getPooledByteBuffer();
+    pool.getPooledByteBuffer();
+
+    // Does not wait for release, but allocates beyond the soft limit
+    PooledByteBuffer beyond = pool.getPooledByteBuffer();
+    assertEquals(1, pool.getExhaustedCount());
+    assertEquals(3072, pool.getAllocatedBytes());
+
+    // Buffer beyond the soft limit is dropped on release
+    beyond.release();
+    assertEquals(0, pool.getPooledBuffers());
+    assertEquals(2048, pool.getAllocatedBytes());
+  }
+
+  @Test
+  public void dropCachedBeyondSoftLimit() throws Exception {
+    DefaultByteBufferPool pool = new DefaultByteBufferPool(1024, 1, 2048, 2048, 4096);
+    ExecutorService other = Executors.newSingleThreadExecutor();
+    try {
+
+      // Other thread caches a buffer and holds another
+      PooledByteBuffer held = other.submit(() -> {
+        PooledByteBuffer cached = pool.getPooledByteBuffer();
+        PooledByteBuffer inUse = pool.getPooledByteBuffer();
+        cached.release();
+        return inUse;
+      }).get(10, TimeUnit.SECONDS);
+
+      // Cached buffer of other thread can not be freed, so allocates beyond the soft limit
+      PooledByteBuffer beyond = pool.getPooledByteBuffer();
+      assertEquals(1, pool.getExhaustedCount());
+      assertEquals(3072, pool.getAllocatedBytes());
+
+      // Beyond the soft limit, so other thread drops its cached buffer on release
+      other.submit(held::release).get(10, TimeUnit.SECONDS);
+      assertEquals(2048, pool.getAllocatedBytes());
+      assertEquals(1, pool.getPooledBuffers());
+
+      // Obtains the released buffer rather than allocating beyond
+      assertSame(held, pool.getPooledByteBuffer());
+      assertEquals(1, pool.getExhaustedCount());
+      beyond.release();
+    } finally {
+      other.shutdown();
+    }
+  }
+
+  @Test
+  public void freeIdleBuffersOfOtherSize() {
+    DefaultByteBufferPool pool = new DefaultByteBufferPool(1024, 2, 2048, 2048);
+    PooledByteBuffer one = pool.getPooledByteBuffer();
+    PooledByteBuffer two = pool.getPooledByteBuffer();
+    one.release();
+    two.release();
+    assertEquals(2, pool.getPooledBuffers());
+
+    // Frees the idle small buffers to allocate a large buffer
+    assertEquals(2048, pool.getPooledByteBuffer(2048).getByteBuffer().capacity());
+    assertEquals(0, pool.getPooledBuffers());
+    assertEquals(2048, pool.getAllocatedBytes());
+  }
+
+  @Test
+  public void dropBeyondRetained() {
+    DefaultByteBufferPool pool = new DefaultByteBufferPool(1024, 1, 4096, 1024, 0);
+    PooledByteBuffer one = pool.getPooledByteBuffer();
+    PooledByteBuffer two = pool.getPooledByteBuffer();
+
+    one.release();
+    two.release();
+    assertEquals(1, pool.getPooledBuffers());
+    assertEquals(1024, pool.getAllocatedBytes());
+  }
+
+  @Test
+  public void overflowMagazineToSharedPool() throws Exception {
+    DefaultByteBufferPool pool = new DefaultByteBufferPool(1024, 1, 1024 * 1024, 1024 * 1024, 4096);
+    PooledByteBuffer[] buffers = new PooledByteBuffer[5];
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = pool.getPooledByteBuffer();
+    }
+
+    // Magazine holds 4, so fifth release flushes half to shared pool
+    for (PooledByteBuffer buffer : buffers) {
+      buffer.release();
+    }
+    assertEquals(5, pool.getPooledBuffers());
+    assertEquals(0, pool.getOutstandingBuffers());
+
+    // Another thread obtains the flushed buffers from the shared pool
+    PooledByteBuffer other = CompletableFuture.supplyAsync(() -> pool.getPooledByteBuffer()).get(10, TimeUnit.SECONDS);
+    assertTrue((other == buffers[0]) || (other == buffers[1]), "Should obtain flushed buffer");
+    assertEquals(5, pool.getAllocationCount());
+
+    // This thread re-uses its most recently released buffer
+    assertSame(buffers[4], pool.getPooledByteBuffer());
+  }
+}
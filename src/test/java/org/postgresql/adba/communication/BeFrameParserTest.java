@@ -1,12 +1,17 @@
 package org.postgresql.adba.communication;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.postgresql.adba.communication.BeFrame.BackendTag;
 
 public class BeFrameParserTest {
 
@@ -60,4 +65,56 @@ public class BeFrameParserTest {
 
     assertNotNull(sp, packetName + " could not be parsed");
   }
-}
\ No newline at end of file
+
+  @ParameterizedTest
+  @MethodSource("data")
+  public void parseNetworkPayloadSplitAcrossReads(String packetName, byte[] packet) {
+    for (int split = 1; split < packet.length; split++) {
+      BeFrameParser instance = new BeFrameParser();
+      instance.parseBeFrame(ByteBuffer.wrap(new byte[] {'N'}), 0, 1);
+
+      ByteBuffer first = ByteBuffer.wrap(Arrays.copyOfRange(packet, 0, split));
+      assertNull(instance.parseBeFrame(first, 0, split), packetName + " parsed before complete");
+      assertEquals(split, instance.getConsumedBytes());
+
+      ByteBuffer second = ByteBuffer.wrap(Arrays.copyOfRange(packet, split, packet.length));
+      BeFrame sp = instance.parseBeFrame(second, 0, packet.length - split);
+      assertNotNull(sp, packetName + " could not be parsed when split at " + split);
+      assertEquals(packet.length - split, instance.getConsumedBytes());
+      assertArrayEquals(Arrays.copyOfRange(packet, 5, packet.length), sp.getPayload());
+    }
+  }
+
+  @Test
+  public void parseMultipleFramesAsSlices() {
+    BeFrameParser instance = new BeFrameParser();
+    instance.parseBeFrame(ByteBuffer.wrap(new byte[] {'N'}), 0, 1);
+
+    ByteBuffer bb = ByteBuffer.allocateDirect(64);
+    bb.put(new byte[] {0x31, 0x00, 0x00, 0x00, 0x04});
+    bb.put(new byte[] {0x5a, 0x00, 0x00, 0x00, 0x05, 0x49});
+    bb.flip();
+
+    BeFrame parseComplete = instance.parseBeFrame(bb, 0, bb.limit());
+    assertEquals(BackendTag.PARSE_COMPLETE, parseComplete.getTag());
+    assertEquals(0, parseComplete.getPayloadLength());
+    assertEquals(5, instance.getConsumedBytes());
+
+    BeFrame readyForQuery = instance.parseBeFrame(bb, 5, bb.limit());
+    assertEquals(BackendTag.READY_FOR_QUERY, readyForQuery.getTag());
+    assertEquals(0x49, readyForQuery.getPayloadBuffer().get(0));
+    assertEquals(6, instance.getConsumedBytes());
+
+    assertNull(instance.parseBeFrame(bb, 11, bb.limit()));
+  }
+
+  @Test
+  public void parseSslResponse() {
+    BeFrameParser instance = new BeFrameParser();
+
+    BeFrame sp = instance.parseBeFrame(ByteBuffer.wrap(new byte[] {'S'}), 0, 1);
+
+    assertEquals(BackendTag.TLS_HANDSHAKE, sp.getTag());
+    assertEquals('S', sp.getPayload()[0]);
+  }
+}
@@ -0,0 +1,68 @@
+package org.postgresql.adba.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class ReadBufferSizerTest {
+
+  @Test
+  public void growsWhenReadFillsBuffer() {
+    ReadBufferSizer sizer = new ReadBufferSizer(1024, 8192);
+
+    sizer.recordRead(1024, 1024);
+    assertEquals(2048, sizer.getReadSize());
+
+    sizer.recordRead(2048, 2048);
+    sizer.recordRead(4096, 4096);
+    sizer.recordRead(8192, 8192);
+    assertEquals(8192, sizer.getReadSize());
+  }
+
+  @Test
+  public void growsToLargeFrame() {
+    ReadBufferSizer sizer = new ReadBufferSizer(1024, 8192);
+
+    sizer.recordFrame(3000);
+    assertEquals(4096, sizer.getReadSize());
+
+    sizer.recordFrame(100000);
+    assertEquals(8192, sizer.getReadSize());
+  }
+
+  @Test
+  public void shrinksAfterWindowOfSmallReads() {
+    ReadBufferSizer sizer = new ReadBufferSizer(1024, 8192);
+    sizer.recordFrame(8192);
+
+    for (int i = 0; i < ReadBufferSizer.SHRINK_WINDOW - 1; i++) {
+      sizer.recordRead(100, 8192);
+    }
+    assertEquals(8192, sizer.getReadSize());
+
+    sizer.recordRead(100, 8192);
+    assertEquals(4096, sizer.getReadSize());
+  }
+
+  @Test
+  public void keepsSizeWhenWindowHasLargeFrame() {
+    ReadBufferSizer sizer = new ReadBufferSizer(1024, 8192);
+    sizer.recordFrame(8192);
+
+    sizer.recordFrame(6000);
+    for (int i = 0; i < ReadBufferSizer.SHRINK_WINDOW; i++) {
+      sizer.recordRead(100, 8192);
+    }
+    assertEquals(8192, sizer.getReadSize());
+  }
+
+  @Test
+  public void neverShrinksBelowMinimum() {
+    ReadBufferSizer sizer = new ReadBufferSizer(1024, 8192);
+
+    for (int i = 0; i < ReadBufferSizer.SHRINK_WINDOW * 4; i++) {
+      sizer.recordRead(10, 1024);
+    }
+    assertEquals(1024, sizer.getReadSize());
+  }
+}
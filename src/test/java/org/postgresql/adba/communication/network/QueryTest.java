@@ -0,0 +1,87 @@
+package org.postgresql.adba.communication.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.packets.DecodePlan;
+import org.postgresql.adba.communication.packets.RowDescription;
+import org.postgresql.adba.communication.packets.parts.FormatCodeTypes;
+
+public class QueryTest {
+
+  private static final int INT4 = 23;
+
+  private static final int TIMESTAMP = 1114;
+
+  private static final int JSONB = 3802;
+
+  @Test
+  public void textUntilDescribed() {
+    Query query = new Query();
+    assertArrayEquals(new short[0], query.getResultFormatCodes());
+    assertNull(query.getResultPlan());
+  }
+
+  @Test
+  public void allBinaryUsesSingleCode() {
+    Query query = new Query();
+    query.setRowDescription(rowDescription(INT4, TIMESTAMP));
+    assertArrayEquals(new short[] {1}, query.getResultFormatCodes());
+    assertEquals(FormatCodeTypes.BINARY, query.getResultPlan().getFormatCode(0));
+    assertEquals(FormatCodeTypes.BINARY, query.getResultPlan().getFormatCode(1));
+  }
+
+  @Test
+  public void mixedColumnsPerColumnCodes() {
+    Query query = new Query();
+    query.setRowDescription(rowDescription(JSONB, INT4, TIMESTAMP));
+    assertArrayEquals(new short[] {0, 1, 1}, query.getResultFormatCodes());
+    DecodePlan plan = query.getResultPlan();
+    assertEquals(FormatCodeTypes.TEXT, plan.getFormatCode(0));
+    assertEquals(FormatCodeTypes.BINARY, plan.getFormatCode(1));
+    assertEquals(FormatCodeTypes.BINARY, plan.getFormatCode(2));
+    assertEquals(FormatCodeTypes.TEXT, query.getTextPlan().getFormatCode(1));
+  }
+
+  @Test
+  public void noBinaryColumnsAllText() {
+    Query query = new Query();
+    query.setRowDescription(rowDescription(JSONB));
+    assertArrayEquals(new short[0], query.getResultFormatCodes());
+    assertNull(query.getResultPlan());
+  }
+
+  @Test
+  public void cachedUntilColumnsChange() {
+    Query query = new Query();
+    query.setRowDescription(rowDescription(JSONB, INT4));
+    short[] codes = query.getResultFormatCodes();
+    DecodePlan plan = query.getResultPlan();
+    DecodePlan textPlan = query.getTextPlan();
+
+    // Describe of further execution keeps cached formats and plans
+    query.setRowDescription(rowDescription(JSONB, INT4));
+    assertSame(codes, query.getResultFormatCodes());
+    assertSame(plan, query.getResultPlan());
+    assertSame(textPlan, query.getTextPlan());
+
+    // Changed columns determine formats again
+    query.setRowDescription(rowDescription(INT4));
+    assertArrayEquals(new short[] {1}, query.getResultFormatCodes());
+  }
+
+  private static RowDescription rowDescription(int... oids) {
+    ByteBuffer buffer = ByteBuffer.allocate(2 + oids.length * 20).putShort((short) oids.length);
+    for (int oid : oids) {
+      buffer.put((byte) 'c').put((byte) 0) // name
+          .putInt(0).putShort((short) 0) // table and attribute
+          .putInt(oid).putShort((short) -1).putInt(-1) // type, size and modifier
+          .putShort((short) 0); // text format as described statement
+    }
+    return new RowDescription(buffer.array());
+  }
+}
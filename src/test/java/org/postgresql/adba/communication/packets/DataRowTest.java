@@ -0,0 +1,149 @@
+package org.postgresql.adba.communication.packets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import jdk.incubator.sql2.Result;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.network.Query;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+import org.postgresql.adba.communication.packets.parts.FormatCodeTypes;
+
+public class DataRowTest {
+
+  private final RowDescription description = rowDescription("Id", 23, "name", 25, "missing", 25);
+
+  private final DecodePlan plan = new DecodePlan(description.getDescriptions(), description.getColumnIndex());
+
+  @Test
+  public void accessByIndexAndName() {
+    DataRow row = dataRow("42", "first", null);
+
+    assertEquals(Integer.valueOf(42), row.at(1).get(Integer.class));
+    assertEquals("Id", row.identifier());
+    assertEquals(2, row.length());
+    assertEquals(2, row.numberOfValuesRemaining());
+
+    assertEquals("first", row.at("NAME").get(String.class));
+    assertEquals(2, row.index());
+
+    assertNull(row.at("missing").get(String.class));
+    assertEquals(-1, row.length());
+    assertEquals(0, row.numberOfValuesRemaining());
+
+    assertThrows(IllegalArgumentException.class, () -> row.at("unknown"));
+    assertThrows(IllegalArgumentException.class, () -> row.at(4));
+  }
+
+  @Test
+  public void rowsShareColumnIndex() {
+    DataRow first = dataRow("1", "a", null);
+    DataRow second = dataRow("2", "b", null);
+    assertSame(description.getColumnIndex(), description.getColumnIndex());
+    assertEquals("a", first.at("name").get(String.class));
+    assertEquals("b", second.at("name").get(String.class));
+  }
+
+  @Test
+  public void cloneHasOwnPosition() {
+    DataRow row = dataRow("42", "first", null);
+    row.at(2);
+    Result.Column clone = row.clone();
+    row.at(1);
+    assertEquals("first", clone.get(String.class));
+    assertEquals(Integer.valueOf(42), row.get(Integer.class));
+  }
+
+  @Test
+  public void primitivesFromText() {
+    DataRow row = dataRow("-42", "first", null);
+    assertEquals(-42, row.at(1).getInt());
+    assertEquals(-42L, row.getLong());
+    assertEquals(-42.0, row.getDouble());
+    assertFalse(row.isNull());
+
+    assertTrue(row.at("missing").isNull());
+    assertEquals(0, row.getInt());
+    assertFalse(row.getBoolean());
+  }
+
+  @Test
+  public void primitivesFromBinary() {
+    RowDescription binary = rowDescription("i", 23, "l", 20, "d", 701, "b", 16);
+    ColumnDescription[] descriptions = binary.getDescriptions();
+    for (int i = 0; i < descriptions.length; i++) {
+      descriptions[i] = descriptions[i].withFormatCode(FormatCodeTypes.BINARY);
+    }
+    DecodePlan binaryPlan = new DecodePlan(descriptions, binary.getColumnIndex());
+    ByteBuffer buffer = ByteBuffer.allocate(2 + 4 * 4 + 4 + 8 + 8 + 1).putShort((short) 4)
+        .putInt(4).putInt(123)
+        .putInt(8).putLong(5000000000L)
+        .putInt(8).putDouble(2.5)
+        .putInt(1).put((byte) 1);
+    DataRow row = new DataRow(buffer.array(), binaryPlan, 0, new Query());
+
+    assertEquals(123, row.at("i").getInt());
+    assertEquals(5000000000L, row.at("l").getLong());
+    assertThrows(ArithmeticException.class, () -> row.at("l").getInt());
+    assertEquals(2.5, row.at("d").getDouble());
+    assertTrue(row.at("b").getBoolean());
+    assertEquals(Integer.valueOf(123), row.at("i").get(Integer.class));
+  }
+
+  @Test
+  public void unscaledLong() {
+    RowDescription numerics = rowDescription("n", 1700, "i", 23);
+    DecodePlan textPlan = new DecodePlan(numerics.getDescriptions(), numerics.getColumnIndex());
+    byte[] text = "-12.34".getBytes(StandardCharsets.UTF_8);
+    ByteBuffer textRow = ByteBuffer.allocate(2 + 4 + text.length + 4 + 2).putShort((short) 2)
+        .putInt(text.length).put(text)
+        .putInt(2).put((byte) '-').put((byte) '5');
+    DataRow row = new DataRow(textRow.array(), textPlan, 0, new Query());
+    assertEquals(-1234L, row.at("n").getUnscaledLong(2));
+    assertEquals(-500L, row.at("i").getUnscaledLong(2));
+    assertThrows(ArithmeticException.class, () -> row.at("n").getUnscaledLong(1));
+
+    ColumnDescription[] descriptions = numerics.getDescriptions();
+    descriptions[0] = descriptions[0].withFormatCode(FormatCodeTypes.BINARY);
+    DecodePlan binaryPlan = new DecodePlan(descriptions, numerics.getColumnIndex());
+    ByteBuffer binaryRow = ByteBuffer.allocate(2 + 4 + 12 + 4).putShort((short) 2)
+        .putInt(12).putShort((short) 2).putShort((short) 0).putShort((short) 0x4000).putShort((short) 2)
+        .putShort((short) 12).putShort((short) 3400)
+        .putInt(-1);
+    DataRow binary = new DataRow(binaryRow.array(), binaryPlan, 0, new Query());
+    assertEquals(-1234L, binary.at("n").getUnscaledLong(2));
+    assertEquals(new BigDecimal("-12.34"), binary.get(BigDecimal.class));
+    assertEquals(0L, binary.at("i").getUnscaledLong(2));
+  }
+
+  private DataRow dataRow(String... values) {
+    ByteBuffer buffer = ByteBuffer.allocate(256).putShort((short) values.length);
+    for (String value : values) {
+      if (value == null) {
+        buffer.putInt(-1);
+      } else {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(data.length).put(data);
+      }
+    }
+    return new DataRow(buffer.array(), plan, 0, new Query());
+  }
+
+  private static RowDescription rowDescription(Object... nameAndOids) {
+    ByteBuffer buffer = ByteBuffer.allocate(256).putShort((short) (nameAndOids.length / 2));
+    for (int i = 0; i < nameAndOids.length; i += 2) {
+      buffer.put(((String) nameAndOids[i]).getBytes(StandardCharsets.UTF_8)).put((byte) 0)
+          .putInt(0).putShort((short) 0)
+          .putInt((Integer) nameAndOids[i + 1]).putShort((short) -1).putInt(-1)
+          .putShort((short) 0);
+    }
+    return new RowDescription(buffer.array());
+  }
+}
@@ -0,0 +1,94 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.buffer.ByteBufferPoolOutputStream;
+import org.postgresql.adba.buffer.DefaultByteBufferPool;
+import org.postgresql.adba.buffer.PooledByteBuffer;
+import org.postgresql.adba.communication.packets.parts.ParameterEncoder;
+import org.postgresql.adba.communication.packets.parts.PgAdbaType;
+
+public class BinaryEncoderTest {
+
+  @Test
+  public void numbers() throws IOException {
+    assertSameAsGenerator(PgAdbaType.SMALLINT, (short) 0, (short) -1, Short.MAX_VALUE, null);
+    assertSameAsGenerator(PgAdbaType.INTEGER, 0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 42L, null);
+    assertSameAsGenerator(PgAdbaType.BIGINT, 0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 7, null);
+    assertSameAsGenerator(PgAdbaType.FLOAT, 0.0f, -1.5f, Float.NaN, Float.MAX_VALUE, null);
+    assertSameAsGenerator(PgAdbaType.DOUBLE, 0.0d, -1.5d, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, null);
+    assertSameAsGenerator(PgAdbaType.BOOLEAN, true, false, null);
+  }
+
+  @Test
+  public void numerics() throws IOException {
+    assertSameAsGenerator(PgAdbaType.NUMERIC, new BigDecimal("-12345.6780"), BigDecimal.ZERO, new BigDecimal("1E+3"),
+        new BigDecimal("123456789012345678901234567890.123"), 42L, 7, 1.5d, Double.NaN, null);
+    assertSameAsGenerator(PgAdbaType.DECIMAL, new BigDecimal("0.01"), null);
+  }
+
+  @Test
+  public void strings() throws IOException {
+    assertSameAsGenerator(PgAdbaType.VARCHAR, "a", "text with \u00e5\u00e4\u00f6", "\uD83D\uDE00 emoji", null);
+    assertSameAsGenerator(PgAdbaType.LONGVARCHAR, "long text", null);
+  }
+
+  @Test
+  public void emptyStringIsNotNull() throws IOException {
+    ByteBuffer data = encode(PgAdbaType.VARCHAR.getParameterEncoder(), "");
+    assertEquals(0, data.getInt());
+    assertEquals(0, data.remaining());
+  }
+
+  @Test
+  public void dates() throws IOException {
+    assertSameAsGenerator(PgAdbaType.DATE, LocalDate.of(2018, 2, 3), LocalDate.of(1, 1, 1), LocalDate.of(-44, 3, 15),
+        LocalDate.of(12345, 12, 31), LocalDate.MAX, LocalDate.MIN, null);
+    assertSameAsGenerator(PgAdbaType.TIME, LocalTime.of(0, 0), LocalTime.of(23, 59, 59, 999999999),
+        LocalTime.of(12, 3, 4, 5000), null);
+    assertSameAsGenerator(PgAdbaType.TIMESTAMP, LocalDateTime.of(2018, 2, 3, 4, 5, 6, 7),
+        LocalDateTime.of(-300, 1, 2, 3, 4), LocalDateTime.MAX, LocalDateTime.MIN, null);
+  }
+
+  private static void assertSameAsGenerator(PgAdbaType type, Object... values) throws IOException {
+    for (Object value : values) {
+      ByteBuffer expected = encode(ParameterEncoder.of(type.getByteGenerator()), value);
+      ByteBuffer actual = encode(type.getParameterEncoder(), value);
+      assertArrayEquals(toArray(expected), toArray(actual), type + " " + value);
+    }
+  }
+
+  private static ByteBuffer encode(ParameterEncoder encoder, Object value) throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+    stream.initPacket();
+    encoder.encode(value, stream);
+    stream.completePacket();
+
+    List<PooledByteBuffer> buffers = new ArrayList<>();
+    stream.drainWrittenBuffers(buffers);
+    ByteBuffer all = ByteBuffer.allocate(1024);
+    for (PooledByteBuffer buffer : buffers) {
+      buffer.getByteBuffer().flip();
+      all.put(buffer.getByteBuffer());
+      buffer.release();
+    }
+    all.flip();
+    assertEquals(all.remaining(), all.getInt());
+    return all;
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    return Arrays.copyOfRange(buffer.array(), buffer.position(), buffer.limit());
+  }
+}
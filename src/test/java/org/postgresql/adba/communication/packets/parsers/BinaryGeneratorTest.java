@@ -0,0 +1,64 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+public class BinaryGeneratorTest {
+
+  @Test
+  public void fromDateTime() {
+    assertEquals("2018-04-29", text(BinaryGenerator.fromLocalDate(LocalDate.of(2018, 4, 29))));
+    assertEquals("0044-03-15 BC", text(BinaryGenerator.fromLocalDate(LocalDate.of(-43, 3, 15))));
+    assertEquals("0001-01-01 BC", text(BinaryGenerator.fromLocalDate(LocalDate.of(0, 1, 1))));
+    assertEquals("12345-01-02", text(BinaryGenerator.fromLocalDate(LocalDate.of(12345, 1, 2))));
+    assertEquals("infinity", text(BinaryGenerator.fromLocalDate(LocalDate.MAX)));
+
+    assertEquals("20:55:57", text(BinaryGenerator.fromLocalTime(LocalTime.of(20, 55, 57))));
+    assertEquals("20:55:57.69213", text(BinaryGenerator.fromLocalTime(LocalTime.of(20, 55, 57, 692130000))));
+    assertEquals("00:00:00.000000001", text(BinaryGenerator.fromLocalTime(LocalTime.of(0, 0, 0, 1))));
+
+    assertEquals("2018-04-29 20:55:57.692132", text(BinaryGenerator.fromLocalDateTime(
+        LocalDateTime.of(2018, 4, 29, 20, 55, 57, 692132000))));
+    assertEquals("2018-04-29 20:55:57.5-05:30", text(BinaryGenerator.fromOffsetDateTime(
+        OffsetDateTime.of(2018, 4, 29, 20, 55, 57, 500000000, ZoneOffset.ofHoursMinutes(-5, -30)))));
+    assertEquals("0001-12-31 00:00:00+00:00 BC", text(BinaryGenerator.fromOffsetDateTime(
+        OffsetDateTime.of(0, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC))));
+    assertEquals("10:00:00+01:02:03", text(BinaryGenerator.fromOffsetTime(
+        OffsetTime.of(10, 0, 0, 0, ZoneOffset.ofHoursMinutesSeconds(1, 2, 3)))));
+  }
+
+  @Test
+  public void fromDateTimeArray() {
+    assertEquals("{2018-04-29 20:55:57,NULL,-infinity}", text(BinaryGenerator.fromLocalDateTimeArray(
+        new LocalDateTime[] {LocalDateTime.of(2018, 4, 29, 20, 55, 57), null, LocalDateTime.MIN})));
+    assertEquals("{10:00:00.1,NULL}", text(BinaryGenerator.fromLocalTimeArray(
+        new LocalTime[] {LocalTime.of(10, 0, 0, 100000000), null})));
+  }
+
+  @Test
+  public void roundTripThroughTextParser() {
+    OffsetDateTime[] values = {OffsetDateTime.of(2018, 4, 29, 20, 55, 57, 692132000, ZoneOffset.ofHours(2)),
+        OffsetDateTime.of(-4712, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHoursMinutes(-9, -30)),
+        OffsetDateTime.of(294276, 12, 31, 23, 59, 59, 999999000, ZoneOffset.UTC)};
+    for (OffsetDateTime value : values) {
+      assertEquals(value, TextParser.timestampTimeZoneOut(text(BinaryGenerator.fromOffsetDateTime(value)),
+          OffsetDateTime.class));
+      assertEquals(value.toLocalDateTime(), TextParser.timestampOut(text(BinaryGenerator.fromLocalDateTime(
+          value.toLocalDateTime())), LocalDateTime.class));
+      assertEquals(value.toLocalDate(), TextParser.dateOut(text(BinaryGenerator.fromLocalDate(
+          value.toLocalDate())), LocalDate.class));
+    }
+  }
+
+  private static String text(byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
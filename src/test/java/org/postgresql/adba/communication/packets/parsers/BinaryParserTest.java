@@ -0,0 +1,183 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class BinaryParserTest {
+
+  @Test
+  public void integers() {
+    assertEquals((short) -2, BinaryParser.int2send(bytes(ByteBuffer.allocate(2).putShort((short) -2)), 0, 2, null));
+    assertEquals(123456, BinaryParser.int4send(bytes(ByteBuffer.allocate(4).putInt(123456)), 0, 4, null));
+    assertEquals(123456L, BinaryParser.int4send(bytes(ByteBuffer.allocate(4).putInt(123456)), 0, 4, Long.class));
+    assertEquals(-5000000000L, BinaryParser.int8send(bytes(ByteBuffer.allocate(8).putLong(-5000000000L)), 0, 8, null));
+    assertEquals(7, BinaryParser.int8send(bytes(ByteBuffer.allocate(8).putLong(7)), 0, 8, Integer.class));
+
+    // Out of range of the requested class, as for the text format
+    byte[] large = bytes(ByteBuffer.allocate(8).putLong(5000000000L));
+    assertThrows(NumberFormatException.class, () -> BinaryParser.int8send(large, 0, 8, Integer.class));
+    assertThrows(NumberFormatException.class, () -> BinaryParser.int8send(large, 0, 8, Short.class));
+    assertThrows(NumberFormatException.class,
+        () -> BinaryParser.int4send(bytes(ByteBuffer.allocate(4).putInt(40000)), 0, 4, Short.class));
+    assertThrows(NumberFormatException.class,
+        () -> TextParser.int8Out("5000000000", Integer.class));
+  }
+
+  @Test
+  public void floatingPoint() {
+    assertEquals(1.5f, BinaryParser.float4send(bytes(ByteBuffer.allocate(4).putFloat(1.5f)), 0, 4, null));
+    assertEquals(-2.25d, BinaryParser.float8send(bytes(ByteBuffer.allocate(8).putDouble(-2.25d)), 0, 8, null));
+  }
+
+  @Test
+  public void boolAndText() {
+    assertEquals(true, BinaryParser.boolsend(new byte[] {1}, 0, 1, null));
+    assertEquals(false, BinaryParser.boolsend(new byte[] {0}, 0, 1, null));
+    byte[] text = "xxhällo".getBytes(StandardCharsets.UTF_8);
+    assertEquals("hällo", BinaryParser.textsend(text, 2, text.length, null));
+    assertArrayEquals(new byte[] {2, 3}, (byte[]) BinaryParser.byteasend(new byte[] {1, 2, 3, 4}, 1, 3, null));
+  }
+
+  @Test
+  public void uuid() {
+    UUID uuid = UUID.randomUUID();
+    byte[] data = bytes(ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits()));
+    assertEquals(uuid, BinaryParser.uuid_send(data, 0, 16, null));
+  }
+
+  @Test
+  public void dateAndTime() {
+    assertEquals(LocalDate.of(1999, 12, 31), BinaryParser.date_send(bytes(ByteBuffer.allocate(4).putInt(-1)), 0, 4,
+        null));
+    assertEquals(LocalDate.MAX, BinaryParser.date_send(bytes(ByteBuffer.allocate(4).putInt(Integer.MAX_VALUE)), 0, 4,
+        null));
+    assertEquals(LocalTime.of(13, 14, 15, 123456000),
+        BinaryParser.time_send(bytes(ByteBuffer.allocate(8).putLong(47655123456L)), 0, 8, null));
+
+    // 2018-04-29 20:55:57.692132
+    long micros = 578350557692132L;
+    byte[] timestamp = bytes(ByteBuffer.allocate(8).putLong(micros));
+    assertEquals(LocalDateTime.of(2018, 4, 29, 20, 55, 57, 692132000),
+        BinaryParser.timestamp_send(timestamp, 0, 8, null));
+    assertEquals(LocalTime.of(20, 55, 57, 692132000), BinaryParser.timestamp_send(timestamp, 0, 8, LocalTime.class));
+    assertEquals(OffsetDateTime.of(2018, 4, 29, 20, 55, 57, 692132000, ZoneOffset.UTC),
+        BinaryParser.timestamptz_send(timestamp, 0, 8, null));
+
+    assertEquals(OffsetDateTime.MAX,
+        BinaryParser.timestamptz_send(bytes(ByteBuffer.allocate(8).putLong(Long.MAX_VALUE)), 0, 8, null));
+    assertEquals(OffsetDateTime.MIN,
+        BinaryParser.timestamptz_send(bytes(ByteBuffer.allocate(8).putLong(Long.MIN_VALUE)), 0, 8, null));
+
+    // Before the epoch
+    assertEquals(LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999999000),
+        BinaryParser.timestamp_send(bytes(ByteBuffer.allocate(8).putLong(-1)), 0, 8, null));
+  }
+
+  @Test
+  public void numeric() {
+    assertEquals(new BigDecimal("12345.678"), numeric(1, 0, 3, 1, 2345, 6780));
+    assertEquals(new BigDecimal("-0.0012"), numeric(-1, 0x4000, 4, 12));
+    assertEquals(new BigDecimal("10000"), numeric(1, 0, 0, 1));
+    assertEquals(new BigDecimal("0.00"), numeric(0, 0, 2));
+    assertEquals(new BigDecimal("1.50"), numeric(0, 0, 2, 1, 5000));
+    assertEquals(new BigDecimal("123456789012345678901234.5"), numeric(5, 0, 1, 1234, 5678, 9012, 3456, 7890,
+        1234, 5000));
+  }
+
+  @Test
+  public void numericRoundTrip() {
+    String[] values = {"0", "0.00", "-12345.6780", "1.5", "10000", "-0.0001", "9223372036854775807",
+        "-99999999999999999999.99999999999999999999", "123456789012345678901234.5", "1E+100", "0.000000000000000001"};
+    for (String value : values) {
+      BigDecimal expected = new BigDecimal(value);
+      byte[] data = BinaryGenerator.fromBigDecimal(expected);
+      assertEquals(expected.setScale(Math.max(expected.scale(), 0)), BinaryParser.numeric_send(data, 0, data.length,
+          null), value);
+    }
+  }
+
+  @Test
+  public void numericSpecialValues() {
+    // As sent by the server for 'NaN'::numeric, 'Infinity'::numeric and '-Infinity'::numeric
+    assertNumericFails("NaN", numericSpecial(0xC000));
+    assertNumericFails("Infinity", numericSpecial(0xD000));
+    assertNumericFails("-Infinity", numericSpecial(0xF000));
+
+    // Round trip of the special values sent as parameters
+    assertNumericFails("NaN", BinaryGenerator.fromBigDecimal(Double.NaN));
+    assertNumericFails("Infinity", BinaryGenerator.fromBigDecimal(Double.POSITIVE_INFINITY));
+    assertNumericFails("-Infinity", BinaryGenerator.fromBigDecimal(Float.NEGATIVE_INFINITY));
+    assertArrayEquals(numericSpecial(0xD000), BinaryGenerator.fromBigDecimal(Double.POSITIVE_INFINITY));
+
+    // Same as the text format
+    assertThrows(NumberFormatException.class, () -> TextParser.numericOut("Infinity", null));
+  }
+
+  @Test
+  public void numericUnscaled() {
+    byte[] data = BinaryGenerator.fromBigDecimal(new BigDecimal("-123.45"));
+    assertEquals(-12345L, BinaryParser.numericUnscaled(data, 0, 2));
+    assertEquals(-1234500L, BinaryParser.numericUnscaled(data, 0, 4));
+    assertThrows(ArithmeticException.class, () -> BinaryParser.numericUnscaled(data, 0, 1));
+
+    byte[] large = BinaryGenerator.fromBigDecimal(10000L);
+    assertEquals(10000L, BinaryParser.numericUnscaled(large, 0, 0));
+    assertEquals(1000000L, BinaryParser.numericUnscaled(large, 0, 2));
+
+    byte[] tooLarge = BinaryGenerator.fromBigDecimal(new BigDecimal("92233720368547758.08"));
+    assertThrows(ArithmeticException.class, () -> BinaryParser.numericUnscaled(tooLarge, 0, 2));
+  }
+
+  @Test
+  public void array() {
+    ByteBuffer buffer = ByteBuffer.allocate(40)
+        .putInt(1).putInt(1).putInt(23) // dimensions, has nulls, int4
+        .putInt(3).putInt(1) // length, lower bound
+        .putInt(4).putInt(7)
+        .putInt(-1)
+        .putInt(4).putInt(-9);
+    assertArrayEquals(new Integer[] {7, null, -9}, (Integer[]) BinaryParser.int4ArraySend(bytes(buffer), 0, 40, null));
+
+    byte[] empty = bytes(ByteBuffer.allocate(12).putInt(0).putInt(0).putInt(25));
+    assertArrayEquals(new String[] {}, (String[]) BinaryParser.textArraySend(empty, 0, 12, null));
+  }
+
+  private static BigDecimal numeric(int weight, int sign, int scale, int... digits) {
+    ByteBuffer buffer = ByteBuffer.allocate(8 + digits.length * 2)
+        .putShort((short) digits.length).putShort((short) weight).putShort((short) sign).putShort((short) scale);
+    for (int digit : digits) {
+      buffer.putShort((short) digit);
+    }
+    byte[] data = bytes(buffer);
+    return (BigDecimal) BinaryParser.numeric_send(data, 0, data.length, null);
+  }
+
+  private static byte[] bytes(ByteBuffer buffer) {
+    return buffer.array();
+  }
+
+  private static byte[] numericSpecial(int sign) {
+    return bytes(ByteBuffer.allocate(8).putShort((short) 0).putShort((short) 0).putShort((short) sign)
+        .putShort((short) 0));
+  }
+
+  private static void assertNumericFails(String special, byte[] data) {
+    NumberFormatException ex = assertThrows(NumberFormatException.class,
+        () -> BinaryParser.numeric_send(data, 0, data.length, null));
+    assertEquals(special + " can not be converted to BigDecimal", ex.getMessage());
+    assertThrows(NumberFormatException.class, () -> BinaryParser.numericUnscaled(data, 0, 2));
+  }
+}
@@ -1,10 +1,142 @@
 package org.postgresql.adba.communication.packets.parsers;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
-
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+import java.util.function.BiFunction;
 import org.junit.jupiter.api.Test;
+import org.postgresql.adba.util.QuadFunction;
 
 public class TextParserTest {
+  @Test
+  public void parseLongFromBytes() {
+    byte[] bytes = "x-9223372036854775808,+17,0,9223372036854775807".getBytes(StandardCharsets.US_ASCII);
+
+    assertEquals(Long.MIN_VALUE, TextParser.parseLong(bytes, 1, 21));
+    assertEquals(17, TextParser.parseLong(bytes, 22, 25));
+    assertEquals(0, TextParser.parseLong(bytes, 26, 27));
+    assertEquals(Long.MAX_VALUE, TextParser.parseLong(bytes, 28, bytes.length));
+    assertThrows(NumberFormatException.class, () -> TextParser.parseLong(bytes, 0, 3));
+    assertThrows(NumberFormatException.class, () -> TextParser.parseLong(bytes, 1, 2));
+    assertThrows(NumberFormatException.class, () -> TextParser.parseLong("9223372036854775808".getBytes(
+        StandardCharsets.US_ASCII), 0, 19));
+  }
+
+  @Test
+  public void bytesParseAsString() {
+    assertSameParse(TextParser::boolOut, TextParser::boolOut, Boolean.class, "t", "f");
+    assertSameParse(TextParser::int2Out, TextParser::int2Out, Short.class, "-32768", "32767");
+    assertSameParse(TextParser::int2Out, TextParser::int2Out, Long.class, "12");
+    assertSameParse(TextParser::int4Out, TextParser::int4Out, Integer.class, "-2147483648", "0");
+    assertSameParse(TextParser::int4Out, TextParser::int4Out, Short.class, "-5");
+    assertSameParse(TextParser::int8Out, TextParser::int8Out, Long.class, "9223372036854775807");
+    assertSameParse(TextParser::int8Out, TextParser::int8Out, Integer.class, "2147483647");
+    assertSameParse(TextParser::float4Out, TextParser::float4Out, Float.class, "1.5", "-0", "0.1", "3.4028235e+38",
+        "1234567.8", "NaN", "-Infinity", "0.3333333");
+    assertSameParse(TextParser::float8Out, TextParser::float8Out, Double.class, "2.5", "-0.1", "0.30000000000000004",
+        "123456.789012345", "1e+100", "Infinity", "-12.", ".5");
+    assertSameParse(TextParser::numericOut, TextParser::numericOut, BigDecimal.class, "-12345.6780", "0.00", "7",
+        "1234567890123456", "12345678901234567890.123456789");
+    assertSameParse(TextParser::dateOut, TextParser::dateOut, LocalDate.class, "2018-04-29", "0001-01-01");
+    assertSameParse(TextParser::uuidOut, TextParser::uuidOut, UUID.class, "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11",
+        "FFFFFFFF-FFFF-FFFF-FFFF-FFFFFFFFFFFF");
+  }
+
+  @Test
+  public void bytesParseErrors() {
+    assertThrows(NumberFormatException.class, () -> TextParser.int4Out(ascii("2147483648"), 0, 10, Integer.class));
+    assertThrows(NumberFormatException.class, () -> TextParser.int8Out(ascii("40000"), 0, 5, Short.class));
+    assertThrows(NumberFormatException.class, () -> TextParser.numericOut(ascii("NaN"), 0, 3, BigDecimal.class));
+    assertThrows(NumberFormatException.class, () -> TextParser.parseDouble(ascii("1.2.3"), 0, 5));
+    assertThrows(NumberFormatException.class, () -> TextParser.uuidOut(
+        ascii("g0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11"), 0, 36, UUID.class));
+  }
+
+  @Test
+  public void parseUnscaledFromBytes() {
+    assertEquals(-12345L, TextParser.parseUnscaled(ascii("-123.45"), 0, 7, 2));
+    assertEquals(1230000L, TextParser.parseUnscaled(ascii("123.0000"), 0, 8, 4));
+    assertEquals(1230L, TextParser.parseUnscaled(ascii("123.0000"), 0, 8, 1));
+    assertEquals(500L, TextParser.parseUnscaled(ascii("5"), 0, 1, 2));
+    assertThrows(ArithmeticException.class, () -> TextParser.parseUnscaled(ascii("1.005"), 0, 5, 2));
+    assertThrows(ArithmeticException.class, () -> TextParser.parseUnscaled(ascii("92233720368547758.08"), 0, 20, 2));
+    assertThrows(NumberFormatException.class, () -> TextParser.parseUnscaled(ascii("NaN"), 0, 3, 2));
+  }
+
+  @Test
+  public void dateTimeOut() {
+    assertEquals(LocalDate.of(2018, 4, 29), TextParser.dateOut("2018-04-29", LocalDate.class));
+    assertEquals(LocalDate.of(-43, 3, 15), TextParser.dateOut("0044-03-15 BC", LocalDate.class));
+    assertEquals(LocalDate.of(12345, 1, 2), TextParser.dateOut("12345-01-02", LocalDate.class));
+    assertEquals(LocalDate.MAX, TextParser.dateOut("infinity", LocalDate.class));
+    assertEquals(LocalDate.MIN, TextParser.dateOut("-infinity", LocalDate.class));
+
+    assertEquals(LocalTime.of(20, 55, 57), TextParser.timeOut("20:55:57", LocalTime.class));
+    assertEquals(LocalTime.of(20, 55, 57, 500000000), TextParser.timeOut("20:55:57.5", LocalTime.class));
+    assertEquals(LocalTime.of(20, 55, 57, 692132000), TextParser.timeOut("20:55:57.692132", LocalTime.class));
+
+    assertEquals(LocalDateTime.of(2018, 4, 29, 20, 55, 57, 692130000),
+        TextParser.timestampOut("2018-04-29 20:55:57.69213", LocalDateTime.class));
+    assertEquals(LocalTime.of(20, 55, 57), TextParser.timestampOut("2018-04-29 20:55:57", LocalTime.class));
+    assertEquals(LocalDateTime.of(0, 12, 31, 23, 59, 59),
+        TextParser.timestampOut("0001-12-31 23:59:59 BC", LocalDateTime.class));
+    assertEquals(LocalDateTime.MAX, TextParser.timestampOut("infinity", LocalDateTime.class));
+
+    assertEquals(OffsetDateTime.of(2018, 4, 29, 20, 55, 57, 692132000, ZoneOffset.ofHours(2)),
+        TextParser.timestampTimeZoneOut("2018-04-29 20:55:57.692132+02", OffsetDateTime.class));
+    assertEquals(OffsetDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHoursMinutesSeconds(-5, -30, -15)),
+        TextParser.timestampTimeZoneOut("1900-01-01 00:00:00-05:30:15", OffsetDateTime.class));
+    assertEquals(OffsetDateTime.of(-999, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+        TextParser.timestampTimeZoneOut("1000-01-01 00:00:00+00 BC", OffsetDateTime.class));
+    assertEquals(OffsetDateTime.MIN, TextParser.timestampTimeZoneOut("-infinity", OffsetDateTime.class));
+
+    assertEquals(OffsetTime.of(20, 55, 57, 0, ZoneOffset.ofHoursMinutes(5, 45)),
+        TextParser.timetzOut("20:55:57+05:45", OffsetTime.class));
+  }
+
+  @Test
+  public void dateTimeArrayOut() {
+    assertArrayEquals(new LocalDate[] {LocalDate.of(2018, 4, 29), null, LocalDate.MAX, LocalDate.of(-43, 3, 15)},
+        (LocalDate[]) TextParser.dateOutArray("{2018-04-29,NULL,infinity,\"0044-03-15 BC\"}", LocalDate[].class));
+    assertArrayEquals(new LocalDateTime[] {LocalDateTime.of(2018, 4, 29, 20, 55, 57), LocalDateTime.MIN},
+        (LocalDateTime[]) TextParser.timestampOutArray("{\"2018-04-29 20:55:57\",-infinity}", LocalDateTime[].class));
+  }
+
+  @Test
+  public void dateTimeOutErrors() {
+    assertThrows(DateTimeParseException.class, () -> TextParser.dateOut("18-04-29", LocalDate.class));
+    assertThrows(DateTimeParseException.class, () -> TextParser.dateOut("2018-04-29x", LocalDate.class));
+    assertThrows(DateTimeParseException.class, () -> TextParser.timeOut("20:55:57.", LocalTime.class));
+    assertThrows(DateTimeParseException.class, () -> TextParser.timestampOut("2018-04-29T20:55:57",
+        LocalDateTime.class));
+    assertThrows(DateTimeParseException.class, () -> TextParser.timestampTimeZoneOut("2018-04-29 20:55:57",
+        OffsetDateTime.class));
+  }
+
+  private static void assertSameParse(BiFunction<String, Class<?>, Object> stringParser,
+      QuadFunction<byte[], Integer, Integer, Class<?>, Object> bytesParser, Class<?> requestedClass, String... values) {
+    for (String value : values) {
+      byte[] bytes = ascii("[" + value + "]");
+      assertEquals(stringParser.apply(value, requestedClass), bytesParser.apply(bytes, 1, bytes.length - 1,
+          requestedClass), value);
+    }
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
   @Test
   public void textArrayOut() {
     Object[] result = (Object[])TextParser.textArrayOut("{first,\"\\\"second\",\"th,ird\"}", String[].class);
@@ -0,0 +1,99 @@
+package org.postgresql.adba.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.execution.NioLoopGroup.Assignment;
+
+/**
+ * Ensures {@link NioLoopGroup} spreads {@link NioService} instances over its threads.
+ */
+public class NioLoopGroupTest {
+
+  private final List<SocketChannel> channels = new ArrayList<>();
+
+  private NioLoopGroup group;
+
+  @AfterEach
+  public void close() throws IOException {
+    for (SocketChannel channel : channels) {
+      channel.close();
+    }
+    if (group != null) {
+      group.close();
+    }
+  }
+
+  @Test
+  public void roundRobin() throws IOException {
+    group = new NioLoopGroup(3, Assignment.ROUND_ROBIN);
+
+    for (int i = 0; i < 6; i++) {
+      register(group);
+    }
+
+    for (int i = 0; i < group.getThreadCount(); i++) {
+      assertEquals(2, group.getNioLoop(i).getServiceCount(), "Incorrect services for loop " + i);
+    }
+  }
+
+  @Test
+  public void leastLoaded() throws IOException {
+    group = new NioLoopGroup(2, Assignment.LEAST_LOADED);
+
+    register(group.getNioLoop(0));
+    register(group.getNioLoop(0));
+    register(group);
+    register(group);
+
+    assertEquals(2, group.getNioLoop(0).getServiceCount());
+    assertEquals(2, group.getNioLoop(1).getServiceCount());
+  }
+
+  @Test
+  public void spinningLoops() throws IOException {
+    group = new NioLoopGroup(2, Assignment.ROUND_ROBIN, 100);
+
+    for (int i = 0; i < 4; i++) {
+      register(group);
+    }
+
+    assertEquals(2, group.getNioLoop(0).getServiceCount());
+    assertEquals(2, group.getNioLoop(1).getServiceCount());
+  }
+
+  @Test
+  public void requireThread() {
+    assertThrows(IllegalArgumentException.class, () -> new NioLoopGroup(0));
+  }
+
+  private void register(NioLoop loop) throws IOException {
+    SocketChannel channel = SocketChannel.open();
+    channel.configureBlocking(false);
+    channels.add(channel);
+    loop.registerNioService(channel, (context) -> new NioService() {
+      @Override
+      public void handleConnect() {
+      }
+
+      @Override
+      public void handleRead() {
+      }
+
+      @Override
+      public void handleWrite() {
+      }
+
+      @Override
+      public void handleException(Throwable ex) {
+      }
+    });
+  }
+
+}
@@ -130,6 +130,44 @@ public class NioLoopTest {
     }
   }
 
+  @Test
+  public void shareNioLoopGroupBetweenDataSources() throws Exception {
+    NioLoopGroup group = new NioLoopGroup(2, NioLoopGroup.Assignment.LEAST_LOADED);
+    try (
+        DataSource dataSourceOne = createDataSource().property(PgDataSourceProperty.NIO_LOOP, group).build();
+        DataSource dataSourceTwo = createDataSource().property(PgDataSourceProperty.NIO_LOOP, group)
+            .build()) {
+
+      // Run queries on multiple connections of each data source
+      final int connectionCount = 10;
+      Submission<Integer>[] submissions = new Submission[connectionCount];
+      for (int i = 0; i < connectionCount; i++) {
+        Session session = ((i % 2) == 0 ? dataSourceOne : dataSourceTwo).getSession();
+        submissions[i] = session.<Integer>rowOperation("SELECT 1 as t")
+            .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+      }
+
+      // Ensure obtain all results
+      for (int i = 0; i < connectionCount; i++) {
+        Integer result = get10(submissions[i].getCompletionStage());
+        assertEquals(Integer.valueOf(1), result, "Incorrect result");
+      }
+    } finally {
+      group.close();
+    }
+  }
+
+  @Test
+  public void defaultNioLoopThreads() throws Exception {
+    try (DataSource dataSource = createDataSource().property(PgDataSourceProperty.NIO_LOOP_THREADS, 4).build()) {
+      Session session = dataSource.getSession();
+      Submission<Integer> submission = session.<Integer>rowOperation("SELECT 1 as t")
+          .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+      Integer result = get10(submission.getCompletionStage());
+      assertEquals(Integer.valueOf(1), result, "Incorrect result");
+    }
+  }
+
   @AfterEach
   public void closeNioLoop() {
     if (this.mockLoop != null) {
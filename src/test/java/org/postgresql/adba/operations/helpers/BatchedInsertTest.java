@@ -0,0 +1,74 @@
+package org.postgresql.adba.operations.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import jdk.incubator.sql2.AdbaType;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.packets.parts.PgAdbaType;
+
+public class BatchedInsertTest {
+
+  @Test
+  public void rewritesValues() {
+    BatchedInsert insert = BatchedInsert.parse("INSERT INTO tab(a, b) VALUES ($1, lower($2));");
+    assertEquals("INSERT INTO tab(a, b) VALUES ($1, lower($2))", insert.getSql(1));
+    assertEquals("INSERT INTO tab(a, b) VALUES ($1, lower($2)),($3, lower($4)),($5, lower($6))", insert.getSql(3));
+  }
+
+  @Test
+  public void keepsQuotedText() {
+    BatchedInsert insert = BatchedInsert.parse("insert into \"values\"(a) values ('it''s $1 ()', $1)");
+    assertEquals("insert into \"values\"(a) values ('it''s $1 ()', $1),('it''s $1 ()', $2)", insert.getSql(2));
+  }
+
+  @Test
+  public void notRewritable() {
+    assertNull(BatchedInsert.parse("update tab set a = $1"));
+    assertNull(BatchedInsert.parse("insert into tab(a) select $1"));
+    assertNull(BatchedInsert.parse("insert into tab(a) values ($1) returning id"));
+    assertNull(BatchedInsert.parse("insert into tab(a) values ($1) on conflict do nothing"));
+    assertNull(BatchedInsert.parse("insert into tab(a) values ($1), ($2)"));
+    assertNull(BatchedInsert.parse("insert into tab(a, b) values ($1, $3)"));
+    assertNull(BatchedInsert.parse("insert into tab(a) values ($$text$$) -- $1"));
+    assertNull(BatchedInsert.parse("with x as (select $1) insert into tab(a) values ($2)"));
+  }
+
+  @Test
+  public void plansPowerOfTwoChunks() throws Exception {
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(i);
+    }
+    ParameterHolder holder = new ParameterHolder();
+    holder.add("$1", new ArrayQueryParameter(values, AdbaType.INTEGER));
+    List<BatchedInsert.Chunk> chunks = BatchedInsert.plan("insert into tab(a) values ($1)", holder);
+
+    // 7 executions of 128 rows, then 64 + 32 + 8 rows
+    int[] rows = new int[chunks.size()];
+    int[] executions = new int[chunks.size()];
+    for (int i = 0; i < chunks.size(); i++) {
+      rows[i] = chunks.get(i).getRowsPerExecution();
+      executions[i] = chunks.get(i).getHolder().numberOfQueryRepetitions();
+    }
+    assertEquals("[128, 64, 32, 8]", Arrays.toString(rows));
+    assertEquals("[7, 1, 1, 1]", Arrays.toString(executions));
+
+    // Parameters map to the rows of the batch
+    QueryParameter second = (QueryParameter) chunks.get(0).getHolder().parameters().toArray()[1];
+    assertArrayEquals(PgAdbaType.INTEGER.getByteGenerator().apply(2 * 128 + 1), second.getParameter(2));
+    QueryParameter tail = (QueryParameter) chunks.get(3).getHolder().parameters().toArray()[7];
+    assertArrayEquals(PgAdbaType.INTEGER.getByteGenerator().apply(999), tail.getParameter(0));
+  }
+
+  @Test
+  public void singleRowNotRewritten() {
+    ParameterHolder holder = new ParameterHolder();
+    holder.add("$1", new ArrayQueryParameter(Arrays.asList(1), AdbaType.INTEGER));
+    assertNull(BatchedInsert.plan("insert into tab(a) values ($1)", holder));
+  }
+}
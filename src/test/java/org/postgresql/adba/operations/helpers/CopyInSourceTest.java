@@ -0,0 +1,238 @@
+package org.postgresql.adba.operations.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.buffer.ByteBufferPoolOutputStream;
+import org.postgresql.adba.buffer.DefaultByteBufferPool;
+import org.postgresql.adba.buffer.PooledByteBuffer;
+
+public class CopyInSourceTest {
+
+  @Test
+  public void recordsPackedIntoMessage() throws IOException {
+    RecordCopyInSource source = new RecordCopyInSource(Arrays.asList("1,a", "2,b\n", "").iterator());
+    source.start(() -> { });
+    assertTrue(source.hasData());
+    assertEquals("1,a\n2,b\n\n", writeData(source));
+    assertFalse(source.hasData());
+    assertTrue(source.isComplete());
+    assertNull(source.getFailure());
+  }
+
+  @Test
+  public void recordsSplitAcrossMessages() throws IOException {
+    char[] large = new char[RecordCopyInSource.MESSAGE_SIZE / 2];
+    Arrays.fill(large, 'x');
+    String record = new String(large);
+    RecordCopyInSource source = new RecordCopyInSource(Collections.nCopies(5, record).iterator());
+    int messages = 0;
+    int length = 0;
+    while (source.hasData()) {
+      length += writeData(source).length();
+      messages++;
+    }
+    assertEquals(3, messages);
+    assertEquals(5 * (record.length() + 1), length);
+  }
+
+  @Test
+  public void recordsFailure() throws IOException {
+    RuntimeException failure = new RuntimeException("TEST");
+    Iterator<String> records = new Iterator<>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public String next() {
+        if (index++ > 0) {
+          throw failure;
+        }
+        return "1";
+      }
+    };
+    RecordCopyInSource source = new RecordCopyInSource(records);
+    assertEquals("1\n", writeData(source));
+    assertFalse(source.hasData());
+    assertTrue(source.isComplete());
+    assertSame(failure, source.getFailure());
+  }
+
+  @Test
+  public void binaryRowsWithHeaderAndTrailer() throws IOException {
+    BinaryCopyInSource<Integer> source = new BinaryCopyInSource<>(Arrays.asList(1, 2).iterator(), 2,
+        (Integer row, CopyRowWriter writer) -> writer.writeInt(row).writeString(row == 1 ? "a" : null));
+    assertTrue(source.hasData());
+    ByteBuffer data = writeBytes(source);
+    byte[] signature = new byte[11];
+    data.get(signature);
+    assertEquals("PGCOPY\n\uFFFD\r\n\0", new String(signature, StandardCharsets.UTF_8));
+    assertEquals(0, data.getInt()); // flags
+    assertEquals(0, data.getInt()); // header extension
+
+    // First row
+    assertEquals(2, data.getShort());
+    assertEquals(4, data.getInt());
+    assertEquals(1, data.getInt());
+    assertEquals(1, data.getInt());
+    assertEquals('a', data.get());
+
+    // Second row
+    assertEquals(2, data.getShort());
+    assertEquals(4, data.getInt());
+    assertEquals(2, data.getInt());
+    assertEquals(-1, data.getInt());
+
+    // Trailer
+    assertEquals(-1, data.getShort());
+    assertFalse(data.hasRemaining());
+    assertFalse(source.hasData());
+    assertTrue(source.isComplete());
+    assertNull(source.getFailure());
+  }
+
+  @Test
+  public void binaryRowsSplitAcrossMessages() throws IOException {
+    byte[] large = new byte[BinaryCopyInSource.MESSAGE_SIZE / 2];
+    BinaryCopyInSource<byte[]> source = new BinaryCopyInSource<>(Collections.nCopies(5, large).iterator(), 1,
+        (byte[] row, CopyRowWriter writer) -> writer.writeBytes(row));
+    int messages = 0;
+    int length = 0;
+    while (source.hasData()) {
+      length += writeBytes(source).remaining();
+      messages++;
+    }
+    assertEquals(3, messages);
+    assertEquals(19 + 5 * (2 + 4 + large.length) + 2, length);
+  }
+
+  @Test
+  public void binaryRowWithWrongFieldCount() throws IOException {
+    BinaryCopyInSource<Integer> source = new BinaryCopyInSource<>(Arrays.asList(1).iterator(), 2,
+        (Integer row, CopyRowWriter writer) -> writer.writeInt(row));
+    writeBytes(source);
+    assertFalse(source.hasData());
+    assertTrue(source.isComplete());
+    assertTrue(source.getFailure() instanceof IllegalStateException);
+  }
+
+  @Test
+  public void publisherFlowControl() throws IOException {
+    TestPublisher publisher = new TestPublisher();
+    PublisherCopyInSource source = new PublisherCopyInSource(publisher);
+    AtomicInteger notified = new AtomicInteger();
+    source.start(notified::incrementAndGet);
+    assertEquals(PublisherCopyInSource.PREFETCH, publisher.requested);
+    assertFalse(source.hasData());
+    assertFalse(source.isComplete());
+
+    // Data only requested as written
+    publisher.subscriber.onNext(ByteBuffer.wrap("1,a\n".getBytes(StandardCharsets.UTF_8)));
+    assertEquals(1, notified.get());
+    assertTrue(source.hasData());
+    assertEquals("1,a\n", writeData(source));
+    assertEquals(PublisherCopyInSource.PREFETCH + 1, publisher.requested);
+    assertFalse(source.hasData());
+
+    // Complete once data written
+    publisher.subscriber.onNext(ByteBuffer.wrap("2,b\n".getBytes(StandardCharsets.UTF_8)));
+    publisher.subscriber.onComplete();
+    assertFalse(source.isComplete());
+    assertEquals("2,b\n", writeData(source));
+    assertTrue(source.isComplete());
+    assertNull(source.getFailure());
+  }
+
+  @Test
+  public void publisherFailure() {
+    TestPublisher publisher = new TestPublisher();
+    PublisherCopyInSource source = new PublisherCopyInSource(publisher);
+    source.start(() -> { });
+    publisher.subscriber.onNext(ByteBuffer.wrap(new byte[] {1}));
+    RuntimeException failure = new RuntimeException("TEST");
+    publisher.subscriber.onError(failure);
+    assertFalse(source.hasData());
+    assertTrue(source.isComplete());
+    assertSame(failure, source.getFailure());
+
+    source.cancel();
+    assertTrue(publisher.isCancelled);
+  }
+
+  private static ByteBuffer writeBytes(CopyInSource source) throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+    stream.initPacket(); // within CopyData message
+    source.writeData(stream);
+    stream.completePacket();
+    List<PooledByteBuffer> buffers = new ArrayList<>();
+    stream.drainWrittenBuffers(buffers);
+    ByteBuffer data = ByteBuffer.allocate((int) stream.getWrittenBytes());
+    for (PooledByteBuffer buffer : buffers) {
+      ByteBuffer byteBuffer = buffer.getByteBuffer();
+      byteBuffer.flip();
+      data.put(byteBuffer);
+      buffer.release();
+    }
+    data.flip();
+    assertEquals(data.remaining(), data.getInt()); // message length
+    return data;
+  }
+
+  private static String writeData(CopyInSource source) throws IOException {
+    ByteBufferPoolOutputStream stream = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+    source.writeData(stream);
+    List<PooledByteBuffer> buffers = new ArrayList<>();
+    stream.drainWrittenBuffers(buffers);
+    StringBuilder data = new StringBuilder();
+    for (PooledByteBuffer buffer : buffers) {
+      ByteBuffer byteBuffer = buffer.getByteBuffer();
+      byteBuffer.flip();
+      data.append(StandardCharsets.UTF_8.decode(byteBuffer));
+      buffer.release();
+    }
+    return data.toString();
+  }
+
+  private static class TestPublisher implements Flow.Publisher<ByteBuffer>, Flow.Subscription {
+
+    private Flow.Subscriber<? super ByteBuffer> subscriber;
+
+    private long requested = 0;
+
+    private boolean isCancelled = false;
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+      this.subscriber = subscriber;
+      subscriber.onSubscribe(this);
+    }
+
+    @Override
+    public void request(long n) {
+      requested += n;
+    }
+
+    @Override
+    public void cancel() {
+      isCancelled = true;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package org.postgresql.adba.operations.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.NetworkReadContext;
+
+public class CopyOutSinkTest {
+
+  @Test
+  public void channelWritesData() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ChannelCopyOutSink sink = new ChannelCopyOutSink(Channels.newChannel(output));
+    sink.start(null);
+    sink.data(bytes("1,a\n"));
+    sink.data(bytes("2,b\n"));
+    sink.complete();
+    assertEquals("1,a\n2,b\n", new String(output.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void subscriberBackpressure() {
+    TestSubscriber subscriber = new TestSubscriber();
+    SubscriberCopyOutSink sink = new SubscriberCopyOutSink(subscriber);
+    ReadControl read = new ReadControl();
+    sink.start(read.context);
+
+    // No demand, so pause reading
+    ByteBuffer payload = bytes("1,a\n");
+    sink.data(payload);
+    assertTrue(read.isPaused);
+    assertEquals(0, subscriber.received.size());
+
+    // Data copied (as payload only valid for the call)
+    payload.clear().put(bytes("XXXX"));
+
+    // Demand publishes data and resumes reading
+    subscriber.subscription.request(1);
+    assertFalse(read.isPaused);
+    assertEquals("1,a\n", subscriber.received.get(0));
+
+    // Completes once data consumed
+    sink.data(bytes("2,b\n"));
+    sink.complete();
+    assertTrue(read.isPaused);
+    assertFalse(subscriber.isComplete);
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertEquals("2,b\n", subscriber.received.get(1));
+    assertTrue(subscriber.isComplete);
+    assertFalse(read.isPaused);
+  }
+
+  @Test
+  public void subscriberCancelResumesRead() {
+    TestSubscriber subscriber = new TestSubscriber();
+    SubscriberCopyOutSink sink = new SubscriberCopyOutSink(subscriber);
+    ReadControl read = new ReadControl();
+    sink.start(read.context);
+    sink.data(bytes("1,a\n"));
+    assertTrue(read.isPaused);
+    subscriber.subscription.cancel();
+    assertFalse(read.isPaused);
+    sink.data(bytes("2,b\n"));
+    sink.complete();
+    assertFalse(read.isPaused);
+    assertEquals(0, subscriber.received.size());
+    assertFalse(subscriber.isComplete);
+  }
+
+  @Test
+  public void subscriberFailure() {
+    TestSubscriber subscriber = new TestSubscriber();
+    SubscriberCopyOutSink sink = new SubscriberCopyOutSink(subscriber);
+    RuntimeException failure = new RuntimeException("TEST");
+    sink.fail(failure);
+    assertTrue(subscriber.subscription != null);
+    assertSame(failure, subscriber.failure);
+  }
+
+  private static ByteBuffer bytes(String text) {
+    return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static class ReadControl {
+
+    private boolean isPaused = false;
+
+    private final NetworkReadContext context = (NetworkReadContext) Proxy.newProxyInstance(
+        NetworkReadContext.class.getClassLoader(), new Class<?>[] {NetworkReadContext.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "pauseRead":
+              isPaused = true;
+              return null;
+            case "resumeRead":
+              isPaused = false;
+              return null;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  private static class TestSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+    private Flow.Subscription subscription;
+
+    private final List<String> received = new ArrayList<>();
+
+    private boolean isComplete = false;
+
+    private Throwable failure = null;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(ByteBuffer item) {
+      received.add(StandardCharsets.UTF_8.decode(item).toString());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      failure = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      isComplete = true;
+    }
+  }
+}